@@ -222,6 +222,49 @@ public interface Acto {
      */
     void quitarInvitacionesPorActo(InvitacionesPorActo invitacionPorActo);
 
+    /**
+     * Notifica que han cambiado las invitaciones por acto del acto, las invitaciones de alguna de ellas o los
+     * invitados o coches de alguna invitación. Las implementaciones que indexan a los invitados del acto marcan el
+     * índice como desactualizado. Por defecto no hace nada, ya que las consultas recorren las invitaciones.
+     */
+    default void invitacionesModificadas() {
+    }
+
+    /**
+     * Notifica que han cambiado las prioridades por unidad de alguna de las zonas configuradas del acto.
+     * Las implementaciones que guardan una {@link TablaPrioridades} la reconstruyen en la siguiente consulta.
+     * Por defecto no hace nada, ya que {@link #getTablaPrioridades()} construye la tabla en cada llamada.
+     */
+    default void prioridadesModificadas() {
+    }
+
+    /**
+     * Obtiene la {@link TablaPrioridades} de las zonas configuradas del acto.
+     *
+     * @return la tabla de prioridades por unidad y zona.
+     */
+    default TablaPrioridades getTablaPrioridades() {
+        return TablaPrioridades.de(getZonas());
+    }
+
+    /**
+     * Notifica que un invitado del acto ha ocupado o dejado una localidad. Las implementaciones que indexan a los
+     * invitados del acto lo mueven a la partición que le corresponde. Por defecto no hace nada.
+     *
+     * @param invitado el {@link Invitado} cuya localidad ha cambiado.
+     */
+    default void asignacionModificada(Invitado invitado) {
+    }
+
+    /**
+     * Notifica que un coche del acto ha ocupado o dejado una plaza de aparcamiento. Las implementaciones que indexan
+     * los coches del acto lo mueven a la partición que le corresponde. Por defecto no hace nada.
+     *
+     * @param coche el {@link Coche} cuya localidad ha cambiado.
+     */
+    default void asignacionModificada(Coche coche) {
+    }
+
     /**
      * Agrega una zona configurada específica al conjunto de zonas del acto.
      *
@@ -4,21 +4,36 @@ import es.mdef.gaip_libreria.anfitriones.Anfitrion;
 import es.mdef.gaip_libreria.constantes.EstadoActo;
 import es.mdef.gaip_libreria.constantes.EstadoCreacion;
 import es.mdef.gaip_libreria.constantes.TipoDeActo;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Coche;
 import es.mdef.gaip_libreria.invitados.InvitacionesPorActo;
 import es.mdef.gaip_libreria.invitados.Invitado;
 import es.mdef.gaip_libreria.unidades.Instalacion;
 import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Clase que representa un acto específico con sus propiedades asociadas y las relaciones con otras entidades.
  * Un acto puede tener múltiples anfitriones e invitados y está asociado a una instalación específica.
  * Esta clase implementa la interfaz {@link Acto}.
+ * <p>
+ * Las consultas de invitados y vehículos se responden desde un {@link IndiceInvitados} propio del acto, que las
+ * invitaciones, los invitados y los coches mantienen al día a través de {@link #invitacionesModificadas()} y
+ * {@link #asignacionModificada(Invitado)}.
+ * </p>
+ * <p>
+ * La {@link TablaPrioridades} del acto se construye en la primera consulta y se conserva hasta que cambian las zonas
+ * o sus prioridades, lo que las zonas y las prioridades notifican a través de {@link #prioridadesModificadas()}.
+ * </p>
  */
 @Data
 @EqualsAndHashCode(of = {"nombre", "descripcion", "fecha"})
@@ -35,6 +50,12 @@ public class ActoImpl implements Acto {
     private ZonedDateTime fecha;
     private ZonedDateTime fechaLimiteRegistro;
     private TipoDeActo tipo;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final IndiceInvitados indiceInvitados = new IndiceInvitados(this);
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicReference<TablaPrioridades> tablaPrioridades = new AtomicReference<>();
 
     /**
      * Constructor por defecto. Inicializa un acto con valores predeterminados.
@@ -115,6 +136,7 @@ public class ActoImpl implements Acto {
         if (this.zonas != zonas) {
             this.zonas.forEach(zona -> zona.setActo(null));
             this.zonas.clear();
+            prioridadesModificadas();
             if (zonas != null) {
                 zonas.forEach(this::agregarZonaConfigurada);
             }
@@ -180,6 +202,7 @@ public class ActoImpl implements Acto {
         invitadosParaModificar.forEach(invitado -> invitado.setInvitacion(null, false));
 
         getInvitacionesPorActo().removeIf(invitacionesPorActo -> invitacionesPorActo.getAnfitrion() == anfitrion);
+        indiceInvitados.invalidar();
     }
 
 
@@ -196,6 +219,7 @@ public class ActoImpl implements Acto {
         }
         if (!zonas.contains(zona)) {
             zonas.add(zona);
+            prioridadesModificadas();
             if (zona.getActo() != this) {
                 zona.setActo(this);
             }
@@ -212,6 +236,7 @@ public class ActoImpl implements Acto {
     public void quitarZonaConfigurada(ZonaConfigurada zona) {
         if (zona != null && zonas.contains(zona)) {
             zonas.remove(zona);
+            prioridadesModificadas();
             zona.setActo(null);
         }
     }
@@ -225,6 +250,7 @@ public class ActoImpl implements Acto {
     public void setInvitacionesPorActo(Set<InvitacionesPorActo> invitacionesPorActo) {
         if (this.invitacionesPorActo != invitacionesPorActo) {
             this.invitacionesPorActo.clear();
+            indiceInvitados.invalidar();
             if (invitacionesPorActo != null) {
                 invitacionesPorActo.forEach(this::agregarInvitacionesPorActo);
             }
@@ -243,6 +269,7 @@ public class ActoImpl implements Acto {
         }
         if (!invitacionesPorActo.contains(invitacionPorActo)) {
             invitacionesPorActo.add(invitacionPorActo);
+            indiceInvitados.invalidar();
             if (invitacionPorActo.getActo() != this) {
                 invitacionPorActo.setActo(this);
             }
@@ -261,12 +288,138 @@ public class ActoImpl implements Acto {
         }
         if (invitacionesPorActo.contains(invitacionPorActo)) {
             invitacionesPorActo.remove(invitacionPorActo);
+            indiceInvitados.invalidar();
             if (invitacionPorActo.getActo() == this) {
                 invitacionPorActo.setActo(null);
             }
         }
     }
 
+    /**
+     * Marca el índice de invitados del acto como desactualizado para que se reconstruya en la siguiente consulta.
+     */
+    @Override
+    public void invitacionesModificadas() {
+        indiceInvitados.invalidar();
+    }
+
+    /**
+     * Descarta la tabla de prioridades del acto para que se reconstruya en la siguiente consulta.
+     */
+    @Override
+    public void prioridadesModificadas() {
+        tablaPrioridades.set(null);
+    }
+
+    /**
+     * Obtiene la tabla de prioridades del acto, que se reconstruye si se ha descartado o si las zonas o sus
+     * prioridades han cambiado sin notificarlo.
+     *
+     * @return La tabla de prioridades por unidad y zona.
+     */
+    @Override
+    public TablaPrioridades getTablaPrioridades() {
+        TablaPrioridades tabla = tablaPrioridades.get();
+        if (tabla == null || !tabla.estaAlDia(zonas)) {
+            tabla = TablaPrioridades.de(zonas);
+            tablaPrioridades.set(tabla);
+        }
+        return tabla;
+    }
+
+    /**
+     * Mueve a un invitado del acto a la partición del índice que corresponde a su localidad actual.
+     *
+     * @param invitado El invitado cuya localidad ha cambiado.
+     */
+    @Override
+    public void asignacionModificada(Invitado invitado) {
+        indiceInvitados.actualizar(invitado);
+    }
+
+    /**
+     * Mueve un coche del acto a la partición del índice que corresponde a su localidad actual.
+     *
+     * @param coche El coche cuya localidad ha cambiado.
+     */
+    @Override
+    public void asignacionModificada(Coche coche) {
+        indiceInvitados.actualizar(coche);
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de todos los invitados del acto, salvo los del acto social.
+     *
+     * @return Vista de los invitados del acto.
+     */
+    @Override
+    public Set<Invitado> getInvitados() {
+        return indiceInvitados.getInvitados();
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los invitados con invitación para un tipo de zona.
+     *
+     * @param tipoDeZona El tipo de zona de las invitaciones.
+     * @return Vista de los invitados del tipo de zona.
+     */
+    @Override
+    public Set<Invitado> getInvitadosPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return indiceInvitados.getInvitadosPorTipoDeZona(tipoDeZona);
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los invitados sin localidad, salvo los de la lista de espera y el acto social.
+     *
+     * @return Vista de los invitados sin asignar.
+     */
+    @Override
+    public Set<Invitado> getInvitadosSinAsignar() {
+        return indiceInvitados.getInvitadosSinAsignar();
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los invitados con localidad, salvo los de la lista de espera y el acto social.
+     *
+     * @return Vista de los invitados asignados.
+     */
+    @Override
+    public Set<Invitado> getInvitadosAsignados() {
+        return indiceInvitados.getInvitadosAsignados();
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los coches con plaza de aparcamiento asignada.
+     *
+     * @return Vista de los vehículos asignados.
+     */
+    @Override
+    public Set<Coche> getVehiculosAsignados() {
+        return indiceInvitados.getVehiculosAsignados();
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los invitados de los anfitriones con localidad en un tipo de zona.
+     *
+     * @param tipoDeZona El tipo de zona de las invitaciones.
+     * @return Vista de los invitados asignados del tipo de zona.
+     */
+    @Override
+    public Set<Invitado> getInvitadosAsignadosPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return indiceInvitados.getInvitadosAsignadosPorTipoDeZona(tipoDeZona);
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los invitados de los anfitriones sin localidad en un tipo de zona.
+     *
+     * @param tipoDeZona El tipo de zona de las invitaciones.
+     * @return Vista de los invitados sin asignar del tipo de zona.
+     */
+    @Override
+    public Set<Invitado> getInvitadosSinAsignarPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return indiceInvitados.getInvitadosSinAsignarPorTipoDeZona(tipoDeZona);
+    }
+
     public <T extends Anfitrion> void agregarAnfitriones(Collection<T> anfitriones) {
         anfitriones.forEach(this::agregarAnfitrion);
     }
@@ -0,0 +1,265 @@
+package es.mdef.gaip_libreria.actos;
+
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.InvitacionesPorActo;
+import es.mdef.gaip_libreria.invitados.Invitado;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Índice de los invitados y coches de un acto por {@link TipoDeZona} y por si tienen o no una localidad asignada.
+ * <p>
+ * El índice se construye recorriendo una sola vez las invitaciones del acto y se reutiliza en todas las consultas.
+ * Cuando un invitado o un coche ocupa o deja una localidad, el acto lo mueve de partición sin recorrer nada más.
+ * Cuando cambian las invitaciones del acto o los invitados o coches de una invitación, el índice se marca como
+ * desactualizado y se reconstruye en la siguiente consulta, de modo que una secuencia de cambios en las invitaciones
+ * solo cuesta una reconstrucción.
+ * </p>
+ * <p>
+ * Las consultas devuelven vistas de solo lectura que se actualizan con el índice, por lo que reflejan los cambios
+ * posteriores del acto sin tener que volver a pedirlas. Como cualquier vista, no se deben recorrer mientras se
+ * modifican las invitaciones o las localidades que reflejan.
+ * </p>
+ * <p>
+ * Los conjuntos comparan por identidad, porque los invitados y los coches calculan su hash a partir de campos que
+ * cambian mientras están en el índice. La reconstrucción llena conjuntos nuevos y los publica de una vez, de modo que
+ * una consulta que reconstruye el índice no vacía los conjuntos que otra consulta está leyendo.
+ * </p>
+ */
+final class IndiceInvitados {
+    private final Acto acto;
+    private volatile Estado estado;
+
+    private final Set<Invitado> vistaInvitados = new Vista<>(estado -> estado.invitados);
+    private final Set<Invitado> vistaInvitadosAsignados = new Vista<>(estado -> estado.invitadosRepartidos.asignados);
+    private final Set<Invitado> vistaInvitadosSinAsignar = new Vista<>(estado -> estado.invitadosRepartidos.sinAsignar);
+    private final Map<TipoDeZona, Set<Invitado>> vistaInvitadosPorTipo = new EnumMap<>(TipoDeZona.class);
+    private final Map<TipoDeZona, Set<Invitado>> vistaInvitadosAsignadosPorTipo = new EnumMap<>(TipoDeZona.class);
+    private final Map<TipoDeZona, Set<Invitado>> vistaInvitadosSinAsignarPorTipo = new EnumMap<>(TipoDeZona.class);
+    private final Set<Coche> vistaVehiculosAsignados = new Vista<>(estado -> estado.cochesPorTipo.get(TipoDeZona.PARKING).asignados);
+
+    /**
+     * Constructor de la clase. El índice se construye en la primera consulta.
+     *
+     * @param acto Acto cuyos invitados se indexan.
+     */
+    IndiceInvitados(Acto acto) {
+        this.acto = acto;
+        for (TipoDeZona tipo : TipoDeZona.values()) {
+            vistaInvitadosPorTipo.put(tipo, new Vista<>(estado -> estado.invitadosPorTipo.get(tipo).todos));
+            vistaInvitadosAsignadosPorTipo.put(tipo, new Vista<>(estado -> estado.invitadosDeAnfitrionesPorTipo.get(tipo).asignados));
+            vistaInvitadosSinAsignarPorTipo.put(tipo, new Vista<>(estado -> estado.invitadosDeAnfitrionesPorTipo.get(tipo).sinAsignar));
+        }
+    }
+
+    /**
+     * Marca el índice como desactualizado para que se reconstruya en la siguiente consulta.
+     */
+    void invalidar() {
+        estado = null;
+    }
+
+    /**
+     * Mueve a un invitado a la partición que corresponde a su localidad actual.
+     * Si el invitado no pertenece a una invitación del acto, el índice se reconstruye en la siguiente consulta.
+     *
+     * @param invitado Invitado que ha ocupado o dejado una localidad.
+     */
+    void actualizar(Invitado invitado) {
+        Estado actual = estado;
+        if (actual == null) {
+            return;
+        }
+        Invitacion invitacion = invitado.getInvitacion();
+        if (!esDelActo(invitacion)) {
+            estado = null;
+            return;
+        }
+        TipoDeZona tipo = invitacion.getTipoDeZona();
+        boolean asignado = invitado.getLocalidad() != null;
+        actual.invitadosPorTipo.get(tipo).colocar(invitado, asignado);
+        if (invitacion.getInvitacionesPorActo().getAnfitrion() != null) {
+            actual.invitadosDeAnfitrionesPorTipo.get(tipo).colocar(invitado, asignado);
+        }
+        if (seReparte(tipo)) {
+            actual.invitadosRepartidos.colocar(invitado, asignado);
+        }
+    }
+
+    /**
+     * Mueve un coche a la partición que corresponde a su localidad actual.
+     * Si el coche no pertenece a una invitación del acto, el índice se reconstruye en la siguiente consulta.
+     *
+     * @param coche Coche que ha ocupado o dejado una plaza.
+     */
+    void actualizar(Coche coche) {
+        Estado actual = estado;
+        if (actual == null) {
+            return;
+        }
+        Invitacion invitacion = coche.getInvitacion();
+        if (!esDelActo(invitacion)) {
+            estado = null;
+            return;
+        }
+        actual.cochesPorTipo.get(invitacion.getTipoDeZona()).colocar(coche, coche.getLocalidad() != null);
+    }
+
+    Set<Invitado> getInvitados() {
+        return vistaInvitados;
+    }
+
+    Set<Invitado> getInvitadosPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return vistaInvitadosPorTipo.get(tipoDeZona);
+    }
+
+    Set<Invitado> getInvitadosAsignados() {
+        return vistaInvitadosAsignados;
+    }
+
+    Set<Invitado> getInvitadosSinAsignar() {
+        return vistaInvitadosSinAsignar;
+    }
+
+    Set<Invitado> getInvitadosAsignadosPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return vistaInvitadosAsignadosPorTipo.get(tipoDeZona);
+    }
+
+    Set<Invitado> getInvitadosSinAsignarPorTipoDeZona(TipoDeZona tipoDeZona) {
+        return vistaInvitadosSinAsignarPorTipo.get(tipoDeZona);
+    }
+
+    Set<Coche> getVehiculosAsignados() {
+        return vistaVehiculosAsignados;
+    }
+
+    /**
+     * Devuelve el estado actual del índice, reconstruyéndolo en conjuntos nuevos si está desactualizado.
+     */
+    private Estado asegurarAlDia() {
+        Estado actual = estado;
+        if (actual == null) {
+            actual = new Estado(acto);
+            estado = actual;
+        }
+        return actual;
+    }
+
+    private boolean esDelActo(Invitacion invitacion) {
+        return invitacion != null && invitacion.getInvitacionesPorActo() != null
+                && invitacion.getInvitacionesPorActo().getActo() == acto;
+    }
+
+    /**
+     * Indica si los invitados de un tipo de zona cuentan como asignados o sin asignar en el conjunto del acto,
+     * lo que excluye a la lista de espera y al acto social.
+     */
+    private static boolean seReparte(TipoDeZona tipo) {
+        return tipo != TipoDeZona.LISTA_DE_ESPERA && tipo != TipoDeZona.ACTO_SOCIAL;
+    }
+
+    private static <T> Set<T> conjuntoPorIdentidad() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Conjuntos del índice construidos en una sola pasada sobre las invitaciones del acto.
+     */
+    private static final class Estado {
+        private final Set<Invitado> invitados = conjuntoPorIdentidad();
+        private final Particion<Invitado> invitadosRepartidos = new Particion<>();
+        private final Map<TipoDeZona, Particion<Invitado>> invitadosPorTipo = new EnumMap<>(TipoDeZona.class);
+        private final Map<TipoDeZona, Particion<Invitado>> invitadosDeAnfitrionesPorTipo = new EnumMap<>(TipoDeZona.class);
+        private final Map<TipoDeZona, Particion<Coche>> cochesPorTipo = new EnumMap<>(TipoDeZona.class);
+
+        Estado(Acto acto) {
+            for (TipoDeZona tipo : TipoDeZona.values()) {
+                invitadosPorTipo.put(tipo, new Particion<>());
+                invitadosDeAnfitrionesPorTipo.put(tipo, new Particion<>());
+                cochesPorTipo.put(tipo, new Particion<>());
+            }
+            for (InvitacionesPorActo invitacionesPorActo : acto.getInvitacionesPorActo()) {
+                boolean deAnfitrion = invitacionesPorActo.getAnfitrion() != null;
+                for (Invitacion invitacion : invitacionesPorActo.getInvitaciones()) {
+                    TipoDeZona tipo = invitacion.getTipoDeZona();
+                    for (Invitado invitado : invitacion.getInvitados()) {
+                        boolean asignado = invitado.getLocalidad() != null;
+                        invitadosPorTipo.get(tipo).agregar(invitado, asignado);
+                        if (deAnfitrion) {
+                            invitadosDeAnfitrionesPorTipo.get(tipo).agregar(invitado, asignado);
+                        }
+                        if (tipo != TipoDeZona.ACTO_SOCIAL) {
+                            invitados.add(invitado);
+                        }
+                        if (seReparte(tipo)) {
+                            invitadosRepartidos.agregar(invitado, asignado);
+                        }
+                    }
+                    for (Coche coche : invitacion.getCoches()) {
+                        cochesPorTipo.get(tipo).agregar(coche, coche.getLocalidad() != null);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Elementos de un mismo grupo separados según tengan o no una localidad asignada.
+     */
+    private static final class Particion<T> {
+        private final Set<T> todos = conjuntoPorIdentidad();
+        private final Set<T> asignados = conjuntoPorIdentidad();
+        private final Set<T> sinAsignar = conjuntoPorIdentidad();
+
+        void agregar(T elemento, boolean asignado) {
+            todos.add(elemento);
+            (asignado ? asignados : sinAsignar).add(elemento);
+        }
+
+        void colocar(T elemento, boolean asignado) {
+            if (asignado) {
+                sinAsignar.remove(elemento);
+                asignados.add(elemento);
+            } else {
+                asignados.remove(elemento);
+                sinAsignar.add(elemento);
+            }
+        }
+    }
+
+    /**
+     * Vista de solo lectura de uno de los conjuntos del índice que reconstruye el índice antes de cada consulta
+     * si está desactualizado.
+     */
+    private final class Vista<T> extends AbstractSet<T> {
+        private final Function<Estado, Set<T>> conjunto;
+
+        Vista(Function<Estado, Set<T>> conjunto) {
+            this.conjunto = conjunto;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return Collections.unmodifiableSet(conjunto.apply(asegurarAlDia())).iterator();
+        }
+
+        @Override
+        public int size() {
+            return conjunto.apply(asegurarAlDia()).size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return conjunto.apply(asegurarAlDia()).contains(o);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package es.mdef.gaip_libreria.actos;
+
+import es.mdef.gaip_libreria.zonas_configuradas.PrioridadPorUnidad;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla compilada de las prioridades por unidad de las zonas configuradas de un acto.
+ * <p>
+ * Cada unidad de formación con alguna prioridad y cada zona del acto reciben un identificador entero, y las
+ * prioridades se guardan en una matriz de unidades por zonas, de modo que consultar la prioridad de una zona para una
+ * unidad no recorre las prioridades de la zona ni compara nombres de unidades. Las celdas sin prioridad valen
+ * {@link #SIN_PRIORIDAD}.
+ * </p>
+ * <p>
+ * La tabla no cambia una vez construida, por lo que se puede compartir entre hilos. El acto la reconstruye cuando
+ * se agregan o se quitan prioridades o zonas, o cuando detecta que las zonas o sus prioridades se han modificado
+ * sin pasar por él.
+ * </p>
+ */
+public final class TablaPrioridades {
+    /**
+     * Valor de las celdas de la tabla para las que no hay prioridad definida.
+     */
+    public static final int SIN_PRIORIDAD = Integer.MAX_VALUE;
+
+    private final Map<String, Integer> unidades = new HashMap<>();
+    private final Map<ZonaConfigurada, Integer> idsZonas = new IdentityHashMap<>();
+    private final ZonaConfigurada[] zonas;
+    private final int[] prioridadesPorZona;
+    private final int[][] prioridades;
+
+    private TablaPrioridades(List<ZonaConfigurada> zonas) {
+        this.zonas = zonas.toArray(new ZonaConfigurada[0]);
+        this.prioridadesPorZona = new int[this.zonas.length];
+        for (int zona = 0; zona < this.zonas.length; zona++) {
+            idsZonas.putIfAbsent(this.zonas[zona], zona);
+            prioridadesPorZona[zona] = this.zonas[zona].getPrioridades().size();
+            for (PrioridadPorUnidad prioridad : this.zonas[zona].getPrioridades()) {
+                if (prioridad.getUnidad() != null) {
+                    unidades.putIfAbsent(prioridad.getUnidad(), unidades.size());
+                }
+            }
+        }
+        this.prioridades = new int[unidades.size()][this.zonas.length];
+        for (int[] fila : prioridades) {
+            Arrays.fill(fila, SIN_PRIORIDAD);
+        }
+        boolean[][] definidas = new boolean[unidades.size()][this.zonas.length];
+        for (int zona = 0; zona < this.zonas.length; zona++) {
+            for (PrioridadPorUnidad prioridad : this.zonas[zona].getPrioridades()) {
+                if (prioridad.getUnidad() != null) {
+                    int unidad = unidades.get(prioridad.getUnidad());
+                    if (!definidas[unidad][zona]) {
+                        prioridades[unidad][zona] = prioridad.getPrioridad();
+                        definidas[unidad][zona] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Construye la tabla de prioridades de las zonas dadas.
+     *
+     * @param zonas Zonas configuradas del acto. No puede ser nula.
+     * @return La tabla de prioridades.
+     * @throws IllegalArgumentException si la lista de zonas es nula.
+     */
+    public static TablaPrioridades de(List<ZonaConfigurada> zonas) {
+        if (zonas == null) {
+            throw new IllegalArgumentException("La lista de zonas no puede ser nula.");
+        }
+        return new TablaPrioridades(zonas);
+    }
+
+    /**
+     * Indica si la tabla refleja las zonas dadas y sus prioridades, comparando las zonas y el número de prioridades de
+     * cada una.
+     *
+     * @param zonas Zonas configuradas del acto.
+     * @return true si la tabla está al día, false si se debe reconstruir.
+     */
+    boolean estaAlDia(List<ZonaConfigurada> zonas) {
+        if (zonas.size() != this.zonas.length) {
+            return false;
+        }
+        for (int zona = 0; zona < this.zonas.length; zona++) {
+            if (zonas.get(zona) != this.zonas[zona] || this.zonas[zona].getPrioridades().size() != prioridadesPorZona[zona]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el identificador de una unidad de formación.
+     *
+     * @param unidad Nombre de la unidad de formación.
+     * @return El identificador de la unidad, o -1 si ninguna zona tiene prioridad para ella.
+     */
+    public int getIdUnidad(String unidad) {
+        Integer id = unidad == null ? null : unidades.get(unidad);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Obtiene el identificador de una zona configurada, que es su posición en las zonas del acto.
+     *
+     * @param zona Zona configurada.
+     * @return El identificador de la zona, o -1 si la zona no estaba en el acto al construir la tabla.
+     */
+    public int getIdZona(ZonaConfigurada zona) {
+        Integer id = idsZonas.get(zona);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Obtiene la prioridad de una zona para una unidad a partir de sus identificadores.
+     *
+     * @param unidad Identificador de la unidad, o -1.
+     * @param zona   Identificador de la zona, o -1.
+     * @return La prioridad, o {@link #SIN_PRIORIDAD} si la zona no tiene prioridad para la unidad o alguno de los
+     * identificadores es -1.
+     */
+    public int getPrioridad(int unidad, int zona) {
+        return unidad < 0 || zona < 0 ? SIN_PRIORIDAD : prioridades[unidad][zona];
+    }
+
+    /**
+     * Obtiene la prioridad de una zona para una unidad.
+     *
+     * @param unidad Nombre de la unidad de formación.
+     * @param zona   Zona configurada.
+     * @return La prioridad, o {@link #SIN_PRIORIDAD} si la zona no tiene prioridad para la unidad.
+     */
+    public int getPrioridad(String unidad, ZonaConfigurada zona) {
+        return getPrioridad(getIdUnidad(unidad), getIdZona(zona));
+    }
+
+    /**
+     * Obtiene el número de unidades de formación con alguna prioridad.
+     *
+     * @return El número de unidades.
+     */
+    public int getNumeroUnidades() {
+        return prioridades.length;
+    }
+
+    /**
+     * Obtiene el número de zonas de la tabla.
+     *
+     * @return El número de zonas.
+     */
+    public int getNumeroZonas() {
+        return zonas.length;
+    }
+}
\ No newline at end of file
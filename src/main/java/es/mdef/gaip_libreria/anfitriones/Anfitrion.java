@@ -5,6 +5,7 @@ import es.mdef.gaip_libreria.constantes.TipoDeZona;
 import es.mdef.gaip_libreria.invitados.*;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -206,10 +207,11 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return Conjunto de invitados sin asignar de un acto en una zona específica.
      */
     default Set<Invitado> getInvitadosSinAsignarDeUnActoPorZona(Acto acto, TipoDeZona tipoDeZona) {
-        return getInvitacionesDeActo(acto).stream()
-                .filter(e -> e.getTipoDeZona() == tipoDeZona)
-                .map(Invitacion::getInvitados)
-                .flatMap(Set::stream)
+        Invitacion invitacion = getInvitacionPorTipoDeZona(acto, tipoDeZona);
+        if (invitacion == null) {
+            return new HashSet<>();
+        }
+        return invitacion.getInvitados().stream()
                 .filter(invitado -> invitado.getLocalidad() == null)
                 .collect(Collectors.toSet());
     }
@@ -235,11 +237,20 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return Conjunto de invitados de un acto en una zona específica.
      */
     default Set<Invitado> getInvitadosAUnActoPorZona(Acto acto, TipoDeZona tipoDeZona) {
-        return getInvitacionesDeActo(acto).stream()
-                .filter(e -> e.getTipoDeZona() == tipoDeZona)
-                .map(Invitacion::getInvitados)
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        Invitacion invitacion = getInvitacionPorTipoDeZona(acto, tipoDeZona);
+        return invitacion == null ? new HashSet<>() : new HashSet<>(invitacion.getInvitados());
+    }
+
+    /**
+     * Devuelve las invitaciones por acto que el anfitrión ha extendido para un acto específico.
+     *
+     * @param acto Acto específico.
+     * @return Invitaciones por acto del acto, o {@code null} si el anfitrión no tiene invitaciones para él.
+     */
+    default InvitacionesPorActo getInvitacionesPorActo(Acto acto) {
+        return this.getInvitacionesPorActo().stream()
+                .filter(e -> e.getActo().equals(acto))
+                .findFirst().orElse(null);
     }
 
     /**
@@ -249,11 +260,8 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return Conjunto de invitaciones de un acto.
      */
     private Set<Invitacion> getInvitacionesDeActo(Acto acto) {
-        return this.getInvitacionesPorActo().stream()
-                .filter(e -> e.getActo().equals(acto))
-                .map(InvitacionesPorActo::getInvitaciones)
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        InvitacionesPorActo invitacionesPorActo = getInvitacionesPorActo(acto);
+        return invitacionesPorActo == null ? Set.of() : invitacionesPorActo.getInvitaciones();
     }
 
     /**
@@ -264,9 +272,8 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return Invitación por tipo de zona de un acto.
      */
     default Invitacion getInvitacionPorTipoDeZona(Acto acto, TipoDeZona tipoDeZona) {
-        return getInvitacionesDeActo(acto).stream()
-                .filter(e -> e.getTipoDeZona() == tipoDeZona)
-                .findFirst().orElse(null);
+        InvitacionesPorActo invitacionesPorActo = getInvitacionesPorActo(acto);
+        return invitacionesPorActo == null ? null : invitacionesPorActo.getInvitacion(tipoDeZona);
     }
 
     /**
@@ -288,10 +295,11 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return Conjunto de coches sin localidad asignada en la zona de estacionamiento para el acto especificado.
      */
     default Set<Coche> getCochesSinAsignarDeUnActo(Acto acto) {
-        return getInvitacionesDeActo(acto).stream()
-                .filter(e -> e.getTipoDeZona() == TipoDeZona.PARKING)
-                .map(Invitacion::getCoches)
-                .flatMap(Set::stream)
+        Invitacion invitacion = getInvitacionPorTipoDeZona(acto, TipoDeZona.PARKING);
+        if (invitacion == null) {
+            return new HashSet<>();
+        }
+        return invitacion.getCoches().stream()
                 .filter(coche -> coche.getLocalidad() == null)
                 .collect(Collectors.toSet());
     }
@@ -303,13 +311,12 @@ public interface Anfitrion extends Persona, Comparable<Anfitrion> {
      * @return true si hay al menos una invitación con localidad asignada para el acto, false en caso contrario.
      */
     default boolean tieneInvitaciones(Acto acto) {
-        return getInvitacionesDeActo(acto)
-                .stream()
-                .map(Invitacion::getCoches)
-                .flatMap(Set::stream)
-                .anyMatch(coche -> coche.getLocalidad() != null)
-                || getInvitadosAUnActo(acto)
-                .stream()
-                .anyMatch(invitado -> invitado.getLocalidad() != null);
+        for (Invitacion invitacion : getInvitacionesDeActo(acto)) {
+            if (invitacion.getCoches().stream().anyMatch(coche -> coche.getLocalidad() != null)
+                    || invitacion.getInvitados().stream().anyMatch(invitado -> invitado.getLocalidad() != null)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
\ No newline at end of file
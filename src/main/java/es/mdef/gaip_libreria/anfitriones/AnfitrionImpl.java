@@ -7,12 +7,20 @@ import es.mdef.gaip_libreria.invitados.PersonaImpl;
 import lombok.*;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Implementación concreta de la interfaz {@link Anfitrion}.
  * Representa a un anfitrión con capacidad para invitar personas a actos, vinculado a una unidad de formación,
  * y con un conjunto de invitaciones por acto que ha extendido.
+ * <p>
+ * Las invitaciones por acto se indexan además por acto, de modo que {@link #getInvitacionesPorActo(Acto)} no recorre
+ * el conjunto. El índice se mantiene al agregar y quitar invitaciones por acto y usa la identidad del acto, ya que
+ * los campos que intervienen en su igualdad pueden cambiar. Si una invitación por acto cambia de acto o el conjunto
+ * se ha rellenado sin pasar por estos métodos, el índice se corrige la primera vez que se busca el acto.
+ * </p>
  */
 @EqualsAndHashCode(of = {"unidadDeFormacion", "empleo"}, callSuper = true)
 @Getter
@@ -22,6 +30,8 @@ import java.util.Set;
 public class AnfitrionImpl extends PersonaImpl implements Anfitrion {
     private final Set<Acto> actos = new HashSet<>();
     private final Set<InvitacionesPorActo> invitacionesPorActo = new HashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<Acto, InvitacionesPorActo> invitacionesPorActoPorActo = new IdentityHashMap<>();
     private String unidadDeFormacion;
     private String empleo;
 
@@ -69,6 +79,7 @@ public class AnfitrionImpl extends PersonaImpl implements Anfitrion {
     public <T extends InvitacionesPorActo> void setInvitacionesPorActo(Set<T> invitacionesPorActo) {
         if (this.invitacionesPorActo != invitacionesPorActo) {
             this.invitacionesPorActo.clear();
+            this.invitacionesPorActoPorActo.clear();
             if (invitacionesPorActo != null) {
                 invitacionesPorActo.forEach(this::agregarInvitacionesPorActo);
             }
@@ -87,6 +98,9 @@ public class AnfitrionImpl extends PersonaImpl implements Anfitrion {
         }
         if (!invitacionesPorActo.contains(invitacionPorActo)) {
             invitacionesPorActo.add(invitacionPorActo);
+            if (invitacionPorActo.getActo() != null) {
+                invitacionesPorActoPorActo.putIfAbsent(invitacionPorActo.getActo(), invitacionPorActo);
+            }
             if (invitacionPorActo.getAnfitrion() != this) {
                 invitacionPorActo.setAnfitrion(this);
             }
@@ -105,12 +119,35 @@ public class AnfitrionImpl extends PersonaImpl implements Anfitrion {
         }
         if (invitacionesPorActo.contains(invitacionPorActo)) {
             invitacionesPorActo.remove(invitacionPorActo);
+            invitacionesPorActoPorActo.values().remove(invitacionPorActo);
             if (invitacionPorActo.getAnfitrion() == this) {
                 invitacionPorActo.setAnfitrion(null);
             }
         }
     }
 
+    /**
+     * Obtiene las invitaciones por acto del anfitrión para un acto a partir del índice por acto.
+     *
+     * @param acto Acto específico.
+     * @return Invitaciones por acto del acto, o {@code null} si el anfitrión no tiene invitaciones para él.
+     */
+    @Override
+    public InvitacionesPorActo getInvitacionesPorActo(Acto acto) {
+        InvitacionesPorActo encontradas = invitacionesPorActoPorActo.get(acto);
+        if (encontradas != null && encontradas.getActo() == acto) {
+            return encontradas;
+        }
+        if (encontradas != null) {
+            invitacionesPorActoPorActo.remove(acto);
+        }
+        encontradas = Anfitrion.super.getInvitacionesPorActo(acto);
+        if (encontradas != null) {
+            invitacionesPorActoPorActo.put(acto, encontradas);
+        }
+        return encontradas;
+    }
+
     /**
      * Agrega un acto al conjunto de actos del anfitrión, asegurando la coherencia en la relación bidireccional.
      *
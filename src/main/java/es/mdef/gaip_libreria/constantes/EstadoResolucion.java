@@ -0,0 +1,17 @@
+package es.mdef.gaip_libreria.constantes;
+
+/**
+ * Enumeración que representa la calidad de la solución devuelta por un algoritmo de organización de asientos.
+ */
+public enum EstadoResolucion {
+
+    /**
+     * Se ha demostrado que la solución es óptima, dentro del gap relativo configurado.
+     */
+    OPTIMA,
+
+    /**
+     * La solución es válida pero el presupuesto de resolución se agotó antes de demostrar su optimalidad.
+     */
+    FACTIBLE
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package es.mdef.gaip_libreria.constantes;
+
+/**
+ * Enumeración que representa las distintas formulaciones del modelo de organización de asientos.
+ */
+public enum FormulacionAsientos {
+
+    /**
+     * Formulación con una variable por cada par invitado y asiento.
+     * La contigüidad de los invitados de un mismo anfitrión se impone mediante restricciones adicionales.
+     */
+    POR_ASIENTO,
+
+    /**
+     * Formulación con una variable por anfitrión, grupo de asientos y posición de inicio del bloque.
+     * La contigüidad queda garantizada por la propia formulación.
+     */
+    POR_BLOQUE,
+
+    /**
+     * Asignación de cada anfitrión a un grupo de asientos resuelta mediante ramificación y poda en Java,
+     * sin necesidad de las bibliotecas nativas de OR-Tools.
+     */
+    RAMIFICACION_Y_PODA,
+
+    /**
+     * Formulación como problema de planificación con un intervalo opcional por anfitrión y grupo de asientos,
+     * resuelta por el solver CP-SAT con varios trabajadores en paralelo.
+     */
+    CP_SAT
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package es.mdef.gaip_libreria.constantes;
+
+/**
+ * Enumeración que representa los motivos por los que el análisis previo descarta un problema de organización de asientos.
+ */
+public enum MotivoInviabilidad {
+
+    /**
+     * Algún anfitrión tiene más invitados que asientos el mayor grupo de asientos, por lo que no cabe en ninguno.
+     * Estos anfitriones se pueden retirar del problema y resolver el resto.
+     */
+    ANFITRION_SIN_GRUPO,
+
+    /**
+     * El número total de invitados supera el número total de asientos.
+     */
+    CAPACIDAD_TOTAL_INSUFICIENTE,
+
+    /**
+     * Aunque la capacidad total es suficiente, los bloques de invitados no se pueden empaquetar en los grupos de
+     * asientos disponibles.
+     */
+    EMPAQUETAMIENTO_IMPOSIBLE
+}
\ No newline at end of file
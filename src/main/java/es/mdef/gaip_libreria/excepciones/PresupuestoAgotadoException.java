@@ -0,0 +1,26 @@
+package es.mdef.gaip_libreria.excepciones;
+
+/**
+ * Excepción lanzada cuando el solver agota el tiempo o el límite de nodos del presupuesto de resolución sin haber
+ * encontrado ninguna solución factible.
+ * A diferencia de un fallo del solver o de una cancelación, indica que el problema podría tener solución con un
+ * presupuesto mayor, por lo que los organizadores con solución inicial la devuelven en su lugar.
+ */
+public class PresupuestoAgotadoException extends SinSolucionException {
+
+    /**
+     * Construye una nueva excepción con un mensaje de error predeterminado.
+     */
+    public PresupuestoAgotadoException() {
+        super("Se ha agotado el presupuesto de resolución sin encontrar ninguna solución");
+    }
+
+    /**
+     * Construye una nueva excepción con un mensaje de error personalizado.
+     *
+     * @param mensaje El mensaje de error que se mostrará.
+     */
+    public PresupuestoAgotadoException(String mensaje) {
+        super(mensaje);
+    }
+}
\ No newline at end of file
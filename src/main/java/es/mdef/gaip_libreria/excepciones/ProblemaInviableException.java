@@ -0,0 +1,54 @@
+package es.mdef.gaip_libreria.excepciones;
+
+import es.mdef.gaip_libreria.constantes.MotivoInviabilidad;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Excepción lanzada cuando el análisis previo demuestra que el problema de organización de asientos no tiene solución,
+ * sin necesidad de construir ni resolver el modelo.
+ * Al ser una {@link SinSolucionException}, se trata igual que cualquier otro problema sin solución.
+ */
+public class ProblemaInviableException extends SinSolucionException {
+
+    /**
+     * Motivos por los que se ha descartado el problema.
+     */
+    private final transient Set<MotivoInviabilidad> motivos;
+
+    /**
+     * Índices de los anfitriones que no caben en ningún grupo de asientos.
+     */
+    private final transient List<Integer> anfitrionesSinGrupo;
+
+    /**
+     * Construye una nueva excepción a partir de los motivos por los que se ha descartado el problema.
+     *
+     * @param motivos             Motivos de inviabilidad detectados.
+     * @param anfitrionesSinGrupo Índices de los anfitriones que no caben en ningún grupo de asientos.
+     */
+    public ProblemaInviableException(Set<MotivoInviabilidad> motivos, List<Integer> anfitrionesSinGrupo) {
+        super("El problema de organización de asientos no tiene solución: " + motivos);
+        this.motivos = Set.copyOf(motivos);
+        this.anfitrionesSinGrupo = List.copyOf(anfitrionesSinGrupo);
+    }
+
+    /**
+     * Devuelve los motivos por los que se ha descartado el problema.
+     *
+     * @return Conjunto inmodificable de motivos de inviabilidad.
+     */
+    public Set<MotivoInviabilidad> getMotivos() {
+        return motivos;
+    }
+
+    /**
+     * Devuelve los índices de los anfitriones que no caben en ningún grupo de asientos.
+     *
+     * @return Lista inmodificable de índices de anfitriones.
+     */
+    public List<Integer> getAnfitrionesSinGrupo() {
+        return anfitrionesSinGrupo;
+    }
+}
\ No newline at end of file
@@ -41,6 +41,7 @@ public class CocheImpl implements Coche {
             if (this.localidad != null && this.localidad.getCoche() != this) {
                 this.localidad.setCoche(this, permitirExcederMaximo);
             }
+            notificarAsignacion();
         }
     }
 
@@ -63,4 +64,10 @@ public class CocheImpl implements Coche {
             }
         }
     }
+
+    private void notificarAsignacion() {
+        if (invitacion != null && invitacion.getInvitacionesPorActo() != null && invitacion.getInvitacionesPorActo().getActo() != null) {
+            invitacion.getInvitacionesPorActo().getActo().asignacionModificada(this);
+        }
+    }
 }
\ No newline at end of file
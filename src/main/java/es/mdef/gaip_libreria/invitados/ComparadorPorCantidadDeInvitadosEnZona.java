@@ -4,11 +4,20 @@ import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.anfitriones.Anfitrion;
 import es.mdef.gaip_libreria.constantes.TipoDeZona;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Comparador para ordenar anfitriones según la cantidad de invitados sin asignar en una zona y acto específicos.
  * En caso de que dos anfitriones tengan la misma cantidad de invitados sin asignar, los ordena por DNI.
+ * <p>
+ * Cada comparación cuenta los invitados sin asignar de los dos anfitriones. Para ordenar una colección completa es
+ * preferible {@link #ordenar(Collection)}, que calcula la clave de cada anfitrión una sola vez.
+ * </p>
  */
 public class ComparadorPorCantidadDeInvitadosEnZona implements Comparator<Anfitrion> {
     private final TipoDeZona zona;
@@ -49,4 +58,51 @@ public class ComparadorPorCantidadDeInvitadosEnZona implements Comparator<Anfitr
 
         return comparacionPorInvitados;
     }
+
+    /**
+     * Ordena los anfitriones con el mismo criterio que {@link #compare(Anfitrion, Anfitrion)}, calculando antes la
+     * clave de cada uno (número de invitados sin asignar y DNI) una sola vez, en lugar de en cada comparación.
+     * El orden resultante es el mismo que el de ordenar la colección con este comparador.
+     *
+     * @param anfitriones Anfitriones a ordenar.
+     * @return Nueva lista con los anfitriones ordenados.
+     */
+    public List<Anfitrion> ordenar(Collection<? extends Anfitrion> anfitriones) {
+        return ordenar(anfitriones, anfitrion -> anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, zona).size(), Anfitrion::getDni);
+    }
+
+    /**
+     * Ordena los anfitriones de menor a mayor número de invitados sin asignar y, a igual número, por DNI, calculando
+     * antes la clave de cada uno una sola vez. Permite ordenar con el mismo criterio que el comparador a partir de
+     * cuentas y DNI que no se leen del acto, como los de un reparto en curso.
+     *
+     * @param anfitriones         Anfitriones a ordenar.
+     * @param invitadosSinAsignar Número de invitados sin asignar de cada anfitrión.
+     * @param dni                 DNI de cada anfitrión.
+     * @return Nueva lista con los anfitriones ordenados.
+     */
+    public static List<Anfitrion> ordenar(Collection<? extends Anfitrion> anfitriones, ToIntFunction<? super Anfitrion> invitadosSinAsignar, Function<? super Anfitrion, String> dni) {
+        List<ClaveDeOrden> claves = new ArrayList<>(anfitriones.size());
+        for (Anfitrion anfitrion : anfitriones) {
+            claves.add(new ClaveDeOrden(anfitrion, invitadosSinAsignar.applyAsInt(anfitrion), dni.apply(anfitrion)));
+        }
+        claves.sort(ClaveDeOrden.ORDEN);
+        List<Anfitrion> ordenados = new ArrayList<>(claves.size());
+        for (ClaveDeOrden clave : claves) {
+            ordenados.add(clave.anfitrion());
+        }
+        return ordenados;
+    }
+
+    /**
+     * Clave de ordenación de un anfitrión, calculada una sola vez antes de ordenar.
+     *
+     * @param anfitrion           Anfitrión al que corresponde la clave.
+     * @param invitadosSinAsignar Número de invitados sin asignar del anfitrión.
+     * @param dni                 DNI del anfitrión.
+     */
+    private record ClaveDeOrden(Anfitrion anfitrion, int invitadosSinAsignar, String dni) {
+        private static final Comparator<ClaveDeOrden> ORDEN = Comparator.comparingInt(ClaveDeOrden::invitadosSinAsignar)
+                .thenComparing(ClaveDeOrden::dni);
+    }
 }
\ No newline at end of file
@@ -48,7 +48,10 @@ public class InvitacionImpl implements Invitacion {
     @Override
     public void setInvitacionesPorActo(InvitacionesPorActo invitacionesPorActo) {
         if (this.invitacionesPorActo != invitacionesPorActo) {
+            InvitacionesPorActo anteriores = this.invitacionesPorActo;
             this.invitacionesPorActo = invitacionesPorActo;
+            notificarActo(anteriores);
+            notificarActo(invitacionesPorActo);
             if (invitacionesPorActo != null && !invitacionesPorActo.getInvitaciones().contains(this)) {
                 invitacionesPorActo.agregarInvitacion(this);
             }
@@ -115,6 +118,7 @@ public class InvitacionImpl implements Invitacion {
                 throw new CantidadInvitadosExcedeLimiteException();
             }
             this.invitados.add(invitado);
+            notificarActo(invitacionesPorActo);
             invitado.setInvitacion(this, permitirExcederMaximo);
         }
     }
@@ -128,6 +132,7 @@ public class InvitacionImpl implements Invitacion {
     public void quitarInvitado(Invitado invitado) {
         if (this.invitados.contains(invitado)) {
             this.invitados.remove(invitado);
+            notificarActo(invitacionesPorActo);
             if (invitado != null) {
                 invitado.setInvitacion(null, false);
             }
@@ -177,6 +182,7 @@ public class InvitacionImpl implements Invitacion {
                 throw new CantidadInvitadosExcedeLimiteException();
             }
             this.coches.add(coche);
+            notificarActo(invitacionesPorActo);
             coche.setInvitacion(this, permitirExcederMaximo);
         }
     }
@@ -190,9 +196,16 @@ public class InvitacionImpl implements Invitacion {
     public void quitarCoche(Coche coche) {
         if (this.coches.contains(coche)) {
             this.coches.remove(coche);
+            notificarActo(invitacionesPorActo);
             if (coche != null) {
                 coche.setInvitacion(null, false);
             }
         }
     }
+
+    private static void notificarActo(InvitacionesPorActo invitacionesPorActo) {
+        if (invitacionesPorActo != null && invitacionesPorActo.getActo() != null) {
+            invitacionesPorActo.getActo().invitacionesModificadas();
+        }
+    }
 }
\ No newline at end of file
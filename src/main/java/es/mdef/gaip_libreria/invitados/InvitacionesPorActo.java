@@ -2,6 +2,7 @@ package es.mdef.gaip_libreria.invitados;
 
 import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
 
 import java.util.Set;
 
@@ -68,4 +69,16 @@ public interface InvitacionesPorActo {
      * @param invitacion la {@link Invitacion} a quitar.
      */
     void quitarInvitacion(Invitacion invitacion);
+
+    /**
+     * Obtiene la invitación de un tipo de zona específico de entre las que el anfitrión ha extendido para el acto.
+     *
+     * @param tipoDeZona el {@link TipoDeZona} de la invitación.
+     * @return la {@link Invitacion} del tipo de zona indicado, o {@code null} si no hay ninguna.
+     */
+    default Invitacion getInvitacion(TipoDeZona tipoDeZona) {
+        return getInvitaciones().stream()
+                .filter(e -> e.getTipoDeZona() == tipoDeZona)
+                .findFirst().orElse(null);
+    }
 }
\ No newline at end of file
@@ -2,19 +2,30 @@ package es.mdef.gaip_libreria.invitados;
 
 import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Implementación concreta de la interfaz {@link InvitacionesPorActo}.
  * Esta clase representa las invitaciones extendidas por un anfitrión para un acto específico.
  * Utiliza Lombok para generar automáticamente los métodos getters.
+ * <p>
+ * Las invitaciones se indexan además por {@link TipoDeZona}, de modo que {@link #getInvitacion(TipoDeZona)} no
+ * recorre el conjunto. El índice se mantiene al agregar y quitar invitaciones y, si el conjunto se ha rellenado sin
+ * pasar por estos métodos, se completa la primera vez que se busca un tipo de zona que no contiene.
+ * </p>
  */
 @Getter
 public class InvitacionesPorActoImpl implements InvitacionesPorActo {
     private final Set<Invitacion> invitaciones = new HashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<TipoDeZona, Invitacion> invitacionesPorTipo = new EnumMap<>(TipoDeZona.class);
     private Acto acto;
     private Anfitrion anfitrion;
 
@@ -41,7 +52,9 @@ public class InvitacionesPorActoImpl implements InvitacionesPorActo {
             if (this.acto != null && this.acto.getInvitacionesPorActo().contains(this)) {
                 this.acto.quitarInvitacionesPorActo(this);
             }
+            notificarActo();
             this.acto = acto;
+            notificarActo();
             if (this.acto != null && !this.acto.getInvitacionesPorActo().contains(this)) {
                 this.acto.agregarInvitacionesPorActo(this);
             }
@@ -61,6 +74,7 @@ public class InvitacionesPorActoImpl implements InvitacionesPorActo {
                 this.anfitrion.quitarInvitacionesPorActo(this);
             }
             this.anfitrion = anfitrion;
+            notificarActo();
             if (anfitrion != null && !anfitrion.getInvitacionesPorActo().contains(this)) {
                 anfitrion.agregarInvitacionesPorActo(this);
             }
@@ -77,6 +91,8 @@ public class InvitacionesPorActoImpl implements InvitacionesPorActo {
     public void setInvitaciones(Set<Invitacion> invitaciones) {
         if (this.invitaciones != invitaciones) {
             this.invitaciones.clear();
+            this.invitacionesPorTipo.clear();
+            notificarActo();
             if (invitaciones != null) {
                 invitaciones.forEach(this::agregarInvitacion);
             }
@@ -93,6 +109,8 @@ public class InvitacionesPorActoImpl implements InvitacionesPorActo {
     public void agregarInvitacion(Invitacion invitacion) {
         if (invitacion != null && !this.invitaciones.contains(invitacion)) {
             this.invitaciones.add(invitacion);
+            this.invitacionesPorTipo.putIfAbsent(invitacion.getTipoDeZona(), invitacion);
+            notificarActo();
             invitacion.setInvitacionesPorActo(this);
         }
     }
@@ -107,7 +125,42 @@ public class InvitacionesPorActoImpl implements InvitacionesPorActo {
     public void quitarInvitacion(Invitacion invitacion) {
         if (invitacion != null && this.invitaciones.contains(invitacion)) {
             this.invitaciones.remove(invitacion);
+            if (this.invitacionesPorTipo.get(invitacion.getTipoDeZona()) == invitacion) {
+                this.invitacionesPorTipo.remove(invitacion.getTipoDeZona());
+            }
+            notificarActo();
             invitacion.setInvitacionesPorActo(null);
         }
     }
+
+    /**
+     * Obtiene la invitación de un tipo de zona a partir del índice por tipo de zona.
+     * Si la invitación del índice ha cambiado de tipo de zona, ya no pertenece a estas invitaciones o se ha quitado
+     * sin pasar por ellas, se descarta y se vuelve a buscar entre las invitaciones.
+     *
+     * @param tipoDeZona El tipo de zona de la invitación.
+     * @return La invitación del tipo de zona indicado, o {@code null} si no hay ninguna.
+     */
+    @Override
+    public Invitacion getInvitacion(TipoDeZona tipoDeZona) {
+        Invitacion invitacion = invitacionesPorTipo.get(tipoDeZona);
+        if (invitacion != null && invitacion.getTipoDeZona() == tipoDeZona
+                && invitacion.getInvitacionesPorActo() == this && invitaciones.contains(invitacion)) {
+            return invitacion;
+        }
+        if (invitacion != null) {
+            invitacionesPorTipo.remove(tipoDeZona);
+        }
+        invitacion = InvitacionesPorActo.super.getInvitacion(tipoDeZona);
+        if (invitacion != null) {
+            invitacionesPorTipo.put(tipoDeZona, invitacion);
+        }
+        return invitacion;
+    }
+
+    private void notificarActo() {
+        if (acto != null) {
+            acto.invitacionesModificadas();
+        }
+    }
 }
\ No newline at end of file
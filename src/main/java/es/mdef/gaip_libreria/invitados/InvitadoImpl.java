@@ -80,6 +80,7 @@ public abstract class InvitadoImpl extends PersonaImpl implements Invitado {
                 this.localidad.setInvitado(this, superarMaximo);
                 cambiarTipoDeInvitacion(superarMaximo);
             }
+            notificarAsignacion();
         }
     }
 
@@ -96,4 +97,10 @@ public abstract class InvitadoImpl extends PersonaImpl implements Invitado {
             }
         }
     }
+
+    private void notificarAsignacion() {
+        if (invitacion != null && invitacion.getInvitacionesPorActo() != null && invitacion.getInvitacionesPorActo().getActo() != null) {
+            invitacion.getInvitacionesPorActo().getActo().asignacionModificada(this);
+        }
+    }
 }
\ No newline at end of file
@@ -4,9 +4,13 @@ import es.mdef.gaip_libreria.zonas.Zona;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Objects;
+
 /**
  * Implementación concreta de la interfaz {@link Localidad}.
  * Esta clase representa una localidad individual dentro de una zona, con propiedades geométricas y opciones de salto.
+ * Los cambios de la siguiente localidad, de los saltos, de la posición y del tamaño se notifican a la zona, que
+ * descarta las disposiciones que tenga guardadas.
  */
 @Data
 @EqualsAndHashCode(of = {"implicaSalto", "implicaSaltoFila", "x", "y", "altura", "anchura"})
@@ -37,4 +41,97 @@ public class LocalidadImpl implements Localidad {
             }
         }
     }
+
+    /**
+     * Establece la localidad que sigue a esta localidad y lo notifica a la zona si cambia.
+     *
+     * @param siguienteLocalidad la localidad a establecer como siguiente.
+     */
+    public void setSiguienteLocalidad(Localidad siguienteLocalidad) {
+        if (this.siguienteLocalidad != siguienteLocalidad) {
+            this.siguienteLocalidad = siguienteLocalidad;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece si la localidad implica un salto y lo notifica a la zona si cambia.
+     *
+     * @param implicaSalto true si la localidad implica un salto.
+     */
+    public void setImplicaSalto(Boolean implicaSalto) {
+        if (!Objects.equals(this.implicaSalto, implicaSalto)) {
+            this.implicaSalto = implicaSalto;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece si la localidad implica un salto de fila y lo notifica a la zona si cambia.
+     *
+     * @param implicaSaltoFila true si la localidad implica un salto de fila.
+     */
+    public void setImplicaSaltoFila(Boolean implicaSaltoFila) {
+        if (!Objects.equals(this.implicaSaltoFila, implicaSaltoFila)) {
+            this.implicaSaltoFila = implicaSaltoFila;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece la coordenada X de la localidad y lo notifica a la zona si cambia.
+     *
+     * @param x la coordenada X.
+     */
+    public void setX(double x) {
+        if (Double.compare(this.x, x) != 0) {
+            this.x = x;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece la coordenada Y de la localidad y lo notifica a la zona si cambia.
+     *
+     * @param y la coordenada Y.
+     */
+    public void setY(double y) {
+        if (Double.compare(this.y, y) != 0) {
+            this.y = y;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece la altura de la localidad y lo notifica a la zona si cambia.
+     *
+     * @param altura la altura.
+     */
+    public void setAltura(double altura) {
+        if (Double.compare(this.altura, altura) != 0) {
+            this.altura = altura;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Establece la anchura de la localidad y lo notifica a la zona si cambia.
+     *
+     * @param anchura la anchura.
+     */
+    public void setAnchura(double anchura) {
+        if (Double.compare(this.anchura, anchura) != 0) {
+            this.anchura = anchura;
+            notificarZona();
+        }
+    }
+
+    /**
+     * Notifica a la zona de la localidad que ha cambiado su disposición.
+     */
+    protected void notificarZona() {
+        if (zona != null) {
+            zona.localidadModificada(this);
+        }
+    }
 }
\ No newline at end of file
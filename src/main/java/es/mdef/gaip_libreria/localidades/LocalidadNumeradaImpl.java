@@ -6,9 +6,22 @@ import lombok.EqualsAndHashCode;
 /**
  * Implementación concreta de la interfaz {@link LocalidadNumerada}, extendiendo {@link LocalidadImpl}.
  * Esta clase representa una localidad numerada, que es una especialización de una localidad con un número asignado.
+ * Los cambios de número se notifican a la zona, ya que alteran el orden de sus localidades.
  */
 @EqualsAndHashCode(of = "numero", callSuper = true)
 @Data
 public class LocalidadNumeradaImpl extends LocalidadImpl implements LocalidadNumerada {
     private int numero;
+
+    /**
+     * Establece el número de la localidad y lo notifica a la zona si cambia.
+     *
+     * @param numero el número de la localidad.
+     */
+    public void setNumero(int numero) {
+        if (this.numero != numero) {
+            this.numero = numero;
+            notificarZona();
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,14 @@
 package es.mdef.gaip_libreria.localidades;
 
+import es.mdef.gaip_libreria.utilidades.HibernateProxyHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * Clase de utilidad para operaciones relacionadas con localidades.
  * Proporciona métodos estáticos para facilitar la manipulación y comparación de localidades.
@@ -31,4 +40,47 @@ public final class LocalidadesHelper {
         }
         return -1;
     }
+
+    /**
+     * Obtiene el número de una localidad, resolviendo antes el proxy de Hibernate si lo es.
+     *
+     * @param localidad La localidad de la que obtener el número.
+     * @return El número de la localidad, o null si la localidad es nula o no es una {@link LocalidadNumerada}.
+     */
+    public static Integer getNumero(Localidad localidad) {
+        return HibernateProxyHelper.getEntity(localidad) instanceof LocalidadNumerada localidadNumerada ? localidadNumerada.getNumero() : null;
+    }
+
+    /**
+     * Ordena elementos por el número de su localidad.
+     * El número de cada elemento se obtiene una sola vez con {@link #getNumero(Localidad)}, en lugar de en cada
+     * comparación. Los elementos con el mismo número conservan su orden y los que no tienen número van al final,
+     * también en su orden.
+     *
+     * @param elementos Los elementos a ordenar.
+     * @param localidad Función que obtiene la localidad de cada elemento.
+     * @param <T>       El tipo de los elementos.
+     * @return Una lista inmodificable con los elementos ordenados por número.
+     */
+    public static <T> List<T> ordenarPorNumero(Collection<? extends T> elementos, Function<? super T, ? extends Localidad> localidad) {
+        List<T> originales = new ArrayList<>(elementos);
+        long[] claves = new long[originales.size()];
+        int numerados = 0;
+        List<T> sinNumero = new ArrayList<>();
+        for (int i = 0; i < originales.size(); i++) {
+            Integer numero = getNumero(localidad.apply(originales.get(i)));
+            if (numero == null) {
+                sinNumero.add(originales.get(i));
+            } else {
+                claves[numerados++] = (long) numero << 32 | i;
+            }
+        }
+        Arrays.sort(claves, 0, numerados);
+        List<T> ordenados = new ArrayList<>(originales.size());
+        for (int i = 0; i < numerados; i++) {
+            ordenados.add(originales.get((int) claves[i]));
+        }
+        ordenados.addAll(sinNumero);
+        return Collections.unmodifiableList(ordenados);
+    }
 }
\ No newline at end of file
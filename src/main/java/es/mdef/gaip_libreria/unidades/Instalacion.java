@@ -113,4 +113,27 @@ public interface Instalacion {
      * @param acto el acto a desasociar de la instalación.
      */
     void quitarActo(Acto acto);
+
+    /**
+     * Notifica que han cambiado las zonas de la instalación, sus localidades o la disposición de estas.
+     * Las implementaciones que guardan una {@link PlantillaInstalacion} la reconstruyen en la siguiente consulta.
+     * Por defecto no hace nada, ya que {@link #getPlantilla()} construye la plantilla en cada llamada.
+     */
+    default void zonasModificadas() {
+    }
+
+    /**
+     * Obtiene la {@link PlantillaInstalacion} con la disposición compilada de las zonas de la instalación.
+     * <p>
+     * La plantilla refleja los cambios que se notifican a través de {@link #zonasModificadas()} o que aumentan la
+     * {@link Zona#getVersionLocalidades() versión de las localidades} de una zona: agregar o quitar zonas o
+     * localidades, y cambiar la disposición, la posición o el tamaño de una localidad que avisa a su zona. De las zonas que no llevan la cuenta
+     * de sus versiones solo se detecta que ha cambiado el número de localidades.
+     * </p>
+     *
+     * @return la plantilla de la instalación.
+     */
+    default PlantillaInstalacion getPlantilla() {
+        return PlantillaInstalacion.de(this);
+    }
 }
\ No newline at end of file
@@ -2,18 +2,26 @@ package es.mdef.gaip_libreria.unidades;
 
 import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.zonas.Zona;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementación de la interfaz {@link Instalacion}.
  * Representa una instalación con sus propiedades y relaciones.
+ * <p>
+ * La {@link PlantillaInstalacion} se construye en la primera consulta y se conserva hasta que cambian las zonas o sus
+ * localidades o la disposición de estas, lo que la instalación y las zonas notifican a través de
+ * {@link #zonasModificadas()}.
+ * </p>
  */
 @Data
 @EqualsAndHashCode(of = {"nombre"})
@@ -25,6 +33,9 @@ public class InstalacionImpl implements Instalacion {
     private String nombre;
     @Getter
     private Unidad unidad;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicReference<PlantillaInstalacion> plantilla = new AtomicReference<>();
 
     /**
      * Establece la unidad asociada a la instalación.
@@ -52,6 +63,7 @@ public class InstalacionImpl implements Instalacion {
      */
     public void setZonas(List<Zona> zonas) {
         this.zonas.clear();
+        zonasModificadas();
         if (zonas != null) {
             zonas.forEach(this::agregarZona);
         }
@@ -82,6 +94,7 @@ public class InstalacionImpl implements Instalacion {
         }
         if (!zonas.contains(zona)) {
             zonas.add(zona);
+            zonasModificadas();
             if (zona.getInstalacion() != this) {
                 zona.setInstalacion(this);
             }
@@ -96,6 +109,7 @@ public class InstalacionImpl implements Instalacion {
     public void quitarZona(Zona zona) {
         if (zona != null && zonas.contains(zona)) {
             zonas.remove(zona);
+            zonasModificadas();
             zona.setInstalacion(null);
         }
     }
@@ -128,4 +142,28 @@ public class InstalacionImpl implements Instalacion {
             acto.setInstalacion(null);
         }
     }
+
+    /**
+     * Descarta la plantilla de la instalación para que se reconstruya en la siguiente consulta.
+     */
+    @Override
+    public void zonasModificadas() {
+        plantilla.set(null);
+    }
+
+    /**
+     * Obtiene la plantilla de la instalación, que se reconstruye si se ha descartado o si las zonas o sus localidades
+     * han cambiado sin notificarlo.
+     *
+     * @return La plantilla de la instalación.
+     */
+    @Override
+    public PlantillaInstalacion getPlantilla() {
+        PlantillaInstalacion actual = plantilla.get();
+        if (actual == null || !actual.estaAlDia(zonas)) {
+            actual = PlantillaInstalacion.de(this);
+            plantilla.set(actual);
+        }
+        return actual;
+    }
 }
\ No newline at end of file
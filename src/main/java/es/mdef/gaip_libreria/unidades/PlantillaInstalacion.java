@@ -0,0 +1,149 @@
+package es.mdef.gaip_libreria.unidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.zonas.PlantillaZona;
+import es.mdef.gaip_libreria.zonas.Zona;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfiguradaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfiguradaImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla compilada de la disposición de las zonas de una {@link Instalacion}, con una {@link PlantillaZona} por zona.
+ * <p>
+ * La plantilla se construye una vez por instalación y la comparten todos los actos que se celebran en ella. A partir
+ * de la plantilla, {@link #crearZonasConfiguradas(Acto, EstadoLocalidad)} crea de una vez las zonas configuradas de
+ * un acto con sus localidades ya en orden de número.
+ * </p>
+ * <p>
+ * La plantilla no cambia una vez construida, por lo que se puede compartir entre hilos. La instalación la reconstruye
+ * cuando se agregan o se quitan zonas o localidades, o cuando detecta que las zonas se han modificado sin pasar por
+ * ella.
+ * </p>
+ */
+public final class PlantillaInstalacion {
+    private final Instalacion instalacion;
+    private final List<PlantillaZona> plantillasZonas;
+    private final Map<Zona, PlantillaZona> porZona = new IdentityHashMap<>();
+
+    private PlantillaInstalacion(Instalacion instalacion) {
+        this.instalacion = instalacion;
+        List<PlantillaZona> plantillas = new ArrayList<>(instalacion.getZonas().size());
+        for (Zona zona : instalacion.getZonas()) {
+            PlantillaZona plantilla = PlantillaZona.de(zona);
+            plantillas.add(plantilla);
+            porZona.putIfAbsent(zona, plantilla);
+        }
+        this.plantillasZonas = Collections.unmodifiableList(plantillas);
+    }
+
+    /**
+     * Construye la plantilla de una instalación a partir del estado actual de sus zonas.
+     *
+     * @param instalacion La instalación. No puede ser nula.
+     * @return La plantilla de la instalación.
+     * @throws IllegalArgumentException si la instalación es nula.
+     */
+    public static PlantillaInstalacion de(Instalacion instalacion) {
+        if (instalacion == null) {
+            throw new IllegalArgumentException("La instalación no puede ser nula.");
+        }
+        return new PlantillaInstalacion(instalacion);
+    }
+
+    /**
+     * Indica si la plantilla se ha construido a partir de las zonas dadas, en el mismo orden, y la plantilla de cada
+     * zona sigue al día según {@link PlantillaZona#estaAlDia()}.
+     *
+     * @param zonas Zonas actuales de la instalación.
+     * @return true si la plantilla está al día, false si se debe reconstruir.
+     */
+    boolean estaAlDia(List<Zona> zonas) {
+        if (zonas.size() != plantillasZonas.size()) {
+            return false;
+        }
+        for (int i = 0; i < zonas.size(); i++) {
+            PlantillaZona plantilla = plantillasZonas.get(i);
+            if (plantilla.getZona() != zonas.get(i) || !plantilla.estaAlDia()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene la instalación de la que se ha construido la plantilla.
+     *
+     * @return La instalación.
+     */
+    public Instalacion getInstalacion() {
+        return instalacion;
+    }
+
+    /**
+     * Obtiene las plantillas de las zonas de la instalación, en el orden de las zonas.
+     *
+     * @return Una lista inmodificable de las plantillas de las zonas.
+     */
+    public List<PlantillaZona> getPlantillasZonas() {
+        return plantillasZonas;
+    }
+
+    /**
+     * Obtiene la plantilla de una zona de la instalación.
+     *
+     * @param zona La zona.
+     * @return La plantilla de la zona, o null si la zona no es de la instalación.
+     */
+    public PlantillaZona getPlantillaZona(Zona zona) {
+        return porZona.get(zona);
+    }
+
+    /**
+     * Crea las zonas configuradas de un acto a partir de la plantilla y las asocia al acto.
+     * <p>
+     * Se crea una zona configurada por cada zona de la instalación, salvo las de acto social, cuya configuración no
+     * tiene localidades, y en cada una una localidad configurada por localidad de la zona en orden de número.
+     * </p>
+     *
+     * @param acto   El acto al que pertenecen las zonas configuradas. No puede ser nulo.
+     * @param estado El estado inicial de las localidades configuradas. No puede ser nulo.
+     * @return Una lista inmodificable de las zonas configuradas creadas, en el orden de las zonas.
+     * @throws IllegalArgumentException si el acto o el estado son nulos.
+     */
+    public List<ZonaConfigurada> crearZonasConfiguradas(Acto acto, EstadoLocalidad estado) {
+        if (acto == null) {
+            throw new IllegalArgumentException("El acto no puede ser nulo.");
+        }
+        if (estado == null) {
+            throw new IllegalArgumentException("El estado no puede ser nulo.");
+        }
+        List<ZonaConfigurada> zonasConfiguradas = new ArrayList<>(plantillasZonas.size());
+        for (PlantillaZona plantilla : plantillasZonas) {
+            if (plantilla.getZona().getTipoDeZona() == TipoDeZona.ACTO_SOCIAL) {
+                continue;
+            }
+            List<LocalidadConfigurada> localidades = new ArrayList<>(plantilla.getNumeroLocalidades());
+            for (int i = 0; i < plantilla.getNumeroLocalidades(); i++) {
+                LocalidadConfiguradaImpl localidad = new LocalidadConfiguradaImpl();
+                localidad.setLocalidad(plantilla.getLocalidad(i));
+                localidad.setEstadoLocalidad(estado);
+                localidades.add(localidad);
+            }
+            ZonaConfiguradaImpl zonaConfigurada = new ZonaConfiguradaImpl();
+            zonaConfigurada.setZona(plantilla.getZona());
+            zonaConfigurada.setLocalidades(localidades);
+            zonaConfigurada.setActo(acto);
+            zonasConfiguradas.add(zonaConfigurada);
+        }
+        return Collections.unmodifiableList(zonasConfiguradas);
+    }
+}
\ No newline at end of file
@@ -1,37 +1,74 @@
 package es.mdef.gaip_libreria.utilidades;
 
-import com.google.ortools.Loader;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPVariable;
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.PresupuestoAgotadoException;
 import es.mdef.gaip_libreria.excepciones.SinSolucionException;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Clase responsable de organizar los asientos para invitados y anfitriones.
  */
-public class AlgoritmoOrganizacionAsientos {
+public class AlgoritmoOrganizacionAsientos implements OrganizadorAsientos {
     private final int numAnfitriones;
     private final int[] invitadosPorAnfitrion;
     private final int numInvitados;
     private final int numGrupoDeAsientos;
-    private final int[][] prioridades;
+    private final PrioridadesPorAnfitrion prioridades;
     private final int[] capacidadAsientos;
     private final int numAsientos;
+    private final int[] inicioInvitados;
+    private final int[] inicioGrupos;
+    private final PresupuestoResolucion presupuesto;
+    private final Cancelacion cancelacion = new Cancelacion();
+    private final ResultadoOrganizacion solucionInicial;
 
     /**
-     * Constructor de la clase.
+     * Constructor de la clase que utiliza el presupuesto de resolución por defecto.
      *
      * @param invitadosPorAnfitrion Número de invitados por anfitrión.
      * @param capacidadAsientos     Capacidad de asientos por grupo.
      * @param prioridades           Prioridades de asiento por anfitrión.
      */
     public AlgoritmoOrganizacionAsientos(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
-        this.prioridades = prioridades;
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto());
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     */
+    public AlgoritmoOrganizacionAsientos(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, null);
+    }
+
+    /**
+     * Constructor de la clase con una solución inicial con la que arrancar el solver.
+     * La solución se sugiere al solver para que parta de una cota superior y, si el presupuesto se agota
+     * sin que el solver encuentre ninguna solución, se devuelve como resultado factible sin cota conocida.
+     * Si el solver falla o la organización se cancela sin solución, se lanza la excepción en lugar de devolverla.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @param solucionInicial       Solución inicial completa, o {@code null} para arrancar sin ella.
+     */
+    public AlgoritmoOrganizacionAsientos(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, ResultadoOrganizacion solucionInicial) {
+        this.presupuesto = presupuesto;
+        this.solucionInicial = solucionInicial;
+        this.prioridades = new PrioridadesPorAnfitrion(prioridades);
         this.invitadosPorAnfitrion = invitadosPorAnfitrion;
         this.capacidadAsientos = capacidadAsientos;
 
@@ -39,41 +76,37 @@ public class AlgoritmoOrganizacionAsientos {
         this.numGrupoDeAsientos = capacidadAsientos.length;
         this.numInvitados = sumArray(invitadosPorAnfitrion);
         this.numAsientos = sumArray(capacidadAsientos);
+        this.inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        this.inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
     }
 
     /**
      * Organiza los asientos de acuerdo a las prioridades y restricciones dadas.
+     * Si el presupuesto de resolución se agota, devuelve la mejor solución factible encontrada.
      *
      * @return Resultado de la organización.
-     * @throws SinSolucionException Si no se encuentra una solución óptima.
+     * @throws SinSolucionException Si no se encuentra ninguna solución factible.
      */
+    @Override
     public ResultadoOrganizacion organizar() throws SinSolucionException {
-        Loader.loadNativeLibraries();
+        BibliotecasNativas.cargar();
         MPSolver solver = MPSolver.createSolver("SCIP");
 
-        int[][] prioridadesInvitados = convertirPrioridadesPorAnfitrion();
         MPVariable[][] x = inicializarVariables(solver);
 
         agregarRestricciones(solver, x);
-        definirFuncionObjetivo(solver, x, prioridadesInvitados);
+        definirFuncionObjetivo(solver, x);
+        sugerirSolucionInicial(solver, x);
 
         return resolver(solver, x);
     }
 
-    private int[][] convertirPrioridadesPorAnfitrion() {
-        int[][] prioridadesInvitados = new int[numInvitados][numAsientos];
-        int invitadoIndex = 0;
-        for (int a = 0; a < numAnfitriones; a++) {
-            for (int i = 0; i < invitadosPorAnfitrion[a]; i++) {
-                int asientoIndex = 0;
-                for (int g = 0; g < numGrupoDeAsientos; g++) {
-                    Arrays.fill(prioridadesInvitados[invitadoIndex], asientoIndex, asientoIndex + capacidadAsientos[g], prioridades[a][g]);
-                    asientoIndex += capacidadAsientos[g];
-                }
-                invitadoIndex++;
-            }
-        }
-        return prioridadesInvitados;
+    /**
+     * Interrumpe la resolución en curso. El solver conserva la mejor solución encontrada hasta ese momento.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
     }
 
     private MPVariable[][] inicializarVariables(MPSolver solver) {
@@ -107,7 +140,7 @@ public class AlgoritmoOrganizacionAsientos {
         // impedirían que todos los invitados del anfitrión se sienten juntos en un grupo de asientos.
         for (int a = 0; a < numAnfitriones; a++) {
             for (int g = 0; g < numGrupoDeAsientos; g++) {
-                int inicio = g == 0 ? 0 : Arrays.stream(capacidadAsientos).limit(g).sum();
+                int inicio = inicioGrupos[g];
                 int fin = inicio + capacidadAsientos[g] - invitadosPorAnfitrion[a] + 1;
 
                 fin = Math.max(fin, inicio);
@@ -122,7 +155,7 @@ public class AlgoritmoOrganizacionAsientos {
         // Restricción para asientos contiguos
         for (int a = 0; a < numAnfitriones; a++) {
             for (int g = 0; g < numGrupoDeAsientos; g++) {
-                int inicio = g == 0 ? 0 : Arrays.stream(capacidadAsientos).limit(g).sum();
+                int inicio = inicioGrupos[g];
                 int fin = inicio + capacidadAsientos[g] - 1;
 
                 for (int i = 0; i < invitadosPorAnfitrion[a] - 1; i++) {
@@ -139,48 +172,178 @@ public class AlgoritmoOrganizacionAsientos {
         }
     }
 
-    private void definirFuncionObjetivo(MPSolver solver, MPVariable[][] x, int[][] prioridadesInvitados) {
+    /**
+     * Define el coste de cada par invitado y asiento como la prioridad del anfitrión del invitado para el grupo
+     * del asiento, leída directamente de las prioridades por anfitrión sin expandirlas por invitado y asiento.
+     */
+    private void definirFuncionObjetivo(MPSolver solver, MPVariable[][] x) {
         MPObjective objective = solver.objective();
-        for (int i = 0; i < numInvitados; i++) {
-            for (int j = 0; j < numAsientos; j++) {
-                objective.setCoefficient(x[i][j], prioridadesInvitados[i][j]);
+        for (int a = 0; a < numAnfitriones; a++) {
+            for (int i = 0; i < invitadosPorAnfitrion[a]; i++) {
+                MPVariable[] fila = x[invitadoIndex(a, i)];
+                for (int g = 0; g < numGrupoDeAsientos; g++) {
+                    int prioridad = prioridades.prioridad(a, g);
+                    for (int j = inicioGrupos[g]; j < inicioGrupos[g] + capacidadAsientos[g]; j++) {
+                        objective.setCoefficient(fila[j], prioridad);
+                    }
+                }
             }
         }
         objective.setMinimization();
     }
 
+    private void sugerirSolucionInicial(MPSolver solver, MPVariable[][] x) {
+        if (solucionInicial == null) {
+            return;
+        }
+        MPVariable[] variables = solver.variables();
+        double[] valores = new double[variables.length];
+        int[] asientoPorInvitado = solucionInicial.asientoPorInvitado();
+        for (int i = 0; i < numInvitados; i++) {
+            if (asientoPorInvitado[i] != ResultadoOrganizacion.SIN_ASIENTO) {
+                valores[x[i][asientoPorInvitado[i]].index()] = 1;
+            }
+        }
+        solver.setHint(variables, valores);
+    }
+
+    /**
+     * Resuelve el modelo y lee la solución. Como los invitados de un anfitrión ocupan asientos consecutivos, basta con
+     * localizar el asiento del primero de ellos, deteniendo la búsqueda en cuanto se encuentra, en lugar de consultar
+     * el valor de todas las variables.
+     */
     private ResultadoOrganizacion resolver(MPSolver solver, MPVariable[][] x) throws SinSolucionException {
-        MPSolver.ResultStatus status = solver.solve();
-        Map<Integer, Integer> asignacionInvitadoAsiento = new HashMap<>();
-        if (status == MPSolver.ResultStatus.OPTIMAL) {
-            for (int i = 0; i < numInvitados; i++) {
-                for (int j = 0; j < numAsientos; j++) {
-                    if (x[i][j].solutionValue() == 1) {
-                        asignacionInvitadoAsiento.put(i, j);
-                    }
-                }
+        EstadoResolucion estado;
+        try {
+            estado = ResolutorMip.resolver(solver, presupuesto, cancelacion);
+        } catch (PresupuestoAgotadoException e) {
+            if (solucionInicial == null) {
+                throw e;
             }
-        } else {
-            throw new SinSolucionException();
+            return new ResultadoOrganizacion(solucionInicial.asientoPorInvitado(), EstadoResolucion.FACTIBLE, Double.NaN);
         }
-        return new ResultadoOrganizacion(asignacionInvitadoAsiento);
+        int[] asientoPorInvitado = new int[numInvitados];
+        for (int a = 0; a < numAnfitriones; a++) {
+            if (invitadosPorAnfitrion[a] == 0) {
+                continue;
+            }
+            MPVariable[] fila = x[inicioInvitados[a]];
+            int primerAsiento = 0;
+            while (fila[primerAsiento].solutionValue() <= 0.5) {
+                primerAsiento++;
+            }
+            for (int i = 0; i < invitadosPorAnfitrion[a]; i++) {
+                asientoPorInvitado[inicioInvitados[a] + i] = primerAsiento + i;
+            }
+        }
+        return new ResultadoOrganizacion(asientoPorInvitado, estado, ResolutorMip.calcularGap(solver));
     }
 
     private int invitadoIndex(int anfitrion, int invitado) {
-        return sumArray(invitadosPorAnfitrion, anfitrion) + invitado;
+        return inicioInvitados[anfitrion] + invitado;
     }
 
-    private int sumArray(int[] array) {
+    private static int sumArray(int[] array) {
         return Arrays.stream(array).sum();
     }
 
-    private int sumArray(int[] array, int toIndex) {
-        return Arrays.stream(array, 0, toIndex).sum();
-    }
-
     /**
      * Clase que representa el resultado de la organización.
+     * <p>
+     * La asignación se guarda como un array indexado por invitado con el índice de su asiento, o
+     * {@link #SIN_ASIENTO} si el invitado no tiene asiento asignado, de modo que no se crea ningún objeto por invitado.
+     * </p>
+     *
+     * @param asientoPorInvitado Índice de asiento asignado a cada índice de invitado.
+     * @param estado             Indica si la solución es óptima o solo factible.
+     * @param gap                Gap relativo alcanzado entre la solución y la mejor cota conocida,
+     *                           o {@link Double#NaN} si no se conoce ninguna cota.
      */
-    public record ResultadoOrganizacion(Map<Integer, Integer> asignacionInvitadoAsiento) {
+    public record ResultadoOrganizacion(int[] asientoPorInvitado, EstadoResolucion estado, double gap) {
+
+        /**
+         * Valor que indica que un invitado no tiene asiento asignado.
+         */
+        public static final int SIN_ASIENTO = -1;
+
+        /**
+         * Crea un resultado a partir de la asignación indicada como mapa de índice de invitado a índice de asiento.
+         *
+         * @param asignacionInvitadoAsiento Asignación de índice de invitado a índice de asiento.
+         * @param estado                    Indica si la solución es óptima o solo factible.
+         * @param gap                       Gap relativo alcanzado entre la solución y la mejor cota conocida.
+         */
+        public ResultadoOrganizacion(Map<Integer, Integer> asignacionInvitadoAsiento, EstadoResolucion estado, double gap) {
+            this(aArray(asignacionInvitadoAsiento), estado, gap);
+        }
+
+        /**
+         * Crea un resultado óptimo a partir de la asignación indicada.
+         *
+         * @param asignacionInvitadoAsiento Asignación de índice de invitado a índice de asiento.
+         */
+        public ResultadoOrganizacion(Map<Integer, Integer> asignacionInvitadoAsiento) {
+            this(asignacionInvitadoAsiento, EstadoResolucion.OPTIMA, 0);
+        }
+
+        private static int[] aArray(Map<Integer, Integer> asignacionInvitadoAsiento) {
+            int numInvitados = asignacionInvitadoAsiento.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            int[] asientoPorInvitado = new int[numInvitados];
+            Arrays.fill(asientoPorInvitado, SIN_ASIENTO);
+            asignacionInvitadoAsiento.forEach((invitado, asiento) -> asientoPorInvitado[invitado] = asiento);
+            return asientoPorInvitado;
+        }
+
+        /**
+         * Devuelve el asiento asignado al invitado indicado.
+         *
+         * @param invitado Índice del invitado.
+         * @return El índice de su asiento, o {@link #SIN_ASIENTO} si no tiene asiento asignado.
+         */
+        public int asientoDe(int invitado) {
+            return invitado < asientoPorInvitado.length ? asientoPorInvitado[invitado] : SIN_ASIENTO;
+        }
+
+        /**
+         * Devuelve la asignación como mapa de índice de invitado a índice de asiento, sin los invitados sin asiento.
+         * El mapa se construye en cada llamada.
+         *
+         * @return Asignación de índice de invitado a índice de asiento.
+         */
+        public Map<Integer, Integer> asignacionInvitadoAsiento() {
+            Map<Integer, Integer> asignacionInvitadoAsiento = new HashMap<>();
+            for (int invitado = 0; invitado < asientoPorInvitado.length; invitado++) {
+                if (asientoPorInvitado[invitado] != SIN_ASIENTO) {
+                    asignacionInvitadoAsiento.put(invitado, asientoPorInvitado[invitado]);
+                }
+            }
+            return asignacionInvitadoAsiento;
+        }
+
+        /**
+         * Indica si se ha demostrado que la solución es óptima.
+         *
+         * @return true si la solución es óptima, false si solo es factible.
+         */
+        public boolean esOptima() {
+            return estado == EstadoResolucion.OPTIMA;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ResultadoOrganizacion otro && Arrays.equals(asientoPorInvitado, otro.asientoPorInvitado)
+                    && estado == otro.estado && Double.compare(gap, otro.gap) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(asientoPorInvitado) + Objects.hashCode(estado)) + Double.hashCode(gap);
+        }
+
+        @Override
+        public String toString() {
+            return "ResultadoOrganizacion[asientoPorInvitado=" + Arrays.toString(asientoPorInvitado)
+                    + ", estado=" + estado + ", gap=" + gap + "]";
+        }
     }
 }
\ No newline at end of file
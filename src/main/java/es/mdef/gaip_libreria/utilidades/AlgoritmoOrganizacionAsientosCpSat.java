@@ -0,0 +1,260 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.IntervalVar;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+import com.google.ortools.sat.Literal;
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.PresupuestoAgotadoException;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Organiza los asientos de los invitados con el solver CP-SAT de OR-Tools, modelando el problema como un
+ * problema de planificación.
+ * <p>
+ * Cada grupo de asientos es una línea de longitud igual a su capacidad y los invitados de cada anfitrión forman
+ * un intervalo de longitud fija que debe colocarse en uno de los grupos. Para cada anfitrión y grupo en el que cabe
+ * se crea un intervalo opcional, cuya presencia indica que el anfitrión se sienta en ese grupo, y en cada grupo los
+ * intervalos presentes no pueden solaparse. Se añade además, como restricción redundante, que la suma de invitados
+ * de un grupo no supere su capacidad, lo que refuerza la propagación.
+ * </p>
+ * <p>
+ * CP-SAT ejecuta en paralelo una cartera de estrategias de búsqueda, una por trabajador; se utiliza un trabajador
+ * por cada procesador disponible.
+ * </p>
+ */
+public class AlgoritmoOrganizacionAsientosCpSat implements OrganizadorAsientos {
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+    private final int numGrupoDeAsientos;
+    private final int[] inicioInvitados;
+    private final int[] inicioGrupos;
+    private final PresupuestoResolucion presupuesto;
+    private final Cancelacion cancelacion = new Cancelacion();
+    private final AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial;
+
+    /**
+     * Constructor de la clase que utiliza el presupuesto de resolución por defecto.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     */
+    public AlgoritmoOrganizacionAsientosCpSat(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto(), null);
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución. El límite de nodos se aplica como límite de conflictos.
+     * @param solucionInicial       Solución inicial completa que se sugiere al solver, o {@code null} para arrancar sin ella.
+     *                              Si el presupuesto se agota sin que el solver encuentre ninguna solución, se devuelve
+     *                              como resultado factible sin cota conocida.
+     */
+    public AlgoritmoOrganizacionAsientosCpSat(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial) {
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+        this.numGrupoDeAsientos = capacidadAsientos.length;
+        this.inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        this.inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
+        this.presupuesto = presupuesto;
+        this.solucionInicial = solucionInicial;
+    }
+
+    /**
+     * Organiza los asientos de acuerdo a las prioridades y restricciones dadas.
+     * Si el presupuesto de resolución se agota, devuelve la mejor solución factible encontrada.
+     *
+     * @return Resultado de la organización.
+     * @throws SinSolucionException Si no se encuentra ninguna solución factible.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        BibliotecasNativas.cargar();
+        CpModel modelo = new CpModel();
+
+        BoolVar[][] presente = new BoolVar[invitadosPorAnfitrion.length][numGrupoDeAsientos];
+        IntVar[][] inicio = new IntVar[invitadosPorAnfitrion.length][numGrupoDeAsientos];
+        inicializarVariables(modelo, presente, inicio);
+
+        agregarRestricciones(modelo, presente, inicio);
+        definirFuncionObjetivo(modelo, presente);
+        sugerirSolucionInicial(modelo, presente, inicio);
+
+        return resolver(modelo, presente, inicio);
+    }
+
+    /**
+     * Detiene la búsqueda en curso. CP-SAT conserva la mejor solución encontrada hasta ese momento.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
+    }
+
+    private void inicializarVariables(CpModel modelo, BoolVar[][] presente, IntVar[][] inicio) {
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            int tamano = invitadosPorAnfitrion[a];
+            if (tamano == 0) {
+                continue;
+            }
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                if (tamano <= capacidadAsientos[g]) {
+                    presente[a][g] = modelo.newBoolVar("p_" + a + "_" + g);
+                    inicio[a][g] = modelo.newIntVar(0, capacidadAsientos[g] - tamano, "s_" + a + "_" + g);
+                }
+            }
+        }
+    }
+
+    private void agregarRestricciones(CpModel modelo, BoolVar[][] presente, IntVar[][] inicio) {
+        // Cada anfitrión con invitados DEBE sentarse en exactamente un grupo
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            if (invitadosPorAnfitrion[a] == 0) {
+                continue;
+            }
+            List<Literal> grupos = new ArrayList<>();
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                if (presente[a][g] != null) {
+                    grupos.add(presente[a][g]);
+                }
+            }
+            modelo.addExactlyOne(grupos);
+        }
+
+        // Los invitados de distintos anfitriones no pueden solaparse dentro de un grupo
+        for (int g = 0; g < numGrupoDeAsientos; g++) {
+            List<IntervalVar> intervalos = new ArrayList<>();
+            LinearExprBuilder ocupacion = LinearExpr.newBuilder();
+            for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+                if (presente[a][g] != null) {
+                    intervalos.add(modelo.newOptionalFixedSizeIntervalVar(inicio[a][g], invitadosPorAnfitrion[a], presente[a][g], "i_" + a + "_" + g));
+                    ocupacion.addTerm(presente[a][g], invitadosPorAnfitrion[a]);
+                }
+            }
+            modelo.addNoOverlap(intervalos);
+            modelo.addLessOrEqual(ocupacion, capacidadAsientos[g]);
+        }
+    }
+
+    private void definirFuncionObjetivo(CpModel modelo, BoolVar[][] presente) {
+        LinearExprBuilder objetivo = LinearExpr.newBuilder();
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                if (presente[a][g] != null) {
+                    objetivo.addTerm(presente[a][g], (long) invitadosPorAnfitrion[a] * prioridades[a][g]);
+                }
+            }
+        }
+        modelo.minimize(objetivo);
+    }
+
+    private void sugerirSolucionInicial(CpModel modelo, BoolVar[][] presente, IntVar[][] inicio) {
+        if (solucionInicial == null) {
+            return;
+        }
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            if (invitadosPorAnfitrion[a] == 0) {
+                continue;
+            }
+            int asiento = solucionInicial.asientoDe(inicioInvitados[a]);
+            int grupo = grupoDeAsiento(asiento);
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                if (presente[a][g] != null) {
+                    modelo.addHint(presente[a][g], g == grupo ? 1 : 0);
+                }
+            }
+            modelo.addHint(inicio[a][grupo], asiento - inicioGrupos[grupo]);
+        }
+    }
+
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resolver(CpModel modelo, BoolVar[][] presente, IntVar[][] inicio) throws SinSolucionException {
+        CpSolver solver = new CpSolver();
+        solver.getParameters()
+                .setNumWorkers(Runtime.getRuntime().availableProcessors())
+                .setMaxTimeInSeconds(presupuesto.tiempoMaximo().toMillis() / 1000.0)
+                .setRelativeGapLimit(presupuesto.gapRelativo());
+        if (presupuesto.tieneLimiteNodos()) {
+            solver.getParameters().setMaxNumberOfConflicts(presupuesto.limiteNodos());
+        }
+
+        CpSolverStatus status = cancelacion.mientras(solver::stopSearch, () -> {
+            if (cancelacion.solicitada()) {
+                throw new SinSolucionException("La organización de asientos se ha cancelado sin ninguna solución");
+            }
+            return solver.solve(modelo);
+        });
+        EstadoResolucion estado;
+        switch (status) {
+            case OPTIMAL -> estado = cancelacion.solicitada() ? EstadoResolucion.FACTIBLE : EstadoResolucion.OPTIMA;
+            case FEASIBLE -> estado = EstadoResolucion.FACTIBLE;
+            case UNKNOWN -> {
+                return solucionSinResolver();
+            }
+            case MODEL_INVALID -> throw new SinSolucionException("El modelo de CP-SAT no es válido: " + modelo.validate()
+                    + " (" + solver.getSolutionInfo() + ")");
+            default -> throw new SinSolucionException("El solver ha terminado sin solución con el estado " + status
+                    + " (" + solver.getSolutionInfo() + ")");
+        }
+
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                if (presente[a][g] != null && solver.booleanValue(presente[a][g])) {
+                    int primerAsiento = inicioGrupos[g] + (int) solver.value(inicio[a][g]);
+                    for (int i = 0; i < invitadosPorAnfitrion[a]; i++) {
+                        asientoPorInvitado[inicioInvitados[a] + i] = primerAsiento + i;
+                    }
+                    break;
+                }
+            }
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asientoPorInvitado, estado, calcularGap(solver));
+    }
+
+    /**
+     * Resultado cuando el solver termina sin encontrar ninguna solución ni demostrar que no la hay: si se ha cancelado
+     * se lanza la excepción, y si se ha agotado el presupuesto se devuelve la solución inicial como factible sin cota
+     * conocida, o se lanza la excepción si no hay solución inicial.
+     */
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionSinResolver() throws SinSolucionException {
+        if (cancelacion.solicitada()) {
+            throw new SinSolucionException("La organización de asientos se ha cancelado sin ninguna solución");
+        }
+        if (solucionInicial == null) {
+            throw new PresupuestoAgotadoException();
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(solucionInicial.asientoPorInvitado(), EstadoResolucion.FACTIBLE, Double.NaN);
+    }
+
+    private static double calcularGap(CpSolver solver) {
+        double valor = solver.objectiveValue();
+        if (valor == 0) {
+            return 0;
+        }
+        return Math.abs(valor - solver.bestObjectiveBound()) / Math.abs(valor);
+    }
+
+    private int grupoDeAsiento(int asiento) {
+        int grupo = numGrupoDeAsientos - 1;
+        while (inicioGrupos[grupo] > asiento) {
+            grupo--;
+        }
+        return grupo;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import com.google.ortools.linearsolver.MPConstraint;
+import com.google.ortools.linearsolver.MPObjective;
+import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPVariable;
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.PresupuestoAgotadoException;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.util.*;
+
+/**
+ * Organiza los asientos de los invitados mediante una formulación por bloques.
+ * <p>
+ * En lugar de una variable por cada par invitado y asiento, el modelo utiliza una variable por anfitrión,
+ * grupo de asientos y posición de inicio del bloque. Cada variable representa a todos los invitados de un
+ * anfitrión sentados de forma consecutiva a partir de esa posición, por lo que la contigüidad se obtiene de la
+ * propia formulación y no necesita restricciones adicionales.
+ * </p>
+ * <p>
+ * Los anfitriones con el mismo número de invitados y las mismas prioridades son intercambiables, por lo que
+ * se agrupan en clases que comparten variables. Así se eliminan las soluciones simétricas y el tamaño del modelo
+ * depende del número de clases distintas y no del número de anfitriones.
+ * </p>
+ */
+public class AlgoritmoOrganizacionAsientosPorBloques implements OrganizadorAsientos {
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+    private final PrioridadesPorAnfitrion filasDePrioridades;
+    private final int numGrupoDeAsientos;
+    private final int[] inicioInvitados;
+    private final int[] inicioGrupos;
+    private final PresupuestoResolucion presupuesto;
+    private final Cancelacion cancelacion = new Cancelacion();
+    private final AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial;
+
+    /**
+     * Constructor de la clase que utiliza el presupuesto de resolución por defecto.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     */
+    public AlgoritmoOrganizacionAsientosPorBloques(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto());
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     */
+    public AlgoritmoOrganizacionAsientosPorBloques(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, null);
+    }
+
+    /**
+     * Constructor de la clase con una solución inicial con la que arrancar el solver.
+     * La solución se sugiere al solver para que parta de una cota superior y, si el presupuesto se agota
+     * sin que el solver encuentre ninguna solución, se devuelve como resultado factible sin cota conocida.
+     * Si el solver falla o la organización se cancela sin solución, se lanza la excepción en lugar de devolverla.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @param solucionInicial       Solución inicial completa, o {@code null} para arrancar sin ella.
+     */
+    public AlgoritmoOrganizacionAsientosPorBloques(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial) {
+        this.presupuesto = presupuesto;
+        this.solucionInicial = solucionInicial;
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+        this.filasDePrioridades = new PrioridadesPorAnfitrion(prioridades);
+        this.numGrupoDeAsientos = capacidadAsientos.length;
+        this.inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        this.inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
+    }
+
+    /**
+     * Organiza los asientos de acuerdo a las prioridades y restricciones dadas.
+     * Si el presupuesto de resolución se agota, devuelve la mejor solución factible encontrada.
+     *
+     * @return Resultado de la organización.
+     * @throws SinSolucionException Si no se encuentra ninguna solución factible.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        BibliotecasNativas.cargar();
+        MPSolver solver = MPSolver.createSolver("SCIP");
+
+        List<int[]> clases = agruparAnfitrionesEnClases();
+        MPVariable[][][] y = inicializarVariables(solver, clases);
+
+        agregarRestricciones(solver, y, clases);
+        definirFuncionObjetivo(solver, y, clases);
+        sugerirSolucionInicial(solver, y, clases);
+
+        return resolver(solver, y, clases);
+    }
+
+    /**
+     * Interrumpe la resolución en curso. El solver conserva la mejor solución encontrada hasta ese momento.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
+    }
+
+    /**
+     * Agrupa los anfitriones con invitados en clases de anfitriones intercambiables, es decir,
+     * con el mismo número de invitados y las mismas prioridades para todos los grupos de asientos.
+     *
+     * @return Lista de clases, cada una con los índices de sus anfitriones.
+     */
+    private List<int[]> agruparAnfitrionesEnClases() {
+        Integer[] anfitriones = new Integer[invitadosPorAnfitrion.length];
+        for (int a = 0; a < anfitriones.length; a++) {
+            anfitriones[a] = a;
+        }
+        Comparator<Integer> porTamanoYPrioridades = Comparator
+                .comparingInt((Integer a) -> invitadosPorAnfitrion[a])
+                .thenComparingInt(filasDePrioridades::fila)
+                .thenComparingInt(a -> a);
+        Arrays.sort(anfitriones, porTamanoYPrioridades);
+
+        List<int[]> clases = new ArrayList<>();
+        int inicio = 0;
+        while (inicio < anfitriones.length) {
+            int fin = inicio + 1;
+            while (fin < anfitriones.length && sonIntercambiables(anfitriones[inicio], anfitriones[fin])) {
+                fin++;
+            }
+            if (invitadosPorAnfitrion[anfitriones[inicio]] > 0) {
+                int[] clase = new int[fin - inicio];
+                for (int i = inicio; i < fin; i++) {
+                    clase[i - inicio] = anfitriones[i];
+                }
+                clases.add(clase);
+            }
+            inicio = fin;
+        }
+        return clases;
+    }
+
+    private boolean sonIntercambiables(int anfitrion1, int anfitrion2) {
+        return invitadosPorAnfitrion[anfitrion1] == invitadosPorAnfitrion[anfitrion2]
+                && filasDePrioridades.fila(anfitrion1) == filasDePrioridades.fila(anfitrion2);
+    }
+
+    private MPVariable[][][] inicializarVariables(MPSolver solver, List<int[]> clases) {
+        MPVariable[][][] y = new MPVariable[clases.size()][numGrupoDeAsientos][];
+        for (int c = 0; c < clases.size(); c++) {
+            int tamano = tamanoClase(clases.get(c));
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                int inicios = Math.max(capacidadAsientos[g] - tamano + 1, 0);
+                y[c][g] = new MPVariable[inicios];
+                for (int s = 0; s < inicios; s++) {
+                    y[c][g][s] = solver.makeBoolVar("y_" + c + "_" + g + "_" + s);
+                }
+            }
+        }
+        return y;
+    }
+
+    private void agregarRestricciones(MPSolver solver, MPVariable[][][] y, List<int[]> clases) {
+        // Cada anfitrión de una clase DEBE ocupar exactamente un bloque
+        for (int c = 0; c < clases.size(); c++) {
+            int numAnfitriones = clases.get(c).length;
+            MPConstraint constraint = solver.makeConstraint(numAnfitriones, numAnfitriones, "");
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                for (MPVariable variable : y[c][g]) {
+                    constraint.setCoefficient(variable, 1);
+                }
+            }
+        }
+
+        // Cada asiento solo puede estar cubierto por un bloque
+        for (int g = 0; g < numGrupoDeAsientos; g++) {
+            for (int j = 0; j < capacidadAsientos[g]; j++) {
+                MPConstraint constraint = solver.makeConstraint(0, 1, "");
+                for (int c = 0; c < clases.size(); c++) {
+                    int tamano = tamanoClase(clases.get(c));
+                    int primerInicio = Math.max(0, j - tamano + 1);
+                    int ultimoInicio = Math.min(j, y[c][g].length - 1);
+                    for (int s = primerInicio; s <= ultimoInicio; s++) {
+                        constraint.setCoefficient(y[c][g][s], 1);
+                    }
+                }
+            }
+        }
+    }
+
+    private void definirFuncionObjetivo(MPSolver solver, MPVariable[][][] y, List<int[]> clases) {
+        MPObjective objective = solver.objective();
+        for (int c = 0; c < clases.size(); c++) {
+            int[] clase = clases.get(c);
+            int tamano = tamanoClase(clase);
+            for (int g = 0; g < numGrupoDeAsientos; g++) {
+                double coste = (double) tamano * prioridades[clase[0]][g];
+                for (MPVariable variable : y[c][g]) {
+                    objective.setCoefficient(variable, coste);
+                }
+            }
+        }
+        objective.setMinimization();
+    }
+
+    /**
+     * Traduce la solución inicial a la formulación por bloques: cada anfitrión activa la variable de su clase
+     * correspondiente al grupo y la posición en la que se sienta su primer invitado.
+     */
+    private void sugerirSolucionInicial(MPSolver solver, MPVariable[][][] y, List<int[]> clases) {
+        if (solucionInicial == null) {
+            return;
+        }
+        int[] grupoDeAsiento = new int[Arrays.stream(capacidadAsientos).sum()];
+        for (int g = 0; g < numGrupoDeAsientos; g++) {
+            Arrays.fill(grupoDeAsiento, inicioGrupos[g], inicioGrupos[g] + capacidadAsientos[g], g);
+        }
+
+        MPVariable[] variables = solver.variables();
+        double[] valores = new double[variables.length];
+        for (int c = 0; c < clases.size(); c++) {
+            for (int anfitrion : clases.get(c)) {
+                int asiento = solucionInicial.asientoDe(inicioInvitados[anfitrion]);
+                int grupo = grupoDeAsiento[asiento];
+                valores[y[c][grupo][asiento - inicioGrupos[grupo]].index()] = 1;
+            }
+        }
+        solver.setHint(variables, valores);
+    }
+
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resolver(MPSolver solver, MPVariable[][][] y, List<int[]> clases) throws SinSolucionException {
+        EstadoResolucion estado;
+        try {
+            estado = ResolutorMip.resolver(solver, presupuesto, cancelacion);
+        } catch (PresupuestoAgotadoException e) {
+            if (solucionInicial == null) {
+                throw e;
+            }
+            return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(solucionInicial.asientoPorInvitado(), EstadoResolucion.FACTIBLE, Double.NaN);
+        }
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        for (int c = 0; c < clases.size(); c++) {
+            int[] clase = clases.get(c);
+            int tamano = tamanoClase(clase);
+            int siguienteAnfitrion = 0;
+            for (int g = 0; g < numGrupoDeAsientos && siguienteAnfitrion < clase.length; g++) {
+                for (int s = 0; s < y[c][g].length && siguienteAnfitrion < clase.length; s++) {
+                    if (y[c][g][s].solutionValue() > 0.5) {
+                        int anfitrion = clase[siguienteAnfitrion++];
+                        for (int i = 0; i < tamano; i++) {
+                            asientoPorInvitado[inicioInvitados[anfitrion] + i] = inicioGrupos[g] + s + i;
+                        }
+                    }
+                }
+            }
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asientoPorInvitado, estado, ResolutorMip.calcularGap(solver));
+    }
+
+    private int tamanoClase(int[] clase) {
+        return invitadosPorAnfitrion[clase[0]];
+    }
+}
\ No newline at end of file
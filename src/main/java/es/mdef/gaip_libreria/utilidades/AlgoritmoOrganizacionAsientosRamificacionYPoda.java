@@ -0,0 +1,589 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Organiza los asientos de los invitados mediante ramificación y poda escrita en Java, sin necesidad de las
+ * bibliotecas nativas de OR-Tools.
+ * <p>
+ * Como los invitados de un anfitrión deben sentarse juntos y cada grupo de asientos es un tramo consecutivo,
+ * basta con decidir en qué grupo se sienta cada anfitrión: cualquier conjunto de anfitriones cuya suma de
+ * invitados no supere la capacidad del grupo puede sentarse en él uno detrás de otro. La búsqueda asigna los
+ * anfitriones de mayor a menor número de invitados y poda cualquier rama cuya cota inferior no mejore la mejor
+ * solución conocida. La cota es la mayor entre la de sentar cada anfitrión restante en su grupo más barato con hueco
+ * suficiente y la de un problema de transporte que reparte los invitados restantes de cada unidad entre las zonas
+ * según la holgura que les queda. La primera solución conocida es la solución inicial recibida o, en su defecto,
+ * la de {@link HeuristicaOrganizacionAsientos}.
+ * </p>
+ * <p>
+ * Para no explorar soluciones simétricas, los anfitriones intercambiables (mismo número de invitados y mismas
+ * prioridades) se asignan a grupos de índice no decreciente y, entre grupos todavía vacíos con la misma capacidad
+ * y las mismas prioridades, solo se prueba el de menor índice. Además se memorizan los nodos ya explorados por su
+ * holgura en cada grupo, de modo que dos ramas que dejan los grupos en el mismo estado solo se exploran una vez.
+ * </p>
+ */
+public class AlgoritmoOrganizacionAsientosRamificacionYPoda implements OrganizadorAsientos {
+    private static final int TAMANO_MAXIMO_TRANSPORTE = 400;
+    private static final int HOLGURAS_MAXIMAS_MEMORIZADAS = 8_000_000;
+
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+    private final PresupuestoResolucion presupuesto;
+    private final Cancelacion cancelacion = new Cancelacion();
+    private final AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial;
+
+    /**
+     * Constructor de la clase que utiliza el presupuesto de resolución por defecto.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     */
+    public AlgoritmoOrganizacionAsientosRamificacionYPoda(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto(), null);
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @param solucionInicial       Solución inicial completa que se toma como primera cota superior, o {@code null}
+     *                              para partir de la solución de {@link HeuristicaOrganizacionAsientos}.
+     */
+    public AlgoritmoOrganizacionAsientosRamificacionYPoda(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial) {
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+        this.presupuesto = presupuesto;
+        this.solucionInicial = solucionInicial;
+    }
+
+    /**
+     * Organiza los asientos de acuerdo a las prioridades y restricciones dadas.
+     * Si el presupuesto de resolución se agota, devuelve la mejor solución factible encontrada.
+     *
+     * @return Resultado de la organización.
+     * @throws SinSolucionException Si no se encuentra ninguna solución factible.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        Busqueda busqueda = new Busqueda();
+        busqueda.explorar(0, 0);
+
+        if (busqueda.mejorAsignacion == null) {
+            throw new SinSolucionException();
+        }
+        EstadoResolucion estado = busqueda.agotado ? EstadoResolucion.FACTIBLE : EstadoResolucion.OPTIMA;
+        double gap = busqueda.agotado ? calcularGap(busqueda.mejorCoste, busqueda.cotaRaiz) : 0;
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(construirAsignacion(busqueda), estado, gap);
+    }
+
+    /**
+     * Detiene la búsqueda en el siguiente nodo. Se devuelve la mejor asignación encontrada hasta ese momento.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
+    }
+
+    private static double calcularGap(long coste, long cota) {
+        return coste == 0 ? 0 : (double) (coste - cota) / Math.abs(coste);
+    }
+
+    private int[] construirAsignacion(Busqueda busqueda) {
+        int[] inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        int[] inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
+        int[] ocupados = new int[capacidadAsientos.length];
+
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        for (int p = 0; p < busqueda.orden.length; p++) {
+            int anfitrion = busqueda.orden[p];
+            int grupo = busqueda.mejorAsignacion[p];
+            for (int i = 0; i < invitadosPorAnfitrion[anfitrion]; i++) {
+                asientoPorInvitado[inicioInvitados[anfitrion] + i] = inicioGrupos[grupo] + ocupados[grupo] + i;
+            }
+            ocupados[grupo] += invitadosPorAnfitrion[anfitrion];
+        }
+        return asientoPorInvitado;
+    }
+
+    /**
+     * Estado de una ejecución de la búsqueda. Las posiciones se refieren al orden de ramificación de los
+     * anfitriones con invitados, no a su índice original.
+     */
+    private class Busqueda {
+        private final int[] orden;
+        private final long[][] costes;
+        private final int[][] gruposPorCoste;
+        private final boolean[] mismaClaseQueAnterior;
+        private final int[] claseDeGrupo;
+        private final int[] holgura;
+        private final int[] filaDePosicion;
+        private final int[] zonaDeGrupo;
+        private final long[][] costeFilaZona;
+        private final int[] demandaFila;
+        private final int[] holguraZona;
+        private final int[] asignacion;
+        private final boolean[][] claseProbada;
+        private final Map<EstadoBusqueda, Long> estadosVisitados = new HashMap<>();
+        private final int estadosMaximos = HOLGURAS_MAXIMAS_MEMORIZADAS / (capacidadAsientos.length + 1);
+        private final long limiteTiempo;
+        private final long cotaRaiz;
+        private int[] mejorAsignacion;
+        private long mejorCoste = Long.MAX_VALUE;
+        private long nodos;
+        private boolean agotado;
+
+        private Busqueda() {
+            this.orden = ordenarAnfitriones();
+            this.costes = new long[orden.length][];
+            this.gruposPorCoste = new int[orden.length][];
+            this.mismaClaseQueAnterior = new boolean[orden.length];
+            for (int p = 0; p < orden.length; p++) {
+                int anfitrion = orden[p];
+                costes[p] = new long[capacidadAsientos.length];
+                for (int g = 0; g < capacidadAsientos.length; g++) {
+                    costes[p][g] = (long) invitadosPorAnfitrion[anfitrion] * prioridades[anfitrion][g];
+                }
+                long[] costesAnfitrion = costes[p];
+                gruposPorCoste[p] = ordenarIndices(capacidadAsientos.length,
+                        Comparator.comparingLong((Integer g) -> costesAnfitrion[g]).thenComparingInt(g -> g));
+                mismaClaseQueAnterior[p] = p > 0 && sonIntercambiables(orden[p - 1], anfitrion);
+            }
+            this.claseDeGrupo = agruparGruposEquivalentes();
+            this.holgura = capacidadAsientos.clone();
+            this.filaDePosicion = clasificarPosicionesPorPrioridades();
+            this.zonaDeGrupo = clasificarGruposPorPrioridades();
+            int numFilas = Arrays.stream(filaDePosicion).max().orElse(-1) + 1;
+            int numZonas = Arrays.stream(zonaDeGrupo).max().orElse(-1) + 1;
+            this.costeFilaZona = new long[numFilas][numZonas];
+            this.demandaFila = new int[numFilas];
+            this.holguraZona = new int[numZonas];
+            for (int p = 0; p < orden.length; p++) {
+                demandaFila[filaDePosicion[p]] += invitadosPorAnfitrion[orden[p]];
+                for (int g = 0; g < capacidadAsientos.length; g++) {
+                    costeFilaZona[filaDePosicion[p]][zonaDeGrupo[g]] = prioridades[orden[p]][g];
+                }
+            }
+            for (int g = 0; g < capacidadAsientos.length; g++) {
+                holguraZona[zonaDeGrupo[g]] += capacidadAsientos[g];
+            }
+            this.asignacion = new int[orden.length];
+            this.claseProbada = new boolean[orden.length][capacidadAsientos.length];
+            this.limiteTiempo = System.nanoTime() + presupuesto.tiempoMaximo().toNanos();
+            this.cotaRaiz = calcularCota(0);
+            tomarSolucionInicial();
+        }
+
+        private int[] ordenarAnfitriones() {
+            Comparator<Integer> porTamanoYPrioridades = Comparator
+                    .comparingInt((Integer a) -> -invitadosPorAnfitrion[a])
+                    .thenComparing((a1, a2) -> Arrays.compare(prioridades[a1], prioridades[a2]))
+                    .thenComparingInt(a -> a);
+            return Arrays.stream(ordenarIndices(invitadosPorAnfitrion.length, porTamanoYPrioridades))
+                    .filter(a -> invitadosPorAnfitrion[a] > 0)
+                    .toArray();
+        }
+
+        private boolean sonIntercambiables(int anfitrion1, int anfitrion2) {
+            return invitadosPorAnfitrion[anfitrion1] == invitadosPorAnfitrion[anfitrion2]
+                    && Arrays.equals(prioridades[anfitrion1], prioridades[anfitrion2]);
+        }
+
+        /**
+         * Asigna a cada grupo el índice del primer grupo con la misma capacidad y las mismas prioridades
+         * para todos los anfitriones.
+         */
+        private int[] agruparGruposEquivalentes() {
+            int[] clases = new int[capacidadAsientos.length];
+            for (int g = 0; g < capacidadAsientos.length; g++) {
+                clases[g] = g;
+                for (int h = 0; h < g; h++) {
+                    if (clases[h] == h && sonGruposEquivalentes(g, h)) {
+                        clases[g] = h;
+                        break;
+                    }
+                }
+            }
+            return clases;
+        }
+
+        private boolean sonGruposEquivalentes(int grupo1, int grupo2) {
+            if (capacidadAsientos[grupo1] != capacidadAsientos[grupo2]) {
+                return false;
+            }
+            for (int[] prioridadesAnfitrion : prioridades) {
+                if (prioridadesAnfitrion[grupo1] != prioridadesAnfitrion[grupo2]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void tomarSolucionInicial() {
+            AlgoritmoOrganizacionAsientos.ResultadoOrganizacion inicial = solucionInicial != null
+                    ? solucionInicial
+                    : HeuristicaOrganizacionAsientos.calcularSolucionInicial(invitadosPorAnfitrion, capacidadAsientos, prioridades);
+            if (inicial == null) {
+                return;
+            }
+            int[] grupoDeAsiento = new int[Arrays.stream(capacidadAsientos).sum()];
+            int inicio = 0;
+            for (int g = 0; g < capacidadAsientos.length; g++) {
+                Arrays.fill(grupoDeAsiento, inicio, inicio + capacidadAsientos[g], g);
+                inicio += capacidadAsientos[g];
+            }
+            int[] inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+
+            int[] grupos = new int[orden.length];
+            long coste = 0;
+            for (int p = 0; p < orden.length; p++) {
+                grupos[p] = grupoDeAsiento[inicial.asientoDe(inicioInvitados[orden[p]])];
+                coste += costes[p][grupos[p]];
+            }
+            mejorAsignacion = grupos;
+            mejorCoste = coste;
+        }
+
+        /**
+         * Explora las asignaciones del anfitrión de la posición indicada. Antes de descender se calcula la cota de
+         * cada grupo candidato y los candidatos se visitan de menor a mayor cota, de modo que la primera inmersión
+         * sigue la relajación y las soluciones buenas aparecen pronto.
+         */
+        private void explorar(int posicion, long coste) {
+            if (agotado || haAgotadoPresupuesto()) {
+                return;
+            }
+            if (posicion == orden.length) {
+                if (coste < mejorCoste) {
+                    mejorCoste = coste;
+                    mejorAsignacion = asignacion.clone();
+                }
+                return;
+            }
+
+            int tamano = invitadosPorAnfitrion[orden[posicion]];
+            int grupoMinimo = mismaClaseQueAnterior[posicion] ? asignacion[posicion - 1] : 0;
+            if (yaVisitado(posicion, grupoMinimo, coste)) {
+                return;
+            }
+            int[] candidatos = new int[capacidadAsientos.length];
+            long[] cotas = new long[capacidadAsientos.length];
+            int numCandidatos = 0;
+            for (int g : gruposPorCoste[posicion]) {
+                if (g < grupoMinimo || holgura[g] < tamano) {
+                    continue;
+                }
+                if (holgura[g] == capacidadAsientos[g]) {
+                    // Entre grupos vacíos equivalentes basta con probar el primero
+                    if (claseProbada[posicion][claseDeGrupo[g]]) {
+                        continue;
+                    }
+                    claseProbada[posicion][claseDeGrupo[g]] = true;
+                }
+                ocupar(posicion, g, tamano);
+                long cota = calcularCota(posicion + 1);
+                ocupar(posicion, g, -tamano);
+                if (cota != Long.MAX_VALUE && mejoraLaSolucion(coste + costes[posicion][g] + cota)) {
+                    int i = numCandidatos++;
+                    while (i > 0 && cotas[i - 1] > costes[posicion][g] + cota) {
+                        candidatos[i] = candidatos[i - 1];
+                        cotas[i] = cotas[i - 1];
+                        i--;
+                    }
+                    candidatos[i] = g;
+                    cotas[i] = costes[posicion][g] + cota;
+                }
+            }
+            Arrays.fill(claseProbada[posicion], false);
+
+            for (int i = 0; i < numCandidatos && !agotado; i++) {
+                if (!mejoraLaSolucion(coste + cotas[i])) {
+                    break;
+                }
+                int g = candidatos[i];
+                ocupar(posicion, g, tamano);
+                asignacion[posicion] = g;
+                explorar(posicion + 1, coste + costes[posicion][g]);
+                ocupar(posicion, g, -tamano);
+            }
+        }
+
+        /**
+         * Comprueba si ya se ha explorado, con un coste no mayor, un nodo con la misma posición, el mismo grupo mínimo
+         * y la misma holgura en cada grupo. Sus continuaciones son las mismas, así que no hace falta volver a
+         * explorarlas. Es la parte de programación dinámica sobre los grupos de asientos de la búsqueda.
+         */
+        private boolean yaVisitado(int posicion, int grupoMinimo, long coste) {
+            EstadoBusqueda estado = new EstadoBusqueda(posicion, grupoMinimo, holgura.clone());
+            Long costeVisitado = estadosVisitados.get(estado);
+            if (costeVisitado != null && costeVisitado <= coste) {
+                return true;
+            }
+            if (costeVisitado != null || estadosVisitados.size() < estadosMaximos) {
+                estadosVisitados.put(estado, coste);
+            }
+            return false;
+        }
+
+        private void ocupar(int posicion, int grupo, int tamano) {
+            holgura[grupo] -= tamano;
+            holguraZona[zonaDeGrupo[grupo]] -= tamano;
+            demandaFila[filaDePosicion[posicion]] -= tamano;
+        }
+
+        /**
+         * Asigna a cada posición un índice de fila de forma que dos posiciones comparten fila si sus anfitriones
+         * tienen las mismas prioridades para todos los grupos.
+         */
+        private int[] clasificarPosicionesPorPrioridades() {
+            int[] filas = new int[orden.length];
+            List<int[]> representantes = new ArrayList<>();
+            for (int p = 0; p < orden.length; p++) {
+                int[] prioridadesAnfitrion = prioridades[orden[p]];
+                int fila = 0;
+                while (fila < representantes.size() && !Arrays.equals(representantes.get(fila), prioridadesAnfitrion)) {
+                    fila++;
+                }
+                if (fila == representantes.size()) {
+                    representantes.add(prioridadesAnfitrion);
+                }
+                filas[p] = fila;
+            }
+            return filas;
+        }
+
+        /**
+         * Asigna a cada grupo un índice de zona de forma que dos grupos comparten zona si todos los anfitriones
+         * con invitados tienen la misma prioridad para ambos.
+         */
+        private int[] clasificarGruposPorPrioridades() {
+            int[] zonas = new int[capacidadAsientos.length];
+            List<Integer> representantes = new ArrayList<>();
+            for (int g = 0; g < capacidadAsientos.length; g++) {
+                int zona = 0;
+                while (zona < representantes.size() && !tienenMismasPrioridades(representantes.get(zona), g)) {
+                    zona++;
+                }
+                if (zona == representantes.size()) {
+                    representantes.add(g);
+                }
+                zonas[g] = zona;
+            }
+            return zonas;
+        }
+
+        private boolean tienenMismasPrioridades(int grupo1, int grupo2) {
+            for (int anfitrion : orden) {
+                if (prioridades[anfitrion][grupo1] != prioridades[anfitrion][grupo2]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Cota inferior del coste de los anfitriones a partir de la posición indicada: la mayor de
+         * {@link #cotaRestante(int)} y {@link #cotaTransporte()}. La segunda solo se calcula cuando las filas y
+         * zonas de prioridades son pocas, que es el caso habitual en el que las prioridades dependen de la unidad
+         * del anfitrión y de la zona del grupo; en otro caso su coste no compensa.
+         *
+         * @return La cota, o {@link Long#MAX_VALUE} si los anfitriones restantes no caben.
+         */
+        private long calcularCota(int posicion) {
+            long cota = cotaRestante(posicion);
+            if (cota == Long.MAX_VALUE || demandaFila.length * holguraZona.length > TAMANO_MAXIMO_TRANSPORTE) {
+                return cota;
+            }
+            return Math.max(cota, cotaTransporte());
+        }
+
+        /**
+         * Cota inferior que tiene en cuenta la competencia por la capacidad: los invitados restantes de cada fila
+         * de prioridades se reparten, de forma fraccionaria, entre las zonas según su holgura. Es un problema de
+         * transporte que se resuelve mediante caminos más cortos sucesivos sobre el grafo residual de filas y zonas.
+         *
+         * @return El coste mínimo del transporte, o {@link Long#MAX_VALUE} si la holgura total no basta.
+         */
+        private long cotaTransporte() {
+            int numFilas = demandaFila.length;
+            int numZonas = holguraZona.length;
+            int[] pendiente = demandaFila.clone();
+            int[] libre = holguraZona.clone();
+            int[][] flujo = new int[numFilas][numZonas];
+            long[] distanciaFila = new long[numFilas];
+            long[] distanciaZona = new long[numZonas];
+            int[] origenFila = new int[numFilas];
+            int[] origenZona = new int[numZonas];
+
+            long coste = 0;
+            while (Arrays.stream(pendiente).anyMatch(cantidad -> cantidad > 0)) {
+                for (int r = 0; r < numFilas; r++) {
+                    distanciaFila[r] = pendiente[r] > 0 ? 0 : Long.MAX_VALUE;
+                    origenFila[r] = -1;
+                }
+                Arrays.fill(distanciaZona, Long.MAX_VALUE);
+                boolean cambio = true;
+                while (cambio) {
+                    cambio = false;
+                    for (int r = 0; r < numFilas; r++) {
+                        if (distanciaFila[r] == Long.MAX_VALUE) {
+                            continue;
+                        }
+                        for (int z = 0; z < numZonas; z++) {
+                            if (distanciaFila[r] + costeFilaZona[r][z] < distanciaZona[z]) {
+                                distanciaZona[z] = distanciaFila[r] + costeFilaZona[r][z];
+                                origenZona[z] = r;
+                                cambio = true;
+                            }
+                        }
+                    }
+                    for (int z = 0; z < numZonas; z++) {
+                        if (distanciaZona[z] == Long.MAX_VALUE) {
+                            continue;
+                        }
+                        for (int r = 0; r < numFilas; r++) {
+                            if (flujo[r][z] > 0 && distanciaZona[z] - costeFilaZona[r][z] < distanciaFila[r]) {
+                                distanciaFila[r] = distanciaZona[z] - costeFilaZona[r][z];
+                                origenFila[r] = z;
+                                cambio = true;
+                            }
+                        }
+                    }
+                }
+
+                int destino = -1;
+                for (int z = 0; z < numZonas; z++) {
+                    if (libre[z] > 0 && distanciaZona[z] != Long.MAX_VALUE && (destino < 0 || distanciaZona[z] < distanciaZona[destino])) {
+                        destino = z;
+                    }
+                }
+                if (destino < 0) {
+                    return Long.MAX_VALUE;
+                }
+
+                int cantidad = libre[destino];
+                int z = destino;
+                int r = origenZona[z];
+                while (origenFila[r] >= 0) {
+                    cantidad = Math.min(cantidad, flujo[r][origenFila[r]]);
+                    z = origenFila[r];
+                    r = origenZona[z];
+                }
+                cantidad = Math.min(cantidad, pendiente[r]);
+
+                z = destino;
+                r = origenZona[z];
+                libre[z] -= cantidad;
+                while (true) {
+                    flujo[r][z] += cantidad;
+                    coste += cantidad * costeFilaZona[r][z];
+                    if (origenFila[r] < 0) {
+                        break;
+                    }
+                    z = origenFila[r];
+                    flujo[r][z] -= cantidad;
+                    coste -= cantidad * costeFilaZona[r][z];
+                    r = origenZona[z];
+                }
+                pendiente[r] -= cantidad;
+            }
+            return coste;
+        }
+
+        /**
+         * Cota inferior del coste de los anfitriones a partir de la posición indicada: cada uno en el grupo más
+         * barato en el que todavía cabe, sin tener en cuenta a los demás.
+         *
+         * @return La cota, o {@link Long#MAX_VALUE} si algún anfitrión ya no cabe en ningún grupo.
+         */
+        private long cotaRestante(int posicion) {
+            long cota = 0;
+            for (int p = posicion; p < orden.length; p++) {
+                int tamano = invitadosPorAnfitrion[orden[p]];
+                int mejorGrupo = -1;
+                for (int g : gruposPorCoste[p]) {
+                    if (holgura[g] >= tamano) {
+                        mejorGrupo = g;
+                        break;
+                    }
+                }
+                if (mejorGrupo < 0) {
+                    return Long.MAX_VALUE;
+                }
+                cota += costes[p][mejorGrupo];
+            }
+            return cota;
+        }
+
+        private boolean mejoraLaSolucion(long cota) {
+            if (mejorAsignacion == null) {
+                return true;
+            }
+            return cota < mejorCoste - (long) Math.floor(presupuesto.gapRelativo() * Math.abs(mejorCoste));
+        }
+
+        private boolean haAgotadoPresupuesto() {
+            nodos++;
+            if (presupuesto.tieneLimiteNodos() && nodos > presupuesto.limiteNodos()
+                    || System.nanoTime() > limiteTiempo || cancelacion.solicitada()) {
+                agotado = true;
+            }
+            return agotado;
+        }
+    }
+
+    /**
+     * Nodo de la búsqueda identificado por la posición, el grupo mínimo permitido y la holgura de cada grupo.
+     */
+    private static final class EstadoBusqueda {
+        private final int posicion;
+        private final int grupoMinimo;
+        private final int[] holgura;
+        private final int hash;
+
+        private EstadoBusqueda(int posicion, int grupoMinimo, int[] holgura) {
+            this.posicion = posicion;
+            this.grupoMinimo = grupoMinimo;
+            this.holgura = holgura;
+            this.hash = 31 * (31 * posicion + grupoMinimo) + Arrays.hashCode(holgura);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EstadoBusqueda otro)) {
+                return false;
+            }
+            return posicion == otro.posicion && grupoMinimo == otro.grupoMinimo && Arrays.equals(holgura, otro.holgura);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static int[] ordenarIndices(int longitud, Comparator<Integer> comparador) {
+        List<Integer> indices = new ArrayList<>(longitud);
+        for (int i = 0; i < longitud; i++) {
+            indices.add(i);
+        }
+        indices.sort(comparador);
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
\ No newline at end of file
@@ -2,17 +2,19 @@ package es.mdef.gaip_libreria.utilidades;
 
 import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
 import es.mdef.gaip_libreria.constantes.TipoDeZona;
 import es.mdef.gaip_libreria.invitados.*;
 import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
-import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.NORMAL;
 import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.RESERVADA;
@@ -33,76 +35,192 @@ public final class AsignadorAsientos {
      * @param acto El acto para el cual se asignarán los asientos.
      */
     public static void sentarInvitados(Acto acto) {
-        List<Anfitrion> anfitrionesOrdenados = new ArrayList<>(acto.getAnfitriones());
-        anfitrionesOrdenados.sort(new ComparadorPorCantidadDeInvitadosEnZona(TRIBUNA, acto));
+        sentarInvitados(acto, PoliticaSeleccionSolucionador.porDefecto());
+    }
 
-        int localidadesRestantes = acto.getNumeroLocalidadesParaRepartirPorTipoDeZona(TRIBUNA)
-                - acto.getInvitadosSinAsignarPorTipoDeZona(TRIBUNA).size();
+    /**
+     * Asigna los asientos a los invitados de un acto específico, organizando la tribuna con el motor que
+     * la política indicada elige según el tamaño del problema.
+     *
+     * @param acto     El acto para el cual se asignarán los asientos.
+     * @param politica La política de selección del motor con el que se organizará la tribuna.
+     */
+    public static void sentarInvitados(Acto acto, PoliticaSeleccionSolucionador politica) {
+        sentarInvitados(acto, politica, PresupuestoResolucion.porDefecto());
+    }
 
-        if (validarGenericaCabeEnTribuna(acto, localidadesRestantes)) {
-            for (Invitado invitado : acto.getInvitados()) {
-                if (invitado.getInvitacion().getTipoDeZona() == GENERICA) {
-                    invitado.getAnfitrion().getInvitacionPorTipoDeZona(acto, TipoDeZona.TRIBUNA)
-                            .agregarInvitado(invitado, true);
-                    localidadesRestantes--;
-                }
-            }
-        }
+    /**
+     * Asigna los asientos a los invitados de un acto específico, organizando la tribuna con el motor que
+     * la política indicada elige según el tamaño del problema y limitando su resolución al presupuesto dado.
+     *
+     * @param acto        El acto para el cual se asignarán los asientos.
+     * @param politica    La política de selección del motor con el que se organizará la tribuna.
+     * @param presupuesto El presupuesto de resolución de la tribuna.
+     */
+    public static void sentarInvitados(Acto acto, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto) {
+        planificar(InstantaneaActo.de(acto), politica, presupuesto).aplicar();
+    }
+
+    /**
+     * Asigna los asientos a los invitados de un acto específico, utilizando la formulación indicada
+     * para organizar la tribuna.
+     *
+     * @param acto        El acto para el cual se asignarán los asientos.
+     * @param formulacion La formulación del modelo con la que se organizará la tribuna.
+     */
+    public static void sentarInvitados(Acto acto, FormulacionAsientos formulacion) {
+        sentarInvitados(acto, formulacion, PresupuestoResolucion.porDefecto());
+    }
+
+    /**
+     * Asigna los asientos a los invitados de un acto específico, utilizando la formulación indicada
+     * para organizar la tribuna y limitando su resolución al presupuesto dado.
+     *
+     * @param acto        El acto para el cual se asignarán los asientos.
+     * @param formulacion La formulación del modelo con la que se organizará la tribuna.
+     * @param presupuesto El presupuesto de resolución de la tribuna.
+     */
+    public static void sentarInvitados(Acto acto, FormulacionAsientos formulacion, PresupuestoResolucion presupuesto) {
+        planificar(InstantaneaActo.de(acto), formulacion, presupuesto).aplicar();
+    }
+
+    /**
+     * Calcula, sin modificar el acto, el plan que asigna los asientos a los invitados de la instantánea, organizando
+     * la tribuna con la política de selección de motor por defecto.
+     *
+     * @param instantanea Instantánea del acto.
+     * @return El plan de asientos.
+     */
+    public static PlanDeAsientos planificar(InstantaneaActo instantanea) {
+        return planificar(instantanea, PoliticaSeleccionSolucionador.porDefecto(), PresupuestoResolucion.porDefecto());
+    }
+
+    /**
+     * Calcula, sin modificar el acto, el plan que asigna los asientos a los invitados de la instantánea, organizando
+     * la tribuna con el motor que la política indicada elige según el tamaño del problema y limitando su resolución
+     * al presupuesto dado.
+     *
+     * @param instantanea Instantánea del acto.
+     * @param politica    La política de selección del motor con el que se organizará la tribuna.
+     * @param presupuesto El presupuesto de resolución de la tribuna.
+     * @return El plan de asientos.
+     */
+    public static PlanDeAsientos planificar(InstantaneaActo instantanea, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto) {
+        return planificar(instantanea, politica, presupuesto, new Cancelacion());
+    }
 
-        while (validarListaDeEsperaCabeEnTribuna(acto, localidadesRestantes)) {
-            for (Anfitrion anfitrion : getAnfitrionesConInvitadosEnListaDeEspera(acto)) {
-                Invitado invitado = anfitrion
-                        .getInvitadosSinAsignarDeUnActoPorZona(acto, LISTA_DE_ESPERA)
-                        .stream()
-                        .findFirst()
-                        .orElse(null);
+    /**
+     * Calcula, sin modificar el acto, el plan que asigna los asientos a los invitados de la instantánea, utilizando
+     * la formulación indicada para organizar la tribuna y limitando su resolución al presupuesto dado.
+     *
+     * @param instantanea Instantánea del acto.
+     * @param formulacion La formulación del modelo con la que se organizará la tribuna.
+     * @param presupuesto El presupuesto de resolución de la tribuna.
+     * @return El plan de asientos.
+     */
+    public static PlanDeAsientos planificar(InstantaneaActo instantanea, FormulacionAsientos formulacion, PresupuestoResolucion presupuesto) {
+        return planificar(instantanea, plan -> AsignadorAsientosScip.sentarInvitados(plan, formulacion, presupuesto, new Cancelacion()));
+    }
+
+    static PlanDeAsientos planificar(InstantaneaActo instantanea, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto, Cancelacion cancelacion) {
+        return planificar(instantanea, plan -> AsignadorAsientosScip.sentarInvitados(plan, politica, presupuesto, cancelacion));
+    }
 
-                anfitrion
-                        .getInvitacionPorTipoDeZona(acto, TRIBUNA)
-                        .agregarInvitado(invitado, true);
+    private static PlanDeAsientos planificar(InstantaneaActo instantanea, Consumer<PlanificadorAsientos> organizadorTribuna) {
+        PlanificadorAsientos plan = new PlanificadorAsientos(instantanea);
+        List<Anfitrion> anfitrionesOrdenados = plan.getAnfitrionesOrdenadosPorTribuna();
 
-                localidadesRestantes--;
+        int localidadesRestantes = instantanea.getLocalidadesParaRepartir(TRIBUNA) - contarSinAsignar(plan, TRIBUNA);
+
+        if (localidadesRestantes >= contarSinAsignar(plan, GENERICA)) {
+            for (Anfitrion anfitrion : plan.getAnfitriones()) {
+                for (Invitado invitado : plan.getInvitadosGenerica(anfitrion)) {
+                    plan.reclasificar(anfitrion, invitado, TRIBUNA);
+                    localidadesRestantes--;
+                }
             }
         }
 
-        AsignadorAsientosScip.sentarInvitados(acto);
+        new PromotorListaDeEspera(plan).promover(Math.max(localidadesRestantes, 0),
+                (anfitrion, invitado) -> plan.reclasificar(anfitrion, invitado, TRIBUNA));
 
+        organizadorTribuna.accept(plan);
+
+        ReservaLocalidadesLibres reserva = new ReservaLocalidadesLibres(plan);
+        AsignadorParking parking = new AsignadorParking(plan.getZonas(PARKING), instantanea::getLocalidadesCon, plan::estaLibre);
         for (Anfitrion anfitrion : anfitrionesOrdenados) {
-            sentarEnZona(acto, anfitrion, GENERICA);
-            sentarEnZona(acto, anfitrion, ACOTADO);
-            aparcarCoches(acto, anfitrion);
+            sentarEnZona(plan, reserva, plan.getInvitadosSinAsignar(anfitrion, GENERICA), GENERICA, NORMAL);
+            sentarEnZona(plan, reserva, plan.getInvitadosSinAsignar(anfitrion, ACOTADO), ACOTADO, NORMAL);
+            aparcarCoches(plan, parking, plan.getCochesSinAsignar(anfitrion));
         }
 
-        sentarProtocoloEnZona(acto, TRIBUNA);
-        sentarProtocoloEnZona(acto, ACOTADO);
-        sentarProtocoloEnZona(acto, GENERICA);
-        aparcarCochesProtocolo(acto);
+        sentarEnZona(plan, reserva, plan.getProtocoloSinAsignar(TRIBUNA), TRIBUNA, RESERVADA);
+        sentarEnZona(plan, reserva, plan.getProtocoloSinAsignar(ACOTADO), ACOTADO, NORMAL);
+        sentarEnZona(plan, reserva, plan.getProtocoloSinAsignar(GENERICA), GENERICA, RESERVADA);
+        aparcarCoches(plan, parking, plan.getInstantanea().getCochesProtocoloSinAsignar());
+        return plan.construir();
     }
 
     /**
      * Asigna los asientos a los invitados en lista de espera de un acto específico.
+     * Los invitados se sientan en la zona genérica por rondas, uno por anfitrión en cada ronda, mientras queden más
+     * localidades libres que anfitriones con invitados en espera.
      *
      * @param acto El acto para el cual se asignarán los asientos.
      */
     public static void sentarInvitadosDeListaDeEsperaEnGenerica(Acto acto) {
-        while (acto.getNumeroLocalidadesParaRepartirPorTipoDeZona(
-                GENERICA) > getAnfitrionesConInvitadosEnListaDeEspera(acto).size()
-                && !getAnfitrionesConInvitadosEnListaDeEspera(acto).isEmpty()) {
-            for (Anfitrion anfitrion : getAnfitrionesConInvitadosEnListaDeEspera(acto)) {
-                anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, LISTA_DE_ESPERA)
-                        .stream()
-                        .findFirst().ifPresent(invitado -> {
-                            acto.getZonasConfiguradasPorTipo(GENERICA)
-                                    .stream()
-                                    .filter(zonaConfigurada -> zonaConfigurada.getNumeroLocalidadesParaRepartir() > 0)
-                                    .findFirst()
-                                    .flatMap(zona -> zona.getLocalidadesSinAsignar()
-                                            .stream().findFirst())
-                                    .ifPresent(
-                                            localidadConfigurada -> invitado.setLocalidad(localidadConfigurada, true));
-                        });
+        promoverInvitadosDeListaDeEsperaEnGenerica(acto);
+    }
+
+    /**
+     * Asigna los asientos a los invitados en lista de espera de un acto específico, como
+     * {@link #sentarInvitadosDeListaDeEsperaEnGenerica(Acto)}, y devuelve los invitados que se han sentado.
+     * No se devuelven los invitados para los que no quedaba localidad libre ni aquellos cuya asignación se ha
+     * descartado al aplicarla porque el acto había cambiado.
+     *
+     * @param acto El acto para el cual se asignarán los asientos.
+     * @return Los invitados sentados, en el orden en que se han sentado.
+     */
+    public static List<Invitado> promoverInvitadosDeListaDeEsperaEnGenerica(Acto acto) {
+        PlanificadorAsientos plan = new PlanificadorAsientos(InstantaneaActo.de(acto));
+        List<Invitado> sentados = planificarListaDeEsperaEnGenerica(plan);
+        Set<Invitado> descartados = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PlanDeAsientos.Operacion operacion : plan.construir().aplicar()) {
+            if (operacion instanceof PlanDeAsientos.AsignacionLocalidad asignacion) {
+                descartados.add(asignacion.invitado());
             }
         }
+        if (!descartados.isEmpty()) {
+            sentados.removeIf(descartados::contains);
+        }
+        return Collections.unmodifiableList(sentados);
+    }
+
+    /**
+     * Calcula, sin modificar el acto, el plan que asigna los asientos de la zona genérica a los invitados en lista de
+     * espera de la instantánea, como {@link #sentarInvitadosDeListaDeEsperaEnGenerica(Acto)}.
+     *
+     * @param instantanea Instantánea del acto.
+     * @return El plan de asientos.
+     */
+    public static PlanDeAsientos planificarListaDeEsperaEnGenerica(InstantaneaActo instantanea) {
+        PlanificadorAsientos plan = new PlanificadorAsientos(instantanea);
+        planificarListaDeEsperaEnGenerica(plan);
+        return plan.construir();
+    }
+
+    private static List<Invitado> planificarListaDeEsperaEnGenerica(PlanificadorAsientos plan) {
+        ReservaLocalidadesLibres reserva = new ReservaLocalidadesLibres(plan);
+        List<Invitado> sentados = new ArrayList<>();
+        new PromotorListaDeEspera(plan).promover(plan.getInstantanea().getLocalidadesParaRepartir(GENERICA),
+                (anfitrion, invitado) -> {
+                    LocalidadConfigurada localidadConfigurada = reserva.siguienteLibre(GENERICA, NORMAL);
+                    if (localidadConfigurada != null) {
+                        plan.sentar(invitado, localidadConfigurada);
+                        sentados.add(invitado);
+                    }
+                });
+        return sentados;
     }
 
     /**
@@ -121,144 +239,66 @@ public final class AsignadorAsientos {
                 });
     }
 
-    private static boolean validarGenericaCabeEnTribuna(Acto acto, int localidadesRestantes) {
-        return localidadesRestantes >= acto.getInvitadosSinAsignarPorTipoDeZona(GENERICA).size();
-    }
-
-    private static boolean validarListaDeEsperaCabeEnTribuna(Acto acto, int localidadesRestantes) {
-        int count = getAnfitrionesConInvitadosEnListaDeEspera(acto).size();
-        return localidadesRestantes > count && count > 0;
-    }
-
-    private static List<Anfitrion> getAnfitrionesConInvitadosEnListaDeEspera(Acto acto) {
-        return acto.getAnfitriones()
-                .stream()
-                .filter(anfitrion -> {
-                    Invitacion invitacionListaDeEspera = anfitrion.getInvitacionPorTipoDeZona(acto, LISTA_DE_ESPERA);
-                    return invitacionListaDeEspera != null && !invitacionListaDeEspera.getInvitados().isEmpty();
-                })
-                .collect(Collectors.toList());
+    private static int contarSinAsignar(PlanificadorAsientos plan, TipoDeZona tipoZona) {
+        int sinAsignar = 0;
+        for (Anfitrion anfitrion : plan.getAnfitriones()) {
+            sinAsignar += plan.getInvitadosSinAsignar(anfitrion, tipoZona).size();
+        }
+        return sinAsignar;
     }
 
-    private static void sentarEnZona(Acto acto, Anfitrion anfitrion, TipoDeZona tipoZona) {
-        Set<Invitado> invitados = anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, tipoZona);
-        invitados.forEach(invitado -> invitado
-                .setLocalidad(obtenerLocalidadLibrePorTipoZona(acto, tipoZona), true));
+    private static void sentarEnZona(PlanificadorAsientos plan, ReservaLocalidadesLibres reserva, Collection<Invitado> invitados, TipoDeZona tipoZona, EstadoLocalidad estado) {
+        for (Invitado invitado : new ArrayList<>(invitados)) {
+            LocalidadConfigurada localidad = reserva.siguienteLibre(tipoZona, estado);
+            if (localidad != null) {
+                plan.sentar(invitado, localidad);
+            }
+        }
     }
 
-    private static void sentarProtocoloEnZona(Acto acto, TipoDeZona tipoZona) {
-        Set<Invitado> invitados = acto.getInvitacionesPorActo()
-                .stream()
-                .filter(invitacionesPorActo -> invitacionesPorActo.getAnfitrion() == null)
-                .map(InvitacionesPorActo::getInvitaciones)
-                .flatMap(Set::stream)
-                .filter(invitacion -> invitacion.getTipoDeZona() == tipoZona)
-                .flatMap(invitacion -> invitacion.getInvitados().stream())
-                .filter(invitado -> invitado.getLocalidad() == null)
-                .collect(Collectors.toSet());
-        invitados.forEach(
-                invitado -> invitado.setLocalidad(obtenerLocalidadLibreProtocoloPorTipoZona(acto, tipoZona), true));
+    private static void aparcarCoches(PlanificadorAsientos plan, AsignadorParking parking, List<Coche> coches) {
+        for (Coche coche : coches) {
+            LocalidadConfigurada plaza = parking.plazaPara(coche);
+            if (plaza != null) {
+                plan.aparcar(coche, plaza);
+            }
+        }
     }
 
-    private static void aparcarCoches(Acto acto, Anfitrion anfitrion) {
-        Set<Coche> coches = anfitrion.getCochesSinAsignarDeUnActo(acto);
-        coches.forEach(coche -> aparcarCoche(acto, coche));
+    /**
+     * Aparca un coche del acto en la plaza de parking que le corresponde.
+     *
+     * @param acto  Acto al que pertenece el coche.
+     * @param coche Coche a aparcar.
+     * @deprecated Cada llamada ordena de nuevo las zonas de parking del acto y recorre sus plazas desde el principio.
+     * Para aparcar varios coches se debe usar {@link #aparcarCoches(Acto, List)}, que reparte todas las plazas de una
+     * vez, o sentar a los invitados del acto, que también aparca sus coches.
+     */
+    @Deprecated
+    public static void aparcarCoche(Acto acto, Coche coche) {
+        aparcarCoches(acto, List.of(coche));
     }
 
-    public static void aparcarCoche(Acto acto, Coche coche) {
-        ZonaConfigurada parking = coche.getInvitado().getParkingPrioritario();
-        if (parking != null) {
-            if (parking.getZona().getTipoDeZona() == PARKING) {
-                coche.setLocalidad(obtenerParkingLibreProtocoloDeZona(parking), true);
+    /**
+     * Aparca los coches indicados del acto, en ese orden, en las plazas de parking que les corresponden. Las zonas de
+     * parking se ordenan una sola vez para todos los coches, y cada coche ocupa su plaza antes de buscar la del
+     * siguiente. Los coches para los que no queda plaza se quedan sin aparcar.
+     *
+     * @param acto   Acto al que pertenecen los coches.
+     * @param coches Coches a aparcar.
+     */
+    public static void aparcarCoches(Acto acto, List<Coche> coches) {
+        AsignadorParking parking = new AsignadorParking(acto.getZonasConfiguradasPorTipo(PARKING),
+                ReservaLocalidadesLibres::localidadesCon, localidad -> localidad.getEstadoOcupacionLocalidad() == LIBRE);
+        for (Coche coche : coches) {
+            LocalidadConfigurada plaza = parking.plazaPara(coche);
+            if (plaza != null) {
+                coche.setLocalidad(plaza, true);
             }
-        } else if (coche.getInvitado() instanceof InvitadoFcse) {
-            coche.setLocalidad(obtenerParkingLibreParaMilitar(acto), true);
-        } else {
-            coche.setLocalidad(obtenerParkingLibreParaCivil(acto), true);
         }
     }
 
-    private static void aparcarCochesProtocolo(Acto acto) {
-        Set<Coche> coches = acto.getInvitacionesPorActo()
-                .stream()
-                .filter(invitacionesPorActo -> invitacionesPorActo.getAnfitrion() == null)
-                .map(InvitacionesPorActo::getInvitaciones)
-                .flatMap(Set::stream)
-                .filter(invitacion -> invitacion.getTipoDeZona() == PARKING)
-                .flatMap(invitacion -> invitacion.getCoches().stream())
-                .filter(coche -> coche.getLocalidad() == null)
-                .collect(Collectors.toSet());
-        coches.forEach(coche -> aparcarCoche(acto, coche));
-    }
-
     private static boolean localidadEsLibrerable(LocalidadConfigurada localidadConfigurada) {
         return localidadConfigurada != null && localidadConfigurada.getEstadoLocalidad() == NORMAL;
     }
-    
-    private static LocalidadConfigurada obtenerLocalidadLibrePorTipoZona(Acto acto, TipoDeZona tipoZona) {
-        Predicate<LocalidadConfigurada> esLocalidadLibre = localidad -> LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad()) && NORMAL.equals(localidad.getEstadoLocalidad());
-
-        return acto.getZonasConfiguradasPorTipo(tipoZona).stream()
-                .flatMap(zona -> zona.getLocalidades().stream())
-                .filter(esLocalidadLibre)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private static LocalidadConfigurada obtenerParkingLibreProtocoloDeZona(ZonaConfigurada parking) {
-        Predicate<LocalidadConfigurada> esLocalidadLibre = localidad -> LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad()) && RESERVADA.equals(localidad.getEstadoLocalidad());
-        return parking
-                .getLocalidades()
-                .stream()
-                .filter(esLocalidadLibre)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private static LocalidadConfigurada obtenerParkingLibreParaMilitar(Acto acto) {
-        Predicate<LocalidadConfigurada> esLocalidadLibre = localidad -> LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad()) && NORMAL.equals(localidad.getEstadoLocalidad());
-
-        return acto.getZonasConfiguradasPorTipo(TipoDeZona.PARKING).stream()
-                .sorted(Comparator.comparing((ZonaConfigurada zona) -> zona.getZona().getPrioridadParkingMilitares())
-                        .thenComparing((ZonaConfigurada zona) -> zona.getZona().getNombre().toLowerCase()
-                                .replaceAll("parking", "").trim().substring(0, 1)))
-                .flatMap(zona -> zona.getLocalidades().stream())
-                .filter(esLocalidadLibre)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private static LocalidadConfigurada obtenerParkingLibreParaCivil(Acto acto) {
-        Predicate<LocalidadConfigurada> esLocalidadLibre = localidad -> LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad()) && NORMAL.equals(localidad.getEstadoLocalidad());
-
-        return acto.getZonasConfiguradasPorTipo(TipoDeZona.PARKING).stream()
-                .sorted(Comparator.comparing((ZonaConfigurada zona) -> zona.getZona().getPrioridadParkingMilitares())
-                        .reversed()
-                        .thenComparing((ZonaConfigurada zona) -> zona.getZona().getNombre().toLowerCase()
-                                .replaceAll("parking", "").trim().substring(0, 1)))
-                .flatMap(zona -> zona.getLocalidades().stream())
-                .filter(esLocalidadLibre)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private static LocalidadConfigurada obtenerLocalidadLibreProtocoloPorTipoZona(Acto acto, TipoDeZona tipoZona) {
-        Predicate<LocalidadConfigurada> esLocalidadLibre = localidad -> tipoZona == ACOTADO
-                ? LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad())
-                && NORMAL.equals(localidad.getEstadoLocalidad())
-                : LIBRE
-                .equals(localidad.getEstadoOcupacionLocalidad())
-                && RESERVADA.equals(localidad.getEstadoLocalidad());
-
-        return acto.getZonasConfiguradasPorTipo(tipoZona).stream()
-                .flatMap(zona -> zona.getLocalidades().stream())
-                .filter(esLocalidadLibre)
-                .findFirst()
-                .orElse(null);
-    }
 }
\ No newline at end of file
@@ -1,24 +1,13 @@
 package es.mdef.gaip_libreria.utilidades;
 
-import es.mdef.gaip_libreria.actos.Acto;
-import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
 import es.mdef.gaip_libreria.excepciones.SinSolucionException;
-import es.mdef.gaip_libreria.invitados.ComparadorPorCantidadDeInvitadosEnZona;
-import es.mdef.gaip_libreria.invitados.Invitado;
-import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
-import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
-import es.mdef.gaip_libreria.zonas_configuradas.ZonasConfiguradasHelper;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
-import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.NORMAL;
-import static es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad.LIBRE;
-import static es.mdef.gaip_libreria.constantes.TipoDeZona.TRIBUNA;
+import java.util.Arrays;
 
 /**
- * Clase utilitaria para gestionar la asignación de asientos a los invitados utilizando el AlgoritmoScip.
+ * Clase utilitaria para gestionar la asignación de asientos a los invitados de la tribuna utilizando un
+ * {@link OrganizadorAsientos}, que recibe los datos del reparto de una {@link InstantaneaAsientos}.
  */
 final class AsignadorAsientosScip {
 
@@ -29,158 +18,65 @@ final class AsignadorAsientosScip {
     }
 
     /**
-     * Método principal para sentar a los invitados en el acto proporcionado.
+     * Planifica el reparto de la tribuna utilizando la formulación del modelo indicada y limitando la resolución al
+     * presupuesto dado. Si el presupuesto se agota, se utiliza la mejor solución factible encontrada.
+     * <p>
+     * Antes de construir el modelo se calcula la solución voraz de {@link HeuristicaOrganizacionAsientos}, que se
+     * sugiere al solver como solución inicial y se utiliza si el solver no encuentra ninguna mejor. Solo si la
+     * heurística tampoco consigue sentar a todos los invitados se recurre a {@link AsignadorAsientosSimple}.
+     * </p>
+     * <p>
+     * Las zonas y unidades que no comparten ninguna prioridad finita se resuelven como modelos independientes
+     * en paralelo mediante {@link OrganizadorAsientosDescompuesto}.
+     * </p>
      *
-     * @param acto Acto en el que se van a sentar los invitados.
+     * @param plan        Reparto de asientos en curso.
+     * @param formulacion Formulación del modelo a utilizar.
+     * @param presupuesto Presupuesto de resolución.
+     * @param cancelacion Cancelación que detiene el solver.
      */
-    public static void sentarInvitados(Acto acto) {
-        List<Anfitrion> anfitrionesOrdenados = new ArrayList<>(acto.getAnfitriones());
-        anfitrionesOrdenados.sort(new ComparadorPorCantidadDeInvitadosEnZona(TRIBUNA, acto));
-
-        int[] invitadosPorAnfitrion;
-        int[] capacidadAsientos;
-        int[][] prioridades;
-
-        invitadosPorAnfitrion = getInvitadosPorAnfitrion(acto);
-        capacidadAsientos = getGruposDeAsientosParaDistribuir(acto);
-        prioridades = getPrioridades(acto);
-
-        AlgoritmoOrganizacionAsientos organizador = new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades);
-
-        try {
-            AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = organizador.organizar();
-
-            List<Invitado> todosLosInvitados = getTodosLosInvitados(acto);
-            List<LocalidadConfigurada> todasLasLocalidades = getTodasLasLocalidades(acto);
-            resultado.asignacionInvitadoAsiento().forEach((indiceInvitado, indiceAsiento) ->
-                    todosLosInvitados.get(indiceInvitado).setLocalidad(todasLasLocalidades.get(indiceAsiento), true));
-        } catch (SinSolucionException e) {
-            AsignadorAsientosSimple.sentarInvitados(acto);
-        }
-    }
-
-    private static List<LocalidadConfigurada> getTodasLasLocalidades(Acto acto) {
-        return obtenerTodosGruposAsientos(acto).stream()
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
-    }
-
-    private static List<Invitado> getTodosLosInvitados(Acto acto) {
-        List<Anfitrion> anfitrionesOrdenados = getAnfitrionesOrdendos(acto);
-
-        return anfitrionesOrdenados.stream()
-                .flatMap(anfitrion -> anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, TRIBUNA).stream())
-                .collect(Collectors.toList());
+    static void sentarInvitados(PlanificadorAsientos plan, FormulacionAsientos formulacion, PresupuestoResolucion presupuesto, Cancelacion cancelacion) {
+        sentarInvitados(plan, (invitadosPorAnfitrion, capacidadAsientos, prioridades) ->
+                new OrganizadorAsientosDescompuesto(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto), cancelacion);
     }
 
-    private static int[] getInvitadosPorAnfitrion(Acto acto) {
-        return getAnfitrionesOrdendos(acto).stream()
-                .mapToInt(anfitrion -> anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, TRIBUNA).size())
-                .toArray();
-    }
-
-    private static List<Anfitrion> getAnfitrionesOrdendos(Acto acto) {
-        return acto.getAnfitriones().stream().sorted(new ComparadorPorCantidadDeInvitadosEnZona(TRIBUNA, acto)).collect(Collectors.toList());
-    }
-
-    private static int[] getGruposDeAsientosParaDistribuir(Acto acto) {
-        List<Integer> capacidades = new ArrayList<>();
-
-        for (ZonaConfigurada zonaConfigurada : acto.getZonasConfiguradasPorTipo(TRIBUNA)) {
-            List<LocalidadConfigurada> localidadesOrdenadas = ZonasConfiguradasHelper.getLocalidadesOrdenadasPorNumero(zonaConfigurada);
-            calcularCapacidadesPorLocalidades(localidadesOrdenadas, capacidades);
-        }
-
-        return capacidades.stream().mapToInt(Integer::intValue).toArray();
-    }
-
-    private static void calcularCapacidadesPorLocalidades(List<LocalidadConfigurada> localidadesOrdenadas, List<Integer> capacidades) {
-        int localidadesConsecutivas = 0;
-
-        for (LocalidadConfigurada localidad : localidadesOrdenadas) {
-            if (esAsientoNormalYLibre(localidad)) {
-                localidadesConsecutivas++;
-
-                if (debeTerminarGrupoAsientos(localidad)) {
-                    capacidades.add(localidadesConsecutivas);
-                    localidadesConsecutivas = 0;
-                }
-            } else {
-                if (localidadesConsecutivas != 0) {
-                    capacidades.add(localidadesConsecutivas);
-                    localidadesConsecutivas = 0;
-                }
-            }
-        }
-    }
-
-    private static boolean esAsientoNormalYLibre(LocalidadConfigurada localidad) {
-        return localidad.getEstadoLocalidad() == NORMAL && localidad.getEstadoOcupacionLocalidad() == LIBRE;
-    }
-
-    private static boolean debeTerminarGrupoAsientos(LocalidadConfigurada localidad) {
-        return localidad.getLocalidad().getImplicaSaltoFila() || localidad.getLocalidad().getImplicaSalto();
-    }
-
-    private static int[][] getPrioridades(Acto acto) {
-        List<Anfitrion> anfitrionesOrdenados = getAnfitrionesOrdendos(acto);
-
-        List<List<LocalidadConfigurada>> todosGruposAsientos = obtenerTodosGruposAsientos(acto);
-
-        int[][] prioridades = new int[anfitrionesOrdenados.size()][todosGruposAsientos.size()];
-
-        for (int i = 0; i < anfitrionesOrdenados.size(); i++) {
-            Anfitrion anfitrion = anfitrionesOrdenados.get(i);
-            String unidadAnfitrion = anfitrion.getUnidadDeFormacion();
-
-            for (int j = 0; j < todosGruposAsientos.size(); j++) {
-                List<LocalidadConfigurada> grupoAsientos = todosGruposAsientos.get(j);
-                ZonaConfigurada zonaPertenece = grupoAsientos.get(0).getZonaConfigurada();
-                prioridades[i][j] = obtenerPrioridadDeZonaParaUnidad(zonaPertenece, unidadAnfitrion);
-            }
-        }
-
-        return prioridades;
+    /**
+     * Planifica el reparto de la tribuna utilizando el motor que la política indicada elige según el tamaño del
+     * problema y limitando la resolución al presupuesto dado. Si el motor no encuentra solución, se recurre a
+     * {@link AsignadorAsientosSimple}.
+     *
+     * @param plan        Reparto de asientos en curso.
+     * @param politica    Política de selección del motor.
+     * @param presupuesto Presupuesto de resolución.
+     * @param cancelacion Cancelación que detiene el solver.
+     */
+    static void sentarInvitados(PlanificadorAsientos plan, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto, Cancelacion cancelacion) {
+        sentarInvitados(plan, (invitadosPorAnfitrion, capacidadAsientos, prioridades) ->
+                politica.seleccionar(Arrays.stream(invitadosPorAnfitrion).sum(), Arrays.stream(capacidadAsientos).sum())
+                        .crearOrganizador(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto), cancelacion);
     }
 
-    private static List<List<LocalidadConfigurada>> obtenerTodosGruposAsientos(Acto acto) {
-        List<List<LocalidadConfigurada>> todosGrupos = new ArrayList<>();
-
-        for (ZonaConfigurada zonaConfigurada : acto.getZonasConfiguradasPorTipo(TRIBUNA)) {
-            List<LocalidadConfigurada> localidadesOrdenadas = ZonasConfiguradasHelper.getLocalidadesOrdenadasPorNumero(zonaConfigurada);
-
-            List<LocalidadConfigurada> grupoActual = new ArrayList<>();
-            for (LocalidadConfigurada localidad : localidadesOrdenadas) {
-                if (esAsientoNormalYLibre(localidad)) {
-                    grupoActual.add(localidad);
+    /**
+     * Sienta a los invitados con el organizador creado por la fábrica indicada, tras descartar con
+     * {@link DiagnosticoViabilidad} los problemas sin solución y retirar los anfitriones que no caben en ningún
+     * grupo de asientos, cuyos invitados quedan sin asignar.
+     */
+    private static void sentarInvitados(PlanificadorAsientos plan, FabricaOrganizadorAsientos fabrica, Cancelacion cancelacion) {
+        InstantaneaAsientos instantanea = InstantaneaAsientos.de(plan);
+        OrganizadorAsientos organizador = new OrganizadorAsientosConDiagnostico(instantanea.getInvitadosPorAnfitrion(),
+                instantanea.getCapacidadGrupos(), instantanea.getPrioridades(), fabrica);
+        try {
+            AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = cancelacion.mientras(organizador::cancelar, organizador::organizar);
 
-                    if (debeTerminarGrupoAsientos(localidad)) {
-                        todosGrupos.add(new ArrayList<>(grupoActual));
-                        grupoActual.clear();
-                    }
-                } else {
-                    if (!grupoActual.isEmpty()) {
-                        todosGrupos.add(new ArrayList<>(grupoActual));
-                        grupoActual.clear();
-                    }
+            int[] asientoPorInvitado = resultado.asientoPorInvitado();
+            for (int indiceInvitado = 0; indiceInvitado < asientoPorInvitado.length; indiceInvitado++) {
+                int indiceAsiento = asientoPorInvitado[indiceInvitado];
+                if (indiceAsiento != AlgoritmoOrganizacionAsientos.ResultadoOrganizacion.SIN_ASIENTO) {
+                    plan.sentar(instantanea.getInvitado(indiceInvitado), instantanea.getLocalidad(indiceAsiento));
                 }
             }
-            if (!grupoActual.isEmpty()) {
-                todosGrupos.add(grupoActual);
-            }
+        } catch (SinSolucionException e) {
+            AsignadorAsientosSimple.sentarInvitados(plan);
         }
-
-        return todosGrupos;
-    }
-
-    private static int obtenerPrioridadDeZonaParaUnidad(ZonaConfigurada zona, String unidad) {
-        return zona.getPrioridades().stream()
-                .filter(prioridad -> prioridad.getUnidad().equals(unidad))
-                .findFirst()
-                .map(prioridad -> {
-                    int valor = prioridad.getPrioridad();
-                    return valor == 0 ? Integer.MAX_VALUE : valor;
-                })
-                .orElse(Integer.MAX_VALUE);
     }
 }
\ No newline at end of file
@@ -1,24 +1,29 @@
 package es.mdef.gaip_libreria.utilidades;
 
-import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.actos.TablaPrioridades;
 import es.mdef.gaip_libreria.anfitriones.Anfitrion;
-import es.mdef.gaip_libreria.invitados.ComparadorPorCantidadDeInvitadosEnZona;
 import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.IndiceTramosLibres;
 import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
-import es.mdef.gaip_libreria.zonas_configuradas.PrioridadPorUnidad;
+import es.mdef.gaip_libreria.zonas_configuradas.MapaLocalidades;
 import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
 import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.NORMAL;
-import static es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad.LIBRE;
 import static es.mdef.gaip_libreria.constantes.TipoDeZona.TRIBUNA;
 
 /**
  * Clase utilitaria para gestionar la asignación de asientos a los invitados.
+ * <p>
+ * Los invitados de un anfitrión se sientan en las primeras localidades consecutivas libres que se encuentran
+ * recorriendo la zona con {@link LocalidadConfigurada#getSiguienteLocalidad()}. Cuando las localidades de la zona
+ * están encadenadas en orden de número, la búsqueda se hace sobre el {@link IndiceTramosLibres} del
+ * {@link MapaLocalidades} de la zona, que da el mismo resultado en tiempo logarítmico y se mantiene al día a medida
+ * que el reparto ocupa localidades.
+ * </p>
  */
 final class AsignadorAsientosSimple {
 
@@ -29,68 +34,91 @@ final class AsignadorAsientosSimple {
     }
 
     /**
-     * Método principal para sentar a los invitados en el acto proporcionado.
+     * Método principal para planificar el reparto de la tribuna en el reparto de asientos proporcionado.
      *
-     * @param acto Acto en el que se van a sentar los invitados.
+     * @param plan Reparto de asientos en curso.
      */
-    public static void sentarInvitados(Acto acto) {
-        List<Anfitrion> anfitrionesOrdenados = new ArrayList<>(acto.getAnfitriones());
-        anfitrionesOrdenados.sort(new ComparadorPorCantidadDeInvitadosEnZona(TRIBUNA, acto));
-
-        for (Anfitrion anfitrion : anfitrionesOrdenados) {
-            sentarEnTribuna(acto, anfitrion);
+    static void sentarInvitados(PlanificadorAsientos plan) {
+        for (Anfitrion anfitrion : plan.getAnfitrionesOrdenadosPorTribuna()) {
+            sentarEnTribuna(plan, anfitrion);
         }
     }
 
-    private static void sentarEnTribuna(Acto acto, Anfitrion anfitrion) {
-        int numeroInvitados = (int) anfitrion.getNumeroInvitadosDeUnActoPorZona(acto, TRIBUNA);
-        Set<Invitado> invitados = anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, TRIBUNA);
+    private static void sentarEnTribuna(PlanificadorAsientos plan, Anfitrion anfitrion) {
+        int numeroInvitados = plan.getNumeroInvitadosEnTribuna(anfitrion);
+        List<Invitado> invitados = new ArrayList<>(plan.getInvitadosSinAsignar(anfitrion, TRIBUNA));
         if (numeroInvitados > 0) {
-            List<ZonaConfigurada> zonasOrdenadas = ordenarZonasPorPrioridad(anfitrion.getUnidadDeFormacion(), acto.getZonasConfiguradasPorTipo(TRIBUNA));
+            List<ZonaConfigurada> zonasOrdenadas = ordenarZonasPorPrioridad(plan.getTablaPrioridades(), plan.getUnidadDeFormacion(anfitrion), plan.getZonas(TRIBUNA));
             for (ZonaConfigurada zona : zonasOrdenadas) {
-                if (sentarInvitadosEnZona(invitados, zona, numeroInvitados)) {
+                if (sentarInvitadosEnZona(plan, invitados, zona, numeroInvitados)) {
                     break;
                 }
             }
         }
     }
 
-    private static boolean sentarInvitadosEnZona(Set<Invitado> invitados, ZonaConfigurada zona, int numeroInvitados) {
-        for (LocalidadConfigurada localidad : zona.getLocalidades()) {
-            List<LocalidadConfigurada> asientosConsecutivos = obtenerLocalidadesConsecutivas(localidad, numeroInvitados);
-            if (asientosConsecutivos.size() == invitados.size() && sentar(invitados, asientosConsecutivos)) {
+    private static boolean sentarInvitadosEnZona(PlanificadorAsientos plan, List<Invitado> invitados, ZonaConfigurada zona, int numeroInvitados) {
+        MapaLocalidades mapa = plan.getMapaLocalidades(zona);
+        if (numeroInvitados == invitados.size() && mapa.estaEncadenada()) {
+            return sentarInvitadosEnMapa(plan, invitados, zona, mapa);
+        }
+        for (LocalidadConfigurada localidad : plan.getInstantanea().getLocalidades(zona)) {
+            List<LocalidadConfigurada> asientosConsecutivos = obtenerLocalidadesConsecutivas(plan, localidad, numeroInvitados);
+            if (asientosConsecutivos.size() == invitados.size() && sentar(plan, invitados, asientosConsecutivos)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Equivale a recorrer la zona desde cada una de sus localidades cuando están encadenadas en orden de número:
+     * el recorrido desde una localidad encuentra el primer tramo libre que empieza en ella o después, y si no lo hay
+     * tampoco lo hay desde ninguna localidad posterior. Las localidades que implican un salto de fila nunca forman
+     * parte del tramo, como en el recorrido.
+     */
+    private static boolean sentarInvitadosEnMapa(PlanificadorAsientos plan, List<Invitado> invitados, ZonaConfigurada zona, MapaLocalidades mapa) {
+        IndiceTramosLibres tramos = mapa.getIndiceTramosLibres(false);
+        int sinTramoDesde = Integer.MAX_VALUE;
+        for (LocalidadConfigurada localidad : plan.getInstantanea().getLocalidades(zona)) {
+            int desde = mapa.indiceDe(localidad);
+            if (desde < 0 || desde >= sinTramoDesde) {
+                continue;
+            }
+            int inicio = tramos.buscarPrimero(invitados.size(), desde);
+            if (inicio >= 0) {
+                for (int i = 0; i < invitados.size(); i++) {
+                    plan.sentar(invitados.get(i), mapa.getLocalidad(inicio + i));
+                }
+                return true;
+            }
+            sinTramoDesde = desde;
+        }
+        return false;
+    }
 
-    private static List<ZonaConfigurada> ordenarZonasPorPrioridad(String unidad, List<ZonaConfigurada> zonas) {
-        zonas.sort(Comparator.comparingInt(z -> z.getPrioridades().stream()
-                .filter(p -> p.getUnidad().equals(unidad))
-                .mapToInt(PrioridadPorUnidad::getPrioridad)
-                .findFirst()
-                .orElse(Integer.MAX_VALUE)));
+    private static List<ZonaConfigurada> ordenarZonasPorPrioridad(TablaPrioridades tabla, String unidad, List<ZonaConfigurada> zonas) {
+        int idUnidad = tabla.getIdUnidad(unidad);
+        zonas.sort(Comparator.comparingInt(z -> tabla.getPrioridad(idUnidad, tabla.getIdZona(z))));
         return zonas;
     }
 
-    private static boolean sentar(Set<Invitado> invitados, List<LocalidadConfigurada> localidadesConsecutivas) {
+    private static boolean sentar(PlanificadorAsientos plan, List<Invitado> invitados, List<LocalidadConfigurada> localidadesConsecutivas) {
         if (invitados.size() != localidadesConsecutivas.size()) {
             return false;
         }
         int i = 0;
         for (Invitado invitado : invitados) {
-            invitado.setLocalidad(localidadesConsecutivas.get(i), true);
+            plan.sentar(invitado, localidadesConsecutivas.get(i));
             i++;
         }
         return true;
     }
 
-    private static List<LocalidadConfigurada> obtenerLocalidadesConsecutivas(LocalidadConfigurada localidad, int numeroInvitados) {
+    private static List<LocalidadConfigurada> obtenerLocalidadesConsecutivas(PlanificadorAsientos plan, LocalidadConfigurada localidad, int numeroInvitados) {
         List<LocalidadConfigurada> localidadesConsecutivas = new ArrayList<>();
         while (localidad != null && localidadesConsecutivas.size() < numeroInvitados) {
-            if (localidad.getEstadoLocalidad() == NORMAL && localidad.getEstadoOcupacionLocalidad() == LIBRE) {
+            if (plan.getInstantanea().getEstadoLocalidad(localidad) == NORMAL && plan.estaLibre(localidad)) {
                 localidadesConsecutivas.add(localidad);
                 if (localidad.getLocalidad().getImplicaSaltoFila() || localidad.getLocalidad().getImplicaSalto() && localidadesConsecutivas.size() < numeroInvitados) {
                     localidadesConsecutivas.clear();
@@ -0,0 +1,116 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.InvitadoFcse;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.NORMAL;
+import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.RESERVADA;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.PARKING;
+
+/**
+ * Reparto de las plazas de parking de un acto entre los coches de sus invitados.
+ * <p>
+ * Al crearlo se ordenan una sola vez las zonas de parking: para los militares, de menor a mayor prioridad de parking
+ * para militares, y para los civiles, de mayor a menor; en ambos casos, a igual prioridad, por la inicial del nombre
+ * de la zona sin la palabra "parking". Cada orden se recorre con un {@link ReservaLocalidadesLibres.Cursor} sobre sus
+ * plazas normales, y las plazas reservadas de cada zona, destinadas a los coches con parking prioritario, con un
+ * cursor propio que se crea la primera vez que se pide. Así, aparcar cada coche tiene un coste constante amortizado.
+ * </p>
+ * <p>
+ * Como {@link ReservaLocalidadesLibres}, solo es válido mientras las plazas pasan de libres a ocupadas.
+ * </p>
+ */
+final class AsignadorParking {
+    private final ReservaLocalidadesLibres.Cursor plazasMilitares;
+    private final ReservaLocalidadesLibres.Cursor plazasCiviles;
+    private final Map<ZonaConfigurada, ReservaLocalidadesLibres.Cursor> plazasReservadas = new IdentityHashMap<>();
+    private final BiFunction<List<ZonaConfigurada>, EstadoLocalidad, List<LocalidadConfigurada>> localidadesCon;
+    private final Predicate<LocalidadConfigurada> estaLibre;
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param zonasParking   Zonas de parking del acto, en el orden del acto.
+     * @param localidadesCon Devuelve las plazas de unas zonas con un estado, en el orden de las zonas.
+     * @param estaLibre      Indica si una plaza sigue libre.
+     */
+    AsignadorParking(List<ZonaConfigurada> zonasParking,
+                     BiFunction<List<ZonaConfigurada>, EstadoLocalidad, List<LocalidadConfigurada>> localidadesCon,
+                     Predicate<LocalidadConfigurada> estaLibre) {
+        this.localidadesCon = localidadesCon;
+        this.estaLibre = estaLibre;
+        List<ZonaPorOrden> zonas = new ArrayList<>();
+        for (ZonaConfigurada zona : zonasParking) {
+            zonas.add(new ZonaPorOrden(zona, zona.getZona().getPrioridadParkingMilitares(), inicialDelNombre(zona)));
+        }
+
+        zonas.sort(Comparator.comparingInt(ZonaPorOrden::prioridad).thenComparing(ZonaPorOrden::inicial));
+        plazasMilitares = new ReservaLocalidadesLibres.Cursor(localidadesCon.apply(zonasDe(zonas), NORMAL), estaLibre);
+
+        zonas.sort(Comparator.comparingInt(ZonaPorOrden::prioridad).reversed().thenComparing(ZonaPorOrden::inicial));
+        plazasCiviles = new ReservaLocalidadesLibres.Cursor(localidadesCon.apply(zonasDe(zonas), NORMAL), estaLibre);
+    }
+
+    /**
+     * Devuelve la plaza libre que corresponde al coche, sin ocuparla: una plaza reservada de su parking prioritario si
+     * lo tiene, y si no la primera plaza normal libre en el orden de zonas de los militares o de los civiles, según
+     * sea su invitado.
+     *
+     * @param coche Coche a aparcar.
+     * @return La plaza del coche, o {@code null} si no queda ninguna o si su parking prioritario no es una zona de
+     * parking.
+     */
+    LocalidadConfigurada plazaPara(Coche coche) {
+        ZonaConfigurada parking = coche.getInvitado().getParkingPrioritario();
+        if (parking != null) {
+            if (parking.getZona().getTipoDeZona() != PARKING) {
+                return null;
+            }
+            return plazasReservadas.computeIfAbsent(parking, zona -> new ReservaLocalidadesLibres.Cursor(
+                    localidadesCon.apply(List.of(zona), RESERVADA), estaLibre)).siguienteLibre();
+        }
+        return coche.getInvitado() instanceof InvitadoFcse ? plazasMilitares.siguienteLibre() : plazasCiviles.siguienteLibre();
+    }
+
+    /**
+     * Obtiene la inicial del nombre de la zona sin la palabra "parking", o una cadena vacía si el nombre no tiene nada
+     * más, de modo que esas zonas se ordenan delante de las demás en lugar de fallar.
+     */
+    private static String inicialDelNombre(ZonaConfigurada zona) {
+        String nombre = zona.getZona().getNombre();
+        if (nombre == null) {
+            return "";
+        }
+        String resto = nombre.toLowerCase().replace("parking", "").trim();
+        return resto.isEmpty() ? "" : resto.substring(0, 1);
+    }
+
+    private static List<ZonaConfigurada> zonasDe(List<ZonaPorOrden> zonas) {
+        List<ZonaConfigurada> resultado = new ArrayList<>(zonas.size());
+        for (ZonaPorOrden zona : zonas) {
+            resultado.add(zona.zona());
+        }
+        return resultado;
+    }
+
+    /**
+     * Zona de parking junto con las claves por las que se ordena, calculadas una sola vez.
+     *
+     * @param zona      Zona de parking.
+     * @param prioridad Prioridad de parking para militares de la zona.
+     * @param inicial   Inicial del nombre de la zona sin la palabra "parking".
+     */
+    private record ZonaPorOrden(ZonaConfigurada zona, int prioridad, String inicial) {
+    }
+}
\ No newline at end of file
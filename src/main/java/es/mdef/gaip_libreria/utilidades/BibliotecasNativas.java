@@ -0,0 +1,31 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import com.google.ortools.Loader;
+
+/**
+ * Clase utilitaria que carga las bibliotecas nativas de OR-Tools una sola vez por proceso.
+ * Esta clase no está destinada a ser instanciada.
+ */
+final class BibliotecasNativas {
+    private static volatile boolean cargadas;
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private BibliotecasNativas() {
+    }
+
+    /**
+     * Carga las bibliotecas nativas de OR-Tools si todavía no se han cargado. Las llamadas posteriores no hacen nada.
+     */
+    static void cargar() {
+        if (!cargadas) {
+            synchronized (BibliotecasNativas.class) {
+                if (!cargadas) {
+                    Loader.loadNativeLibraries();
+                    cargadas = true;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
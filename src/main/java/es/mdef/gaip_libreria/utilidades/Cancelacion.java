@@ -0,0 +1,76 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Señal de cancelación compartida entre un organizador de asientos y quien lo ejecuta.
+ * <p>
+ * El organizador registra las acciones que detienen el solver en curso y consulta la señal en los puntos en los que
+ * puede detenerse por sí mismo. Cada acción solo está registrada {@link #mientras(Runnable, Tarea) mientras} se
+ * ejecuta el trabajo que detiene, para que la señal no retenga los solvers ya resueltos ni vuelva a detenerlos, y las
+ * acciones registradas después de solicitar la cancelación se ejecutan al registrarse.
+ * </p>
+ */
+final class Cancelacion {
+    private final List<Runnable> acciones = new CopyOnWriteArrayList<>();
+    private volatile boolean solicitada;
+
+    /**
+     * Solicita la cancelación y ejecuta todas las acciones registradas.
+     */
+    void solicitar() {
+        solicitada = true;
+        acciones.forEach(Runnable::run);
+    }
+
+    /**
+     * Indica si se ha solicitado la cancelación.
+     *
+     * @return true si se ha solicitado la cancelación, false en caso contrario.
+     */
+    boolean solicitada() {
+        return solicitada;
+    }
+
+    /**
+     * Ejecuta una tarea con la acción que la detiene registrada en la señal, y retira la acción cuando la tarea
+     * termina, aunque lo haga con una excepción. Si la cancelación ya se ha solicitado, la acción se ejecuta al
+     * registrarla, antes de empezar la tarea.
+     *
+     * @param alCancelar Acción que detiene la tarea.
+     * @param tarea      Tarea a ejecutar.
+     * @param <T>        Tipo del resultado de la tarea.
+     * @param <E>        Tipo de la excepción que puede lanzar la tarea.
+     * @return El resultado de la tarea.
+     * @throws E Si la tarea lanza la excepción.
+     */
+    <T, E extends Exception> T mientras(Runnable alCancelar, Tarea<T, E> tarea) throws E {
+        acciones.add(alCancelar);
+        try {
+            if (solicitada) {
+                alCancelar.run();
+            }
+            return tarea.ejecutar();
+        } finally {
+            acciones.remove(alCancelar);
+        }
+    }
+
+    /**
+     * Trabajo que se ejecuta con una acción de cancelación registrada.
+     *
+     * @param <T> Tipo del resultado.
+     * @param <E> Tipo de la excepción que puede lanzar.
+     */
+    @FunctionalInterface
+    interface Tarea<T, E extends Exception> {
+        /**
+         * Ejecuta el trabajo.
+         *
+         * @return El resultado del trabajo.
+         * @throws E Si el trabajo no se puede completar.
+         */
+        T ejecutar() throws E;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase utilitaria para comparar distintas formulaciones de la organización de asientos sobre los mismos datos de entrada.
+ * Esta clase no está destinada a ser instanciada.
+ */
+public final class ComparativaOrganizadores {
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private ComparativaOrganizadores() {
+    }
+
+    /**
+     * Resuelve el mismo problema con cada una de las formulaciones indicadas y devuelve, para cada una,
+     * si se ha encontrado solución, el coste de la asignación obtenida y el tiempo empleado.
+     * Todas las formulaciones arrancan desde la solución de {@link HeuristicaOrganizacionAsientos}.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param formulaciones         Formulaciones a comparar.
+     * @return Lista con el resultado de cada formulación, en el mismo orden en que se han indicado.
+     */
+    public static List<ResultadoComparativa> comparar(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, FormulacionAsientos... formulaciones) {
+        return comparar(invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto(), formulaciones);
+    }
+
+    /**
+     * Resuelve el mismo problema con cada una de las formulaciones indicadas, todas con el mismo presupuesto de resolución.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución de cada formulación.
+     * @param formulaciones         Formulaciones a comparar.
+     * @return Lista con el resultado de cada formulación, en el mismo orden en que se han indicado.
+     */
+    public static List<ResultadoComparativa> comparar(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, FormulacionAsientos... formulaciones) {
+        List<ResultadoComparativa> resultados = new ArrayList<>();
+        for (FormulacionAsientos formulacion : formulaciones) {
+            resultados.add(resolver(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, true));
+        }
+        return resultados;
+    }
+
+    /**
+     * Resuelve el mismo problema con la formulación indicada dos veces, primero arrancando en frío y después
+     * arrancando desde la solución de {@link HeuristicaOrganizacionAsientos}, para medir la mejora del arranque
+     * en caliente. El tiempo del arranque en caliente incluye el cálculo de la heurística.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución de cada ejecución.
+     * @param formulacion           Formulación a comparar.
+     * @return Lista con el resultado del arranque en frío seguido del resultado del arranque en caliente.
+     */
+    public static List<ResultadoComparativa> compararArranqueEnCaliente(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, FormulacionAsientos formulacion) {
+        List<ResultadoComparativa> resultados = new ArrayList<>();
+        resultados.add(resolver(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, false));
+        resultados.add(resolver(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, true));
+        return resultados;
+    }
+
+    private static ResultadoComparativa resolver(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, boolean arranqueEnCaliente) {
+        long inicio = System.nanoTime();
+        try {
+            OrganizadorAsientos organizador = OrganizadorAsientos.crear(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, arranqueEnCaliente);
+            AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = organizador.organizar();
+            Duration tiempo = Duration.ofNanos(System.nanoTime() - inicio);
+            long coste = calcularCoste(resultado.asientoPorInvitado(), invitadosPorAnfitrion, capacidadAsientos, prioridades);
+            return new ResultadoComparativa(formulacion, resultado.estado(), coste, tiempo);
+        } catch (SinSolucionException e) {
+            return new ResultadoComparativa(formulacion, null, Long.MAX_VALUE, Duration.ofNanos(System.nanoTime() - inicio));
+        }
+    }
+
+    /**
+     * Calcula el coste de una asignación como la suma, para cada invitado, de la prioridad que su anfitrión
+     * tiene en el grupo de asientos en el que ha sido sentado.
+     *
+     * @param asignacionInvitadoAsiento Asignación de índice de invitado a índice de asiento.
+     * @param invitadosPorAnfitrion     Número de invitados por anfitrión.
+     * @param capacidadAsientos         Capacidad de asientos por grupo.
+     * @param prioridades               Prioridades de asiento por anfitrión.
+     * @return El coste total de la asignación.
+     */
+    public static long calcularCoste(Map<Integer, Integer> asignacionInvitadoAsiento, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        return calcularCoste(new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asignacionInvitadoAsiento).asientoPorInvitado(),
+                invitadosPorAnfitrion, capacidadAsientos, prioridades);
+    }
+
+    /**
+     * Calcula el coste de una asignación indexada por invitado, sin contar los invitados sin asiento.
+     *
+     * @param asientoPorInvitado    Índice de asiento asignado a cada índice de invitado, o
+     *                              {@link AlgoritmoOrganizacionAsientos.ResultadoOrganizacion#SIN_ASIENTO}.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @return El coste total de la asignación.
+     */
+    public static long calcularCoste(int[] asientoPorInvitado, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        int[] anfitrionDeInvitado = expandir(invitadosPorAnfitrion);
+        int[] grupoDeAsiento = expandir(capacidadAsientos);
+
+        long coste = 0;
+        for (int invitado = 0; invitado < asientoPorInvitado.length; invitado++) {
+            int asiento = asientoPorInvitado[invitado];
+            if (asiento != AlgoritmoOrganizacionAsientos.ResultadoOrganizacion.SIN_ASIENTO) {
+                coste += prioridades[anfitrionDeInvitado[invitado]][grupoDeAsiento[asiento]];
+            }
+        }
+        return coste;
+    }
+
+    private static int[] expandir(int[] cantidades) {
+        int total = 0;
+        for (int cantidad : cantidades) {
+            total += cantidad;
+        }
+        int[] propietario = new int[total];
+        int indice = 0;
+        for (int i = 0; i < cantidades.length; i++) {
+            for (int j = 0; j < cantidades[i]; j++) {
+                propietario[indice++] = i;
+            }
+        }
+        return propietario;
+    }
+
+    /**
+     * Resultado de resolver el problema con una formulación concreta.
+     *
+     * @param formulacion Formulación utilizada.
+     * @param estado      Estado de la solución obtenida, o {@code null} si no se ha encontrado solución.
+     * @param coste       Coste de la asignación obtenida, o {@link Long#MAX_VALUE} si no hay solución.
+     * @param tiempo      Tiempo empleado en la resolución.
+     */
+    public record ResultadoComparativa(FormulacionAsientos formulacion, EstadoResolucion estado, long coste, Duration tiempo) {
+
+        /**
+         * Indica si se ha encontrado solución.
+         *
+         * @return true si se ha encontrado una solución óptima o factible, false en caso contrario.
+         */
+        public boolean resuelto() {
+            return estado != null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.MotivoInviabilidad;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resultado del análisis previo de un problema de organización de asientos, calculado solo a partir del número de
+ * invitados por anfitrión y de la capacidad de cada grupo de asientos, sin construir ningún modelo.
+ * <p>
+ * Los anfitriones con más invitados que el mayor grupo de asientos no caben en ninguno y se pueden retirar del
+ * problema. Sobre los anfitriones restantes se comprueba que la capacidad total sea suficiente y una cota inferior de
+ * empaquetamiento: para cada tamaño {@code t}, los anfitriones con al menos {@code t} invitados no pueden superar en
+ * número los bloques de {@code t} asientos que caben en los grupos, ni en invitados la capacidad de los grupos con al
+ * menos {@code t} asientos. Estas comprobaciones son condiciones necesarias: un diagnóstico viable no garantiza que
+ * exista solución, pero uno inviable demuestra que no existe.
+ * </p>
+ *
+ * @param motivos             Motivos de inviabilidad detectados; vacío si el problema es viable.
+ * @param anfitrionesSinGrupo Índices de los anfitriones que no caben en ningún grupo de asientos.
+ * @param demandaAtendible    Número de invitados de los anfitriones que caben en algún grupo de asientos.
+ * @param capacidadTotal      Número total de asientos.
+ */
+public record DiagnosticoViabilidad(Set<MotivoInviabilidad> motivos, List<Integer> anfitrionesSinGrupo, long demandaAtendible, long capacidadTotal) {
+
+    /**
+     * Analiza el problema formado por los invitados por anfitrión y la capacidad de los grupos de asientos indicados.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @return El diagnóstico de viabilidad del problema.
+     */
+    public static DiagnosticoViabilidad analizar(int[] invitadosPorAnfitrion, int[] capacidadAsientos) {
+        Set<MotivoInviabilidad> motivos = EnumSet.noneOf(MotivoInviabilidad.class);
+
+        int[] capacidadesDescendentes = ordenarDescendente(capacidadAsientos);
+        int mayorGrupo = capacidadesDescendentes.length == 0 ? 0 : capacidadesDescendentes[0];
+        long capacidadTotal = 0;
+        for (int capacidad : capacidadAsientos) {
+            capacidadTotal += capacidad;
+        }
+
+        List<Integer> anfitrionesSinGrupo = new ArrayList<>();
+        int[] tamanosAtendibles = new int[invitadosPorAnfitrion.length];
+        int numAtendibles = 0;
+        long demandaAtendible = 0;
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            int tamano = invitadosPorAnfitrion[a];
+            if (tamano > mayorGrupo) {
+                anfitrionesSinGrupo.add(a);
+            } else if (tamano > 0) {
+                tamanosAtendibles[numAtendibles++] = tamano;
+                demandaAtendible += tamano;
+            }
+        }
+        if (!anfitrionesSinGrupo.isEmpty()) {
+            motivos.add(MotivoInviabilidad.ANFITRION_SIN_GRUPO);
+        }
+
+        if (demandaAtendible > capacidadTotal) {
+            motivos.add(MotivoInviabilidad.CAPACIDAD_TOTAL_INSUFICIENTE);
+        } else if (!admiteEmpaquetamiento(ordenarDescendente(Arrays.copyOf(tamanosAtendibles, numAtendibles)), capacidadesDescendentes)) {
+            motivos.add(MotivoInviabilidad.EMPAQUETAMIENTO_IMPOSIBLE);
+        }
+
+        return new DiagnosticoViabilidad(Collections.unmodifiableSet(motivos), Collections.unmodifiableList(anfitrionesSinGrupo), demandaAtendible, capacidadTotal);
+    }
+
+    /**
+     * Comprueba, para cada tamaño de anfitrión {@code t}, que los anfitriones con al menos {@code t} invitados
+     * caben en número y en invitados en los grupos de asientos con capacidad para ellos.
+     */
+    private static boolean admiteEmpaquetamiento(int[] tamanosDescendentes, int[] capacidadesDescendentes) {
+        int gruposUtiles = 0;
+        long capacidadUtil = 0;
+        long demanda = 0;
+        int i = 0;
+        while (i < tamanosDescendentes.length) {
+            int tamano = tamanosDescendentes[i];
+            while (i < tamanosDescendentes.length && tamanosDescendentes[i] == tamano) {
+                demanda += tamano;
+                i++;
+            }
+            while (gruposUtiles < capacidadesDescendentes.length && capacidadesDescendentes[gruposUtiles] >= tamano) {
+                capacidadUtil += capacidadesDescendentes[gruposUtiles++];
+            }
+            if (demanda > capacidadUtil) {
+                return false;
+            }
+            long bloques = 0;
+            for (int g = 0; g < gruposUtiles && bloques < i; g++) {
+                bloques += capacidadesDescendentes[g] / tamano;
+            }
+            if (bloques < i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] ordenarDescendente(int[] valores) {
+        int[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        for (int i = 0, j = ordenados.length - 1; i < j; i++, j--) {
+            int aux = ordenados[i];
+            ordenados[i] = ordenados[j];
+            ordenados[j] = aux;
+        }
+        return ordenados;
+    }
+
+    /**
+     * Indica si el problema supera todas las comprobaciones, en cuyo caso se puede resolver sin cambios.
+     *
+     * @return true si no se ha detectado ningún motivo de inviabilidad, false en caso contrario.
+     */
+    public boolean esViable() {
+        return motivos.isEmpty();
+    }
+
+    /**
+     * Indica si el problema supera todas las comprobaciones una vez retirados los anfitriones que no caben en ningún
+     * grupo de asientos.
+     *
+     * @return true si el único motivo de inviabilidad es {@link MotivoInviabilidad#ANFITRION_SIN_GRUPO} o no hay
+     * ninguno, false en caso contrario.
+     */
+    public boolean esViableTrasRecorte() {
+        return motivos.stream().allMatch(MotivoInviabilidad.ANFITRION_SIN_GRUPO::equals);
+    }
+
+    /**
+     * Devuelve una copia del número de invitados por anfitrión en la que los anfitriones que no caben en ningún grupo
+     * de asientos tienen cero invitados.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión del problema analizado.
+     * @return El número de invitados por anfitrión del problema recortado.
+     */
+    public int[] recortar(int[] invitadosPorAnfitrion) {
+        int[] recortado = invitadosPorAnfitrion.clone();
+        for (int anfitrion : anfitrionesSinGrupo) {
+            recortado[anfitrion] = 0;
+        }
+        return recortado;
+    }
+}
\ No newline at end of file
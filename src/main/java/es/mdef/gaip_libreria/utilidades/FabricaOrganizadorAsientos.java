@@ -0,0 +1,18 @@
+package es.mdef.gaip_libreria.utilidades;
+
+/**
+ * Crea el organizador de asientos a partir de los datos de un problema de organización de asientos.
+ */
+@FunctionalInterface
+interface FabricaOrganizadorAsientos {
+
+    /**
+     * Crea el organizador de asientos para el problema indicado.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @return El organizador de asientos.
+     */
+    OrganizadorAsientos crear(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades);
+}
\ No newline at end of file
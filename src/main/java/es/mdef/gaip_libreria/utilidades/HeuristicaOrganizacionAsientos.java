@@ -0,0 +1,105 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Organiza los asientos de los invitados mediante una heurística voraz, sin recurrir a ningún solver.
+ * <p>
+ * Los anfitriones se procesan de mayor a menor número de invitados y cada uno se sienta, de forma consecutiva,
+ * en el grupo de asientos de menor prioridad que todavía tiene hueco suficiente; en caso de empate se elige el
+ * grupo con menos asientos libres para aprovechar mejor el espacio. La solución obtenida no es necesariamente
+ * óptima, pero se calcula en tiempo lineal y sirve como solución inicial para los algoritmos exactos.
+ * </p>
+ */
+public class HeuristicaOrganizacionAsientos implements OrganizadorAsientos {
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     */
+    public HeuristicaOrganizacionAsientos(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+    }
+
+    /**
+     * Calcula la solución inicial con la que arrancar un algoritmo exacto.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @return La solución de la heurística, o {@code null} si la heurística no consigue sentar a todos los invitados.
+     */
+    static AlgoritmoOrganizacionAsientos.ResultadoOrganizacion calcularSolucionInicial(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        try {
+            return new HeuristicaOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar();
+        } catch (SinSolucionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Organiza los asientos de forma voraz. La solución se devuelve como factible y con gap desconocido.
+     *
+     * @return Resultado de la organización.
+     * @throws SinSolucionException Si algún anfitrión no cabe en ninguno de los grupos de asientos restantes.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        int[] inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        int[] inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
+        int[] ocupados = new int[capacidadAsientos.length];
+
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        for (int anfitrion : ordenarPorInvitadosDescendente()) {
+            int tamano = invitadosPorAnfitrion[anfitrion];
+            if (tamano == 0) {
+                continue;
+            }
+            int grupo = elegirGrupo(anfitrion, tamano, ocupados);
+            if (grupo < 0) {
+                throw new SinSolucionException("La heurística no ha podido sentar juntos a los invitados del anfitrión " + anfitrion);
+            }
+            for (int i = 0; i < tamano; i++) {
+                asientoPorInvitado[inicioInvitados[anfitrion] + i] = inicioGrupos[grupo] + ocupados[grupo] + i;
+            }
+            ocupados[grupo] += tamano;
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asientoPorInvitado, EstadoResolucion.FACTIBLE, Double.NaN);
+    }
+
+    private Integer[] ordenarPorInvitadosDescendente() {
+        Integer[] anfitriones = new Integer[invitadosPorAnfitrion.length];
+        for (int a = 0; a < anfitriones.length; a++) {
+            anfitriones[a] = a;
+        }
+        Arrays.sort(anfitriones, Comparator.comparingInt((Integer a) -> -invitadosPorAnfitrion[a]).thenComparingInt(a -> a));
+        return anfitriones;
+    }
+
+    private int elegirGrupo(int anfitrion, int tamano, int[] ocupados) {
+        int mejor = -1;
+        for (int g = 0; g < capacidadAsientos.length; g++) {
+            int libres = capacidadAsientos[g] - ocupados[g];
+            if (libres < tamano) {
+                continue;
+            }
+            if (mejor < 0 || prioridades[anfitrion][g] < prioridades[anfitrion][mejor]
+                    || prioridades[anfitrion][g] == prioridades[anfitrion][mejor] && libres < capacidadAsientos[mejor] - ocupados[mejor]) {
+                mejor = g;
+            }
+        }
+        return mejor;
+    }
+}
\ No newline at end of file
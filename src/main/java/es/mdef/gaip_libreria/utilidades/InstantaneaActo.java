@@ -0,0 +1,287 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.actos.TablaPrioridades;
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.InvitacionesPorActo;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.MapaLocalidades;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad.OCUPADA;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.GENERICA;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.PARKING;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.TRIBUNA;
+
+/**
+ * Instantánea de solo lectura del estado de un acto que necesita la planificación de asientos.
+ * <p>
+ * Se toma en una sola pasada sobre el acto y copia todo lo que el reparto de asientos modifica: qué invitados y
+ * coches de cada anfitrión y del protocolo están sin asignar y en qué invitación está cada uno, y, de cada zona, sus
+ * localidades, el {@link EstadoLocalidad} de cada una, cuáles están ocupadas y su {@link MapaLocalidades}, además de
+ * la {@link TablaPrioridades} del acto. Así, planificar sobre la instantánea no lee el estado de las localidades del
+ * acto, que puede seguir cambiando mientras se calcula el plan; lo que cambie después se descarta al aplicar el plan.
+ * </p>
+ * <p>
+ * La disposición física de las zonas, es decir, el encadenamiento y los saltos de sus localidades, y los datos de las
+ * zonas y de los invitados que no cambian durante el reparto, como los nombres, las prioridades de parking o el
+ * parking prioritario de cada invitado, se siguen consultando en el acto, por lo que no se deben modificar mientras
+ * haya un plan en curso. Con esa salvedad, la instantánea se puede usar desde varios hilos para calcular a la vez
+ * distintos {@link PlanDeAsientos}.
+ * </p>
+ */
+public final class InstantaneaActo {
+    private final List<DatosAnfitrion> anfitriones = new ArrayList<>();
+    private final Map<TipoDeZona, List<Invitado>> protocoloSinAsignar = new EnumMap<>(TipoDeZona.class);
+    private final List<Coche> cochesProtocoloSinAsignar;
+    private final Map<TipoDeZona, List<ZonaConfigurada>> zonas = new EnumMap<>(TipoDeZona.class);
+    private final Map<TipoDeZona, Integer> localidadesParaRepartir = new EnumMap<>(TipoDeZona.class);
+    private final Set<LocalidadConfigurada> localidadesOcupadas = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Invitado, Invitacion> invitacionDeInvitado = new IdentityHashMap<>();
+    private final Map<ZonaConfigurada, List<LocalidadConfigurada>> localidadesDeZona = new IdentityHashMap<>();
+    private final Map<LocalidadConfigurada, EstadoLocalidad> estadoDeLocalidad = new IdentityHashMap<>();
+    private final Map<ZonaConfigurada, MapaLocalidades> mapas = new IdentityHashMap<>();
+    private final TablaPrioridades tablaPrioridades;
+
+    private InstantaneaActo(Acto acto) {
+        for (Anfitrion anfitrion : acto.getAnfitriones()) {
+            DatosAnfitrion datos = DatosAnfitrion.de(acto, anfitrion);
+            anfitriones.add(datos);
+            for (List<Invitado> invitados : datos.invitadosSinAsignar().values()) {
+                for (Invitado invitado : invitados) {
+                    invitacionDeInvitado.put(invitado, invitado.getInvitacion());
+                }
+            }
+        }
+
+        Map<TipoDeZona, Set<Invitado>> invitadosProtocolo = new EnumMap<>(TipoDeZona.class);
+        Set<Coche> cochesProtocolo = new HashSet<>();
+        for (InvitacionesPorActo invitacionesPorActo : acto.getInvitacionesPorActo()) {
+            if (invitacionesPorActo.getAnfitrion() != null) {
+                continue;
+            }
+            for (Invitacion invitacion : invitacionesPorActo.getInvitaciones()) {
+                Set<Invitado> invitados = invitadosProtocolo.computeIfAbsent(invitacion.getTipoDeZona(), tipo -> new HashSet<>());
+                for (Invitado invitado : invitacion.getInvitados()) {
+                    if (invitado.getLocalidad() == null) {
+                        invitados.add(invitado);
+                        invitacionDeInvitado.put(invitado, invitacion);
+                    }
+                }
+                if (invitacion.getTipoDeZona() == PARKING) {
+                    for (Coche coche : invitacion.getCoches()) {
+                        if (coche.getLocalidad() == null) {
+                            cochesProtocolo.add(coche);
+                        }
+                    }
+                }
+            }
+        }
+        invitadosProtocolo.forEach((tipo, invitados) -> protocoloSinAsignar.put(tipo, List.copyOf(invitados)));
+        cochesProtocoloSinAsignar = List.copyOf(cochesProtocolo);
+
+        for (TipoDeZona tipo : TipoDeZona.values()) {
+            zonas.put(tipo, List.copyOf(acto.getZonasConfiguradasPorTipo(tipo)));
+        }
+        tablaPrioridades = acto.getTablaPrioridades();
+        localidadesParaRepartir.put(TRIBUNA, acto.getNumeroLocalidadesParaRepartirPorTipoDeZona(TRIBUNA));
+        localidadesParaRepartir.put(GENERICA, acto.getNumeroLocalidadesParaRepartirPorTipoDeZona(GENERICA));
+        for (ZonaConfigurada zona : acto.getZonas()) {
+            List<LocalidadConfigurada> localidades = List.copyOf(zona.getLocalidades());
+            localidadesDeZona.put(zona, localidades);
+            for (LocalidadConfigurada localidad : localidades) {
+                estadoDeLocalidad.put(localidad, localidad.getEstadoLocalidad());
+                if (localidad.getEstadoOcupacionLocalidad() == OCUPADA) {
+                    localidadesOcupadas.add(localidad);
+                }
+            }
+            mapas.put(zona, zona.getMapaLocalidades());
+        }
+    }
+
+    /**
+     * Toma una instantánea del acto indicado.
+     *
+     * @param acto Acto del que se toma la instantánea.
+     * @return La instantánea del acto.
+     */
+    public static InstantaneaActo de(Acto acto) {
+        return new InstantaneaActo(acto);
+    }
+
+    /**
+     * Devuelve los datos de los anfitriones del acto, en el orden en que los devuelve el acto.
+     *
+     * @return Lista inmodificable de datos de los anfitriones.
+     */
+    List<DatosAnfitrion> getAnfitriones() {
+        return Collections.unmodifiableList(anfitriones);
+    }
+
+    /**
+     * Devuelve los invitados del protocolo sin asignar con invitación del tipo de zona indicado.
+     *
+     * @param tipoDeZona Tipo de zona de la invitación.
+     * @return Lista inmodificable de invitados, vacía si no hay ninguno.
+     */
+    List<Invitado> getProtocoloSinAsignar(TipoDeZona tipoDeZona) {
+        return protocoloSinAsignar.getOrDefault(tipoDeZona, List.of());
+    }
+
+    /**
+     * Devuelve la invitación en la que estaba un invitado sin asignar en el momento de la instantánea.
+     *
+     * @param invitado Invitado sin asignar.
+     * @return La invitación del invitado, o null si el invitado no estaba sin asignar en la instantánea.
+     */
+    Invitacion getInvitacion(Invitado invitado) {
+        return invitacionDeInvitado.get(invitado);
+    }
+
+    /**
+     * Devuelve los coches del protocolo sin aparcar.
+     *
+     * @return Lista inmodificable de coches.
+     */
+    List<Coche> getCochesProtocoloSinAsignar() {
+        return cochesProtocoloSinAsignar;
+    }
+
+    /**
+     * Devuelve las zonas configuradas del tipo indicado, en el orden en que las devuelve el acto.
+     *
+     * @param tipoDeZona Tipo de zona.
+     * @return Lista inmodificable de zonas configuradas.
+     */
+    List<ZonaConfigurada> getZonas(TipoDeZona tipoDeZona) {
+        return zonas.get(tipoDeZona);
+    }
+
+    /**
+     * Devuelve el número de localidades para repartir en las zonas del tipo indicado en el momento de la instantánea.
+     *
+     * @param tipoDeZona Tipo de zona, {@link TipoDeZona#TRIBUNA} o {@link TipoDeZona#GENERICA}.
+     * @return Número de localidades para repartir.
+     */
+    int getLocalidadesParaRepartir(TipoDeZona tipoDeZona) {
+        return localidadesParaRepartir.get(tipoDeZona);
+    }
+
+    /**
+     * Indica si la localidad estaba ocupada en el momento de la instantánea.
+     *
+     * @param localidad Localidad a consultar.
+     * @return true si la localidad estaba ocupada, false en caso contrario.
+     */
+    boolean estaOcupada(LocalidadConfigurada localidad) {
+        return localidadesOcupadas.contains(localidad);
+    }
+
+    /**
+     * Devuelve las localidades de una zona en el momento de la instantánea, en el orden de la zona.
+     *
+     * @param zona Zona configurada.
+     * @return Lista inmodificable de localidades, vacía si la zona no era del acto en el momento de la instantánea.
+     */
+    List<LocalidadConfigurada> getLocalidades(ZonaConfigurada zona) {
+        return localidadesDeZona.getOrDefault(zona, List.of());
+    }
+
+    /**
+     * Devuelve el estado que tenía una localidad en el momento de la instantánea.
+     *
+     * @param localidad Localidad a consultar.
+     * @return El estado de la localidad, o null si la localidad no era de ninguna zona del acto.
+     */
+    EstadoLocalidad getEstadoLocalidad(LocalidadConfigurada localidad) {
+        return estadoDeLocalidad.get(localidad);
+    }
+
+    /**
+     * Devuelve las localidades de las zonas indicadas que tenían el estado dado en el momento de la instantánea, en
+     * el orden de las zonas y de sus localidades.
+     *
+     * @param zonas  Zonas configuradas a recorrer.
+     * @param estado Estado de las localidades.
+     * @return Nueva lista de localidades con ese estado.
+     */
+    List<LocalidadConfigurada> getLocalidadesCon(List<ZonaConfigurada> zonas, EstadoLocalidad estado) {
+        List<LocalidadConfigurada> resultado = new ArrayList<>();
+        for (ZonaConfigurada zona : zonas) {
+            for (LocalidadConfigurada localidad : getLocalidades(zona)) {
+                if (estadoDeLocalidad.get(localidad) == estado) {
+                    resultado.add(localidad);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve el mapa de las localidades de una zona en el momento de la instantánea.
+     * El mapa es compartido, por lo que quien quiera ocupar localidades en él debe trabajar sobre una copia.
+     *
+     * @param zona Zona configurada.
+     * @return El mapa de la zona, o null si la zona no era del acto en el momento de la instantánea.
+     */
+    MapaLocalidades getMapaLocalidades(ZonaConfigurada zona) {
+        return mapas.get(zona);
+    }
+
+    /**
+     * Devuelve la tabla de prioridades por unidad y zona del acto en el momento de la instantánea.
+     *
+     * @return La tabla de prioridades.
+     */
+    TablaPrioridades getTablaPrioridades() {
+        return tablaPrioridades;
+    }
+
+    /**
+     * Datos de un anfitrión del acto en el momento de la instantánea.
+     *
+     * @param anfitrion           Anfitrión.
+     * @param dni                 DNI del anfitrión.
+     * @param unidadDeFormacion   Unidad de formación del anfitrión.
+     * @param invitaciones        Invitación del anfitrión para cada tipo de zona.
+     * @param invitadosSinAsignar Invitados sin asignar de cada tipo de zona.
+     * @param invitadosGenerica   Todos los invitados de la zona genérica, asignados o no.
+     * @param invitadosEnTribuna  Número de invitados de la tribuna, asignados o no.
+     * @param cochesSinAsignar    Coches sin aparcar.
+     */
+    record DatosAnfitrion(Anfitrion anfitrion, String dni, String unidadDeFormacion,
+                          Map<TipoDeZona, Invitacion> invitaciones, Map<TipoDeZona, List<Invitado>> invitadosSinAsignar,
+                          List<Invitado> invitadosGenerica, int invitadosEnTribuna, List<Coche> cochesSinAsignar) {
+
+        private static DatosAnfitrion de(Acto acto, Anfitrion anfitrion) {
+            Map<TipoDeZona, Invitacion> invitaciones = new EnumMap<>(TipoDeZona.class);
+            Map<TipoDeZona, List<Invitado>> invitadosSinAsignar = new EnumMap<>(TipoDeZona.class);
+            for (TipoDeZona tipo : TipoDeZona.values()) {
+                Invitacion invitacion = anfitrion.getInvitacionPorTipoDeZona(acto, tipo);
+                if (invitacion != null) {
+                    invitaciones.put(tipo, invitacion);
+                }
+                invitadosSinAsignar.put(tipo, List.copyOf(anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, tipo)));
+            }
+            return new DatosAnfitrion(anfitrion, anfitrion.getDni(), anfitrion.getUnidadDeFormacion(),
+                    Collections.unmodifiableMap(invitaciones), Collections.unmodifiableMap(invitadosSinAsignar),
+                    List.copyOf(anfitrion.getInvitadosAUnActoPorZona(acto, GENERICA)),
+                    (int) anfitrion.getNumeroInvitadosDeUnActoPorZona(acto, TRIBUNA),
+                    List.copyOf(anfitrion.getCochesSinAsignarDeUnActo(acto)));
+        }
+    }
+}
\ No newline at end of file
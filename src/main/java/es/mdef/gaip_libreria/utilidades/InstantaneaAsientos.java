@@ -0,0 +1,147 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.TablaPrioridades;
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.TRIBUNA;
+
+/**
+ * Instantánea en columnas del reparto de la tribuna, con los datos que necesitan los {@link OrganizadorAsientos}.
+ * <p>
+ * Se construye en una sola pasada sobre un {@link PlanificadorAsientos}, es decir, sobre la {@link InstantaneaActo}
+ * más lo que el plan ya ha repartido. Los anfitriones se toman en el orden de
+ * {@link PlanificadorAsientos#getAnfitrionesOrdenadosPorTribuna()}, con sus invitados sin asignar en la tribuna
+ * seguidos, y los grupos de asientos son los tramos libres de cada zona de la tribuna, en el orden de las zonas y con
+ * sus localidades seguidas. Los recuentos por anfitrión y por grupo se guardan en arrays de enteros, y los invitados y las
+ * localidades en listas en ese mismo orden para traducir la solución.
+ * </p>
+ * <p>
+ * Cada anfitrión guarda el identificador de su unidad y cada grupo el de su zona en la {@link TablaPrioridades}
+ * del acto, de modo que la matriz de prioridades que reciben los organizadores se obtiene de la tabla sin consultar
+ * las zonas ni guardar otra matriz.
+ * </p>
+ */
+final class InstantaneaAsientos {
+    private final int[] invitadosPorAnfitrion;
+    private final int[] unidadDeAnfitrion;
+    private final List<Invitado> invitados = new ArrayList<>();
+    private final List<LocalidadConfigurada> localidades = new ArrayList<>();
+    private final int[] capacidadGrupos;
+    private final int[] idZonaDeGrupo;
+    private final TablaPrioridades tablaPrioridades;
+
+    private InstantaneaAsientos(PlanificadorAsientos plan) {
+        List<Anfitrion> anfitriones = plan.getAnfitrionesOrdenadosPorTribuna();
+        List<ZonaConfigurada> zonas = plan.getZonas(TRIBUNA);
+        tablaPrioridades = plan.getTablaPrioridades();
+
+        invitadosPorAnfitrion = new int[anfitriones.size()];
+        unidadDeAnfitrion = new int[anfitriones.size()];
+        for (int i = 0; i < anfitriones.size(); i++) {
+            Anfitrion anfitrion = anfitriones.get(i);
+            unidadDeAnfitrion[i] = tablaPrioridades.getIdUnidad(plan.getUnidadDeFormacion(anfitrion));
+            int primero = invitados.size();
+            invitados.addAll(plan.getInvitadosSinAsignar(anfitrion, TRIBUNA));
+            invitadosPorAnfitrion[i] = invitados.size() - primero;
+        }
+
+        int[] capacidades = new int[Math.max(zonas.size(), 8)];
+        int[] idsZona = new int[capacidades.length];
+        int grupos = 0;
+        for (ZonaConfigurada zona : zonas) {
+            int idZona = tablaPrioridades.getIdZona(zona);
+            for (List<LocalidadConfigurada> grupo : plan.getMapaLocalidades(zona).getTramosLibres()) {
+                if (grupos == capacidades.length) {
+                    capacidades = Arrays.copyOf(capacidades, grupos * 2);
+                    idsZona = Arrays.copyOf(idsZona, grupos * 2);
+                }
+                localidades.addAll(grupo);
+                capacidades[grupos] = grupo.size();
+                idsZona[grupos++] = idZona;
+            }
+        }
+        capacidadGrupos = Arrays.copyOf(capacidades, grupos);
+        idZonaDeGrupo = Arrays.copyOf(idsZona, grupos);
+    }
+
+    /**
+     * Toma la instantánea del reparto de la tribuna en el estado actual del plan.
+     *
+     * @param plan Reparto de asientos en curso.
+     * @return La instantánea del reparto de la tribuna.
+     */
+    static InstantaneaAsientos de(PlanificadorAsientos plan) {
+        return new InstantaneaAsientos(plan);
+    }
+
+    /**
+     * Devuelve el número de invitados sin asignar de cada anfitrión.
+     *
+     * @return Nuevo array indexado por anfitrión.
+     */
+    int[] getInvitadosPorAnfitrion() {
+        return invitadosPorAnfitrion.clone();
+    }
+
+    /**
+     * Devuelve el número de asientos de cada grupo.
+     *
+     * @return Nuevo array indexado por grupo.
+     */
+    int[] getCapacidadGrupos() {
+        return capacidadGrupos.clone();
+    }
+
+    /**
+     * Construye la matriz de prioridades por anfitrión y grupo a partir de la tabla de prioridades del acto.
+     * Las zonas sin prioridad para la unidad del anfitrión, o con prioridad 0, tienen prioridad
+     * {@link Integer#MAX_VALUE}. Los anfitriones de una misma unidad comparten la fila, que no se debe modificar.
+     *
+     * @return Nueva matriz indexada por anfitrión y grupo.
+     */
+    int[][] getPrioridades() {
+        int[][] filasPorUnidad = new int[tablaPrioridades.getNumeroUnidades() + 1][];
+        int[][] prioridades = new int[unidadDeAnfitrion.length][];
+        for (int anfitrion = 0; anfitrion < unidadDeAnfitrion.length; anfitrion++) {
+            int unidad = unidadDeAnfitrion[anfitrion];
+            int[] fila = filasPorUnidad[unidad + 1];
+            if (fila == null) {
+                fila = new int[idZonaDeGrupo.length];
+                for (int grupo = 0; grupo < idZonaDeGrupo.length; grupo++) {
+                    int prioridad = tablaPrioridades.getPrioridad(unidad, idZonaDeGrupo[grupo]);
+                    fila[grupo] = prioridad == 0 ? Integer.MAX_VALUE : prioridad;
+                }
+                filasPorUnidad[unidad + 1] = fila;
+            }
+            prioridades[anfitrion] = fila;
+        }
+        return prioridades;
+    }
+
+    /**
+     * Devuelve el invitado de un índice.
+     *
+     * @param indice Índice del invitado.
+     * @return El invitado.
+     */
+    Invitado getInvitado(int indice) {
+        return invitados.get(indice);
+    }
+
+    /**
+     * Devuelve la localidad de un índice.
+     *
+     * @param indice Índice de la localidad, contando las localidades de todos los grupos seguidas.
+     * @return La localidad configurada.
+     */
+    LocalidadConfigurada getLocalidad(int indice) {
+        return localidades.get(indice);
+    }
+}
\ No newline at end of file
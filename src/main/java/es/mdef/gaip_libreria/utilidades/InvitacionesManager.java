@@ -125,8 +125,6 @@ public final class InvitacionesManager {
     }
 
     private static List<Anfitrion> ordenarAnfitrionesPorNumeroDeInvitados(Acto acto, Set<Anfitrion> anfitrionesSet) {
-        List<Anfitrion> anfitriones = new ArrayList<>(anfitrionesSet);
-        anfitriones.sort(new ComparadorPorCantidadDeInvitadosEnZona(TipoDeZona.TRIBUNA, acto));
-        return anfitriones;
+        return new ComparadorPorCantidadDeInvitadosEnZona(TipoDeZona.TRIBUNA, acto).ordenar(anfitrionesSet);
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de larga duración que organiza los asientos en sus propios hilos, sin bloquear al hilo que lo solicita.
+ * <p>
+ * Las bibliotecas nativas de OR-Tools se cargan una sola vez al crear el motor y los solvers se pueden precalentar
+ * con {@link #precalentar()} para que la primera organización real no pague su inicialización. Las solicitudes se
+ * ejecutan en un número fijo de hilos con una cola acotada; si la cola está llena, el futuro devuelto termina con una
+ * {@link RejectedExecutionException} en lugar de bloquear al llamante. Una vez aceptada, el futuro de una solicitud
+ * termina siempre: con su resultado o con la excepción o el error que lance, por ejemplo al cargar las bibliotecas
+ * nativas.
+ * </p>
+ * <p>
+ * Cancelar el futuro de una organización la retira de la cola si todavía no ha empezado o detiene su solver si ya
+ * está en curso, mediante {@link OrganizadorAsientos#cancelar()}.
+ * </p>
+ */
+public final class MotorOrganizacionAsientos implements AutoCloseable {
+    private static final int CAPACIDAD_COLA_POR_DEFECTO = 64;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<CompletableFuture<?>> pendientes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor de la clase con un hilo por procesador disponible y la capacidad de cola por defecto.
+     */
+    public MotorOrganizacionAsientos() {
+        this(Runtime.getRuntime().availableProcessors(), CAPACIDAD_COLA_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param numHilos      Número de organizaciones que se ejecutan a la vez.
+     * @param capacidadCola Número máximo de organizaciones en espera.
+     * @throws IllegalArgumentException Si el número de hilos o la capacidad de la cola no son positivos.
+     */
+    public MotorOrganizacionAsientos(int numHilos, int capacidadCola) {
+        if (numHilos <= 0) {
+            throw new IllegalArgumentException("El número de hilos del motor de asientos debe ser positivo: " + numHilos);
+        }
+        if (capacidadCola <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola del motor de asientos debe ser positiva: " + capacidadCola);
+        }
+        BibliotecasNativas.cargar();
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(numHilos, numHilos, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+            Thread hilo = new Thread(tarea, "motor-asientos-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Resuelve en segundo plano un problema mínimo con SCIP y con CP-SAT para inicializar ambos solvers.
+     *
+     * @return Futuro que termina cuando los solvers están inicializados.
+     */
+    public CompletableFuture<Void> precalentar() {
+        return ejecutar(() -> {
+            for (FormulacionAsientos formulacion : new FormulacionAsientos[]{FormulacionAsientos.POR_BLOQUE, FormulacionAsientos.CP_SAT}) {
+                OrganizadorAsientos.crear(formulacion, new int[]{1}, new int[]{1}, new int[][]{{1}}, PresupuestoResolucion.porDefecto(), false).organizar();
+            }
+            return null;
+        }, () -> {
+        });
+    }
+
+    /**
+     * Envía un organizador de asientos para ejecutarlo en el motor.
+     *
+     * @param organizador Organizador de asientos.
+     * @return Futuro con el resultado de la organización, que termina con {@link es.mdef.gaip_libreria.excepciones.SinSolucionException}
+     * si no se encuentra solución.
+     */
+    public CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> organizar(OrganizadorAsientos organizador) {
+        return ejecutar(organizador::organizar, organizador::cancelar);
+    }
+
+    /**
+     * Envía al motor el problema indicado para resolverlo con el motor de asientos dado, tras descartar con
+     * {@link DiagnosticoViabilidad} los problemas sin solución.
+     *
+     * @param solucionador          Motor de asientos.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @return Futuro con el resultado de la organización.
+     */
+    public CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> organizar(SolucionadorAsientos solucionador, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return organizar(new OrganizadorAsientosConDiagnostico(invitadosPorAnfitrion, capacidadAsientos, prioridades,
+                (invitados, capacidades, prioridadesAnfitrion) -> solucionador.crearOrganizador(invitados, capacidades, prioridadesAnfitrion, presupuesto)));
+    }
+
+    /**
+     * Envía al motor el problema indicado para resolverlo con el motor de asientos que la política elige según su tamaño.
+     *
+     * @param politica              Política de selección del motor de asientos.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @return Futuro con el resultado de la organización.
+     */
+    public CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> organizar(PoliticaSeleccionSolucionador politica, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        SolucionadorAsientos solucionador = politica.seleccionar(Arrays.stream(invitadosPorAnfitrion).sum(), Arrays.stream(capacidadAsientos).sum());
+        return organizar(solucionador, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto);
+    }
+
+    /**
+     * Calcula en segundo plano el plan de asientos de la instantánea con
+     * {@link AsignadorAsientos#planificar(InstantaneaActo, PoliticaSeleccionSolucionador, PresupuestoResolucion)}.
+     * Como la planificación no modifica el acto, se pueden calcular a la vez varios planes de la misma instantánea,
+     * por ejemplo con distintas políticas, y aplicar solo el que interese. Mientras tanto, el acto puede seguir
+     * repartiendo localidades, pero no se debe cambiar la disposición de sus zonas (véase {@link InstantaneaActo}).
+     * Cancelar el futuro detiene el solver de la tribuna.
+     *
+     * @param instantanea Instantánea del acto.
+     * @param politica    Política de selección del motor de asientos de la tribuna.
+     * @param presupuesto Presupuesto de resolución.
+     * @return Futuro con el plan de asientos.
+     */
+    public CompletableFuture<PlanDeAsientos> planificar(InstantaneaActo instantanea, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto) {
+        Cancelacion cancelacion = new Cancelacion();
+        return ejecutar(() -> AsignadorAsientos.planificar(instantanea, politica, presupuesto, cancelacion), cancelacion::solicitar);
+    }
+
+    /**
+     * Calcula en segundo plano el plan que sienta a los invitados del acto, como
+     * {@link AsignadorAsientos#sentarInvitados(Acto, PoliticaSeleccionSolucionador, PresupuestoResolucion)}.
+     * La instantánea del acto se toma en el hilo que llama y el motor no modifica el acto: quien llama aplica el plan
+     * con {@link PlanDeAsientos#aplicar()} en su propio hilo, que descarta las operaciones que el acto haya dejado sin
+     * efecto mientras se calculaba.
+     *
+     * @param acto        Acto en el que se van a sentar los invitados.
+     * @param politica    Política de selección del motor de asientos de la tribuna.
+     * @param presupuesto Presupuesto de resolución.
+     * @return Futuro con el plan de asientos.
+     */
+    public CompletableFuture<PlanDeAsientos> planificar(Acto acto, PoliticaSeleccionSolucionador politica, PresupuestoResolucion presupuesto) {
+        return planificar(InstantaneaActo.de(acto), politica, presupuesto);
+    }
+
+    /**
+     * Detiene el motor: cancela las organizaciones en espera y en curso, lo que detiene sus solvers, interrumpe los
+     * hilos del motor y deja de aceptar nuevas solicitudes.
+     */
+    @Override
+    public void close() {
+        new ArrayList<>(pendientes).forEach(futuro -> futuro.cancel(true));
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> tarea, Runnable alCancelar) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        pendientes.add(futuro);
+        Future<?> ejecucion;
+        try {
+            ejecucion = executor.submit(() -> {
+                if (futuro.isDone()) {
+                    return;
+                }
+                try {
+                    futuro.complete(tarea.get());
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendientes.remove(futuro);
+            futuro.completeExceptionally(e);
+            return futuro;
+        }
+
+        futuro.whenComplete((resultado, error) -> {
+            pendientes.remove(futuro);
+            if (futuro.isCancelled()) {
+                ejecucion.cancel(false);
+                executor.purge();
+                alCancelar.run();
+            }
+        });
+        return futuro;
+    }
+}
\ No newline at end of file
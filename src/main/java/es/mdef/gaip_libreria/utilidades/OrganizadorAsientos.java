@@ -0,0 +1,88 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+/**
+ * Define el comportamiento común de los algoritmos que organizan los asientos de los invitados.
+ * <p>
+ * Todas las implementaciones reciben los mismos datos de entrada (invitados por anfitrión, capacidad de cada
+ * grupo de asientos y prioridades por anfitrión y grupo) y devuelven un
+ * {@link AlgoritmoOrganizacionAsientos.ResultadoOrganizacion} con la misma numeración de invitados y asientos,
+ * de modo que son intercambiables y comparables entre sí.
+ * </p>
+ */
+public interface OrganizadorAsientos {
+
+    /**
+     * Crea el organizador correspondiente a la formulación indicada.
+     *
+     * @param formulacion           Formulación del modelo a utilizar.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @return El organizador de asientos correspondiente.
+     */
+    static OrganizadorAsientos crear(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        return crear(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, PresupuestoResolucion.porDefecto());
+    }
+
+    /**
+     * Crea el organizador correspondiente a la formulación indicada, limitado por el presupuesto de resolución dado.
+     * El solver arranca desde la solución de {@link HeuristicaOrganizacionAsientos}.
+     *
+     * @param formulacion           Formulación del modelo a utilizar.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @return El organizador de asientos correspondiente.
+     */
+    static OrganizadorAsientos crear(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return crear(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, true);
+    }
+
+    /**
+     * Crea el organizador correspondiente a la formulación indicada, limitado por el presupuesto de resolución dado.
+     * Con arranque en caliente se calcula primero la solución voraz de {@link HeuristicaOrganizacionAsientos}
+     * y se sugiere al solver como solución inicial; si la heurística no consigue sentar a todos los invitados,
+     * el solver arranca en frío.
+     *
+     * @param formulacion           Formulación del modelo a utilizar.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @param arranqueEnCaliente    Indica si se debe arrancar el solver desde la solución de la heurística.
+     * @return El organizador de asientos correspondiente.
+     */
+    static OrganizadorAsientos crear(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, boolean arranqueEnCaliente) {
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion solucionInicial = arranqueEnCaliente
+                ? HeuristicaOrganizacionAsientos.calcularSolucionInicial(invitadosPorAnfitrion, capacidadAsientos, prioridades)
+                : null;
+        return switch (formulacion) {
+            case POR_ASIENTO -> new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, solucionInicial);
+            case POR_BLOQUE -> new AlgoritmoOrganizacionAsientosPorBloques(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, solucionInicial);
+            case RAMIFICACION_Y_PODA -> new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, solucionInicial);
+            case CP_SAT -> new AlgoritmoOrganizacionAsientosCpSat(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, solucionInicial);
+        };
+    }
+
+    /**
+     * Organiza los asientos de acuerdo a las prioridades y restricciones dadas.
+     * Si el presupuesto de resolución se agota, devuelve la mejor solución factible encontrada.
+     *
+     * @return Resultado de la organización.
+     * @throws SinSolucionException Si no se encuentra ninguna solución factible.
+     */
+    AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException;
+
+    /**
+     * Solicita que la organización en curso se detenga lo antes posible. Puede llamarse desde cualquier hilo,
+     * antes o durante {@link #organizar()}; tras la cancelación, {@link #organizar()} devuelve la mejor solución
+     * encontrada hasta ese momento o lanza {@link SinSolucionException} si no tiene ninguna.
+     * Por defecto no hace nada, lo que es adecuado para los organizadores que terminan en poco tiempo.
+     */
+    default void cancelar() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.excepciones.ProblemaInviableException;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.util.Arrays;
+
+/**
+ * Organizador de asientos que analiza el problema con {@link DiagnosticoViabilidad} antes de crear el organizador que
+ * lo resuelve.
+ * <p>
+ * Los problemas viables se pasan sin cambios al organizador. Si algún anfitrión no cabe en ningún grupo de asientos,
+ * se retira del problema, se resuelve el resto y sus invitados quedan sin asignar. Si el problema no tiene solución
+ * ni siquiera tras retirarlos, se lanza una {@link ProblemaInviableException} sin llegar a construir el modelo.
+ * </p>
+ */
+final class OrganizadorAsientosConDiagnostico implements OrganizadorAsientos {
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+    private final FabricaOrganizadorAsientos fabrica;
+    private final Cancelacion cancelacion = new Cancelacion();
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param fabrica               Fábrica del organizador que resuelve el problema viable.
+     */
+    OrganizadorAsientosConDiagnostico(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, FabricaOrganizadorAsientos fabrica) {
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Analiza el problema y, si tiene solución, lo resuelve completo o sin los anfitriones que no caben en ningún grupo.
+     *
+     * @return Resultado de la organización, sin los invitados de los anfitriones retirados.
+     * @throws ProblemaInviableException Si el análisis previo demuestra que el problema no tiene solución.
+     * @throws SinSolucionException      Si el organizador no encuentra ninguna solución factible.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        DiagnosticoViabilidad diagnostico = DiagnosticoViabilidad.analizar(invitadosPorAnfitrion, capacidadAsientos);
+        if (diagnostico.esViable()) {
+            return organizarCon(invitadosPorAnfitrion);
+        }
+        if (!diagnostico.esViableTrasRecorte()) {
+            throw new ProblemaInviableException(diagnostico.motivos(), diagnostico.anfitrionesSinGrupo());
+        }
+
+        int[] recortado = diagnostico.recortar(invitadosPorAnfitrion);
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = organizarCon(recortado);
+
+        int[] indiceOriginal = calcularIndicesOriginales(recortado);
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        Arrays.fill(asientoPorInvitado, AlgoritmoOrganizacionAsientos.ResultadoOrganizacion.SIN_ASIENTO);
+        for (int invitado = 0; invitado < indiceOriginal.length; invitado++) {
+            asientoPorInvitado[indiceOriginal[invitado]] = resultado.asientoDe(invitado);
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asientoPorInvitado, resultado.estado(), resultado.gap());
+    }
+
+    /**
+     * Cancela la resolución del organizador creado por la fábrica.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
+    }
+
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizarCon(int[] invitados) throws SinSolucionException {
+        OrganizadorAsientos organizador = fabrica.crear(invitados, capacidadAsientos, prioridades);
+        return cancelacion.mientras(organizador::cancelar, organizador::organizar);
+    }
+
+    /**
+     * Calcula, para cada invitado del problema recortado, su índice en la numeración del problema original.
+     */
+    private int[] calcularIndicesOriginales(int[] recortado) {
+        int total = 0;
+        for (int cantidad : recortado) {
+            total += cantidad;
+        }
+        int[] indiceOriginal = new int[total];
+        int indice = 0;
+        int inicioOriginal = 0;
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            for (int i = 0; i < recortado[a]; i++) {
+                indiceOriginal[indice++] = inicioOriginal + i;
+            }
+            inicioOriginal += invitadosPorAnfitrion[a];
+        }
+        return indiceOriginal;
+    }
+}
\ No newline at end of file
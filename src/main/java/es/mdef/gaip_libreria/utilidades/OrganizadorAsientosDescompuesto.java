@@ -0,0 +1,351 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+import es.mdef.gaip_libreria.excepciones.PresupuestoAgotadoException;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Organiza los asientos descomponiendo el problema en subproblemas independientes que se resuelven en paralelo.
+ * <p>
+ * Un anfitrión y un grupo de asientos están relacionados si la prioridad del anfitrión para ese grupo es finita,
+ * es decir, distinta de {@link Integer#MAX_VALUE}. Las componentes conexas de esa relación no comparten ni
+ * anfitriones ni asientos, por lo que cada una se resuelve como un modelo propio en un hilo distinto y los
+ * resultados se combinan en una única asignación con la numeración original de invitados y asientos.
+ * </p>
+ * <p>
+ * Si algún anfitrión no tiene ningún grupo con prioridad finita, si solo existe una componente o si alguna
+ * componente no tiene solución por sí misma, se resuelve el problema completo en un único modelo, que puede
+ * recurrir a los grupos con prioridad infinita. Las componentes que {@link DiagnosticoViabilidad} descarta se
+ * detectan antes de construir ningún modelo.
+ * </p>
+ * <p>
+ * El tiempo máximo del presupuesto es un plazo común a toda la organización: cada componente y la resolución sin
+ * descomponer reciben el tiempo que queda hasta ese plazo al empezar, no el presupuesto completo. Cuando una
+ * componente no tiene solución, se cancelan las demás y se espera a que terminen antes de resolver el problema
+ * completo. Las componentes se resuelven en el ejecutor indicado o, si no se indica ninguno, en un ejecutor
+ * compartido por todos los organizadores con un hilo por procesador disponible.
+ * </p>
+ */
+public class OrganizadorAsientosDescompuesto implements OrganizadorAsientos {
+    private final Function<PresupuestoResolucion, FabricaOrganizadorAsientos> fabricas;
+    private final int[] invitadosPorAnfitrion;
+    private final int[] capacidadAsientos;
+    private final int[][] prioridades;
+    private final PresupuestoResolucion presupuesto;
+    private final Executor ejecutor;
+    private final Cancelacion cancelacion = new Cancelacion();
+
+    /**
+     * Constructor de la clase que resuelve las componentes en el ejecutor compartido.
+     *
+     * @param formulacion           Formulación del modelo con la que se resuelve cada componente.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución de toda la organización.
+     */
+    public OrganizadorAsientosDescompuesto(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        this(formulacion, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, EjecutorCompartido.INSTANCIA);
+    }
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param formulacion           Formulación del modelo con la que se resuelve cada componente.
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución de toda la organización.
+     * @param ejecutor              Ejecutor en el que se resuelven las componentes. No debe ser el ejecutor en el que
+     *                              se llama a {@link #organizar()} si tiene un número fijo de hilos.
+     * @throws IllegalArgumentException si el ejecutor es nulo.
+     */
+    public OrganizadorAsientosDescompuesto(FormulacionAsientos formulacion, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, Executor ejecutor) {
+        this(invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto, ejecutor,
+                restante -> (invitados, capacidades, prioridadesAnfitrion) ->
+                        OrganizadorAsientos.crear(formulacion, invitados, capacidades, prioridadesAnfitrion, restante));
+    }
+
+    /**
+     * Constructor de la clase que crea el organizador de cada componente, y el del problema completo, con la fábrica
+     * que se obtiene para el presupuesto que le queda.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución de toda la organización.
+     * @param ejecutor              Ejecutor en el que se resuelven las componentes.
+     * @param fabricas              Devuelve la fábrica de organizadores para el presupuesto restante.
+     * @throws IllegalArgumentException si el ejecutor es nulo.
+     */
+    OrganizadorAsientosDescompuesto(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto, Executor ejecutor,
+                                    Function<PresupuestoResolucion, FabricaOrganizadorAsientos> fabricas) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor no puede ser nulo.");
+        }
+        this.fabricas = fabricas;
+        this.invitadosPorAnfitrion = invitadosPorAnfitrion;
+        this.capacidadAsientos = capacidadAsientos;
+        this.prioridades = prioridades;
+        this.presupuesto = presupuesto;
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Organiza los asientos resolviendo en paralelo cada componente independiente del problema.
+     *
+     * @return Resultado de la organización.
+     * @throws PresupuestoAgotadoException Si se alcanza el plazo sin haber encontrado ninguna solución.
+     * @throws SinSolucionException        Si no se encuentra ninguna solución factible.
+     */
+    @Override
+    public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() throws SinSolucionException {
+        long plazo = System.nanoTime() + presupuesto.tiempoMaximo().toNanos();
+        List<Componente> componentes = calcularComponentes();
+        if (componentes == null || componentes.size() <= 1) {
+            return organizarSinDescomponer(plazo);
+        }
+        for (Componente componente : componentes) {
+            if (!DiagnosticoViabilidad.analizar(componente.invitadosPorAnfitrion(), componente.capacidadAsientos()).esViable()) {
+                return organizarSinDescomponer(plazo);
+            }
+        }
+
+        Cancelacion hermanas = new Cancelacion();
+        List<CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion>> futuros = new ArrayList<>();
+        for (Componente componente : componentes) {
+            futuros.add(CompletableFuture.supplyAsync(() -> organizarComponente(componente, plazo, hermanas), ejecutor));
+        }
+
+        List<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> resultados = new ArrayList<>();
+        RuntimeException error = null;
+        for (CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> futuro : futuros) {
+            try {
+                resultados.add(futuro.join());
+            } catch (CompletionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof RuntimeException causa ? causa : e;
+                    hermanas.solicitar();
+                }
+            }
+        }
+        if (error == null) {
+            return combinar(componentes, resultados);
+        }
+        if (!(error instanceof SinSolucionException) || cancelacion.solicitada()) {
+            throw error;
+        }
+        return organizarSinDescomponer(plazo);
+    }
+
+    /**
+     * Resuelve una componente con el tiempo que queda hasta el plazo. Si otra componente ya ha fallado, la componente
+     * se abandona sin construir su modelo.
+     */
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizarComponente(Componente componente, long plazo, Cancelacion hermanas) {
+        if (hermanas.solicitada()) {
+            throw new SinSolucionException("Se ha abandonado la componente porque otra componente no tiene solución");
+        }
+        OrganizadorAsientos organizador = fabricas.apply(presupuestoRestante(plazo)).crear(componente.invitadosPorAnfitrion(),
+                componente.capacidadAsientos(), componente.prioridades());
+        return cancelacion.mientras(organizador::cancelar,
+                () -> hermanas.mientras(organizador::cancelar, organizador::organizar));
+    }
+
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizarSinDescomponer(long plazo) throws SinSolucionException {
+        OrganizadorAsientos organizador = fabricas.apply(presupuestoRestante(plazo)).crear(invitadosPorAnfitrion, capacidadAsientos, prioridades);
+        return cancelacion.mientras(organizador::cancelar, organizador::organizar);
+    }
+
+    /**
+     * Calcula el presupuesto con el tiempo que queda hasta el plazo, conservando el gap y el límite de nodos.
+     *
+     * @throws PresupuestoAgotadoException Si queda menos de un milisegundo, el mínimo que admiten los solvers.
+     */
+    private PresupuestoResolucion presupuestoRestante(long plazo) {
+        long restante = plazo - System.nanoTime();
+        if (restante < Duration.ofMillis(1).toNanos()) {
+            throw new PresupuestoAgotadoException();
+        }
+        return new PresupuestoResolucion(Duration.ofNanos(restante), presupuesto.gapRelativo(), presupuesto.limiteNodos());
+    }
+
+    /**
+     * Cancela la resolución de todas las componentes en curso y de las que se creen a partir de ahora.
+     */
+    @Override
+    public void cancelar() {
+        cancelacion.solicitar();
+    }
+
+    /**
+     * Calcula las componentes conexas de anfitriones con invitados y grupos de asientos.
+     * Los grupos que no están relacionados con ningún anfitrión con invitados se descartan.
+     *
+     * @return Las componentes, o {@code null} si algún anfitrión con invitados no tiene ningún grupo con prioridad finita.
+     */
+    private List<Componente> calcularComponentes() {
+        int numAnfitriones = invitadosPorAnfitrion.length;
+        int numGrupos = capacidadAsientos.length;
+        int[] padre = new int[numAnfitriones + numGrupos];
+        for (int i = 0; i < padre.length; i++) {
+            padre[i] = i;
+        }
+
+        for (int a = 0; a < numAnfitriones; a++) {
+            if (invitadosPorAnfitrion[a] == 0) {
+                continue;
+            }
+            boolean tieneGrupo = false;
+            for (int g = 0; g < numGrupos; g++) {
+                if (prioridades[a][g] != Integer.MAX_VALUE) {
+                    unir(padre, a, numAnfitriones + g);
+                    tieneGrupo = true;
+                }
+            }
+            if (!tieneGrupo) {
+                return null;
+            }
+        }
+
+        Map<Integer, List<Integer>> anfitrionesPorRaiz = new LinkedHashMap<>();
+        for (int a = 0; a < numAnfitriones; a++) {
+            if (invitadosPorAnfitrion[a] > 0) {
+                anfitrionesPorRaiz.computeIfAbsent(buscar(padre, a), raiz -> new ArrayList<>()).add(a);
+            }
+        }
+        Map<Integer, List<Integer>> gruposPorRaiz = new HashMap<>();
+        for (int g = 0; g < numGrupos; g++) {
+            gruposPorRaiz.computeIfAbsent(buscar(padre, numAnfitriones + g), raiz -> new ArrayList<>()).add(g);
+        }
+
+        List<Componente> componentes = new ArrayList<>();
+        anfitrionesPorRaiz.forEach((raiz, anfitriones) ->
+                componentes.add(crearComponente(anfitriones, gruposPorRaiz.get(raiz))));
+        return componentes;
+    }
+
+    private Componente crearComponente(List<Integer> anfitriones, List<Integer> grupos) {
+        int[] anfitrionesArray = anfitriones.stream().mapToInt(Integer::intValue).toArray();
+        int[] gruposArray = grupos.stream().mapToInt(Integer::intValue).toArray();
+
+        int[] invitados = new int[anfitrionesArray.length];
+        int[][] prioridadesComponente = new int[anfitrionesArray.length][gruposArray.length];
+        for (int i = 0; i < anfitrionesArray.length; i++) {
+            invitados[i] = invitadosPorAnfitrion[anfitrionesArray[i]];
+            for (int j = 0; j < gruposArray.length; j++) {
+                prioridadesComponente[i][j] = prioridades[anfitrionesArray[i]][gruposArray[j]];
+            }
+        }
+        int[] capacidades = new int[gruposArray.length];
+        for (int j = 0; j < gruposArray.length; j++) {
+            capacidades[j] = capacidadAsientos[gruposArray[j]];
+        }
+        return new Componente(anfitrionesArray, gruposArray, invitados, capacidades, prioridadesComponente);
+    }
+
+    /**
+     * Traduce los resultados de cada componente a la numeración original de invitados y asientos.
+     * El estado combinado solo es óptimo si lo son todas las componentes y el gap combinado es el mayor de ellos.
+     */
+    private AlgoritmoOrganizacionAsientos.ResultadoOrganizacion combinar(List<Componente> componentes, List<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> resultados) {
+        int[] inicioInvitados = OrganizadorAsientosHelper.sumasAcumuladas(invitadosPorAnfitrion);
+        int[] inicioGrupos = OrganizadorAsientosHelper.sumasAcumuladas(capacidadAsientos);
+
+        int[] asientoPorInvitado = new int[Arrays.stream(invitadosPorAnfitrion).sum()];
+        Arrays.fill(asientoPorInvitado, AlgoritmoOrganizacionAsientos.ResultadoOrganizacion.SIN_ASIENTO);
+        EstadoResolucion estado = EstadoResolucion.OPTIMA;
+        double gap = 0;
+        for (int c = 0; c < componentes.size(); c++) {
+            Componente componente = componentes.get(c);
+            AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = resultados.get(c);
+
+            int[] invitadoGlobal = numeracionGlobal(componente.anfitriones(), componente.invitadosPorAnfitrion(), inicioInvitados);
+            int[] asientoGlobal = numeracionGlobal(componente.grupos(), componente.capacidadAsientos(), inicioGrupos);
+            for (int invitado = 0; invitado < invitadoGlobal.length; invitado++) {
+                int asiento = resultado.asientoDe(invitado);
+                if (asiento != AlgoritmoOrganizacionAsientos.ResultadoOrganizacion.SIN_ASIENTO) {
+                    asientoPorInvitado[invitadoGlobal[invitado]] = asientoGlobal[asiento];
+                }
+            }
+
+            if (!resultado.esOptima()) {
+                estado = EstadoResolucion.FACTIBLE;
+            }
+            gap = Math.max(gap, resultado.gap());
+        }
+        return new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(asientoPorInvitado, estado, gap);
+    }
+
+    private static int[] numeracionGlobal(int[] indicesOriginales, int[] cantidades, int[] inicioOriginal) {
+        int total = 0;
+        for (int cantidad : cantidades) {
+            total += cantidad;
+        }
+        int[] global = new int[total];
+        int indice = 0;
+        for (int i = 0; i < indicesOriginales.length; i++) {
+            for (int j = 0; j < cantidades[i]; j++) {
+                global[indice++] = inicioOriginal[indicesOriginales[i]] + j;
+            }
+        }
+        return global;
+    }
+
+    private static int buscar(int[] padre, int i) {
+        while (padre[i] != i) {
+            padre[i] = padre[padre[i]];
+            i = padre[i];
+        }
+        return i;
+    }
+
+    private static void unir(int[] padre, int i, int j) {
+        padre[buscar(padre, i)] = buscar(padre, j);
+    }
+
+    /**
+     * Subproblema independiente formado por un conjunto de anfitriones y los grupos de asientos relacionados con ellos.
+     *
+     * @param anfitriones           Índices originales de los anfitriones de la componente.
+     * @param grupos                Índices originales de los grupos de asientos de la componente.
+     * @param invitadosPorAnfitrion Número de invitados de cada anfitrión de la componente.
+     * @param capacidadAsientos     Capacidad de cada grupo de asientos de la componente.
+     * @param prioridades           Prioridades restringidas a los anfitriones y grupos de la componente.
+     */
+    private record Componente(int[] anfitriones, int[] grupos, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+    }
+
+    /**
+     * Ejecutor compartido por todos los organizadores descompuestos, que se crea la primera vez que se usa.
+     * Sus hilos son demonios para no impedir que la aplicación termine.
+     */
+    private static final class EjecutorCompartido {
+        private static final ExecutorService INSTANCIA = crear();
+
+        private static ExecutorService crear() {
+            AtomicInteger contador = new AtomicInteger();
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), tarea -> {
+                Thread hilo = new Thread(tarea, "componentes-asientos-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package es.mdef.gaip_libreria.utilidades;
+
+/**
+ * Clase de utilidad con las operaciones que comparten los organizadores de asientos.
+ * No está destinada a ser instanciada.
+ */
+final class OrganizadorAsientosHelper {
+
+    /**
+     * Constructor privado para prevenir la instanciación de esta clase de utilidad.
+     */
+    private OrganizadorAsientosHelper() {
+    }
+
+    /**
+     * Calcula las sumas acumuladas de un array, empezando en cero: cada posición contiene la suma de los valores
+     * anteriores a ella. Aplicado al número de invitados por anfitrión o a la capacidad de los grupos de asientos, da
+     * el índice del primer invitado de cada anfitrión o del primer asiento de cada grupo.
+     *
+     * @param valores Valores a acumular.
+     * @return Nuevo array, de la misma longitud, con la suma de los valores anteriores a cada posición.
+     */
+    static int[] sumasAcumuladas(int[] valores) {
+        int[] sumas = new int[valores.length];
+        for (int i = 1; i < valores.length; i++) {
+            sumas[i] = sumas[i - 1] + valores[i - 1];
+        }
+        return sumas;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad.LIBRE;
+
+/**
+ * Plan de asientos de un acto: la lista ordenada de operaciones que sientan a sus invitados y aparcan sus coches.
+ * <p>
+ * Un plan se calcula a partir de una {@link InstantaneaActo} sin modificar el acto, por lo que se pueden calcular
+ * varios planes a la vez, en otros hilos o con distintas estrategias, y descartar los que no interesen. El acto solo
+ * cambia al llamar a {@link #aplicar()}, que ejecuta las operaciones en una sola pasada y en el mismo orden en que
+ * se planificaron.
+ * </p>
+ * <p>
+ * El plan es inmutable. Como el acto puede cambiar desde que se tomó la instantánea, cada operación comprueba antes
+ * de aplicarse que sigue vigente: que la localidad sigue libre y que el invitado o el coche sigue sin asignar y en la
+ * invitación con la que se planificó. Las operaciones que ya no están vigentes se descartan sin modificar el acto.
+ * El plan se debe aplicar en el hilo que es dueño del acto, no en el que lo ha calculado.
+ * </p>
+ */
+public final class PlanDeAsientos {
+    private final List<Operacion> operaciones;
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param operaciones Operaciones del plan, en el orden en que se deben aplicar.
+     */
+    PlanDeAsientos(List<Operacion> operaciones) {
+        this.operaciones = List.copyOf(operaciones);
+    }
+
+    /**
+     * Devuelve las operaciones del plan, en el orden en que se aplican.
+     *
+     * @return Lista inmodificable de operaciones.
+     */
+    public List<Operacion> getOperaciones() {
+        return operaciones;
+    }
+
+    /**
+     * Aplica sobre el acto las operaciones del plan que siguen vigentes, en orden, y descarta las demás.
+     *
+     * @return Lista inmodificable de las operaciones descartadas, vacía si se ha aplicado todo el plan.
+     */
+    public List<Operacion> aplicar() {
+        List<Operacion> descartadas = new ArrayList<>();
+        for (Operacion operacion : operaciones) {
+            if (operacion.estaVigente()) {
+                operacion.aplicar();
+            } else {
+                descartadas.add(operacion);
+            }
+        }
+        return Collections.unmodifiableList(descartadas);
+    }
+
+    /**
+     * Operación de un plan de asientos.
+     */
+    public interface Operacion {
+
+        /**
+         * Indica si el acto sigue en el estado en el que se planificó la operación, de modo que aplicarla tiene el
+         * efecto planificado.
+         *
+         * @return true si la operación se puede aplicar, false si el acto ha cambiado desde la instantánea.
+         */
+        boolean estaVigente();
+
+        /**
+         * Aplica la operación sobre el acto.
+         */
+        void aplicar();
+    }
+
+    /**
+     * Cambio de la invitación de un invitado, por ejemplo al pasarlo de la lista de espera a la tribuna.
+     *
+     * @param invitado   Invitado que cambia de invitación.
+     * @param origen     Invitación del invitado al planificar el cambio.
+     * @param invitacion Nueva invitación del invitado.
+     */
+    public record Reclasificacion(Invitado invitado, Invitacion origen, Invitacion invitacion) implements Operacion {
+
+        @Override
+        public boolean estaVigente() {
+            return invitado.getLocalidad() == null && invitado.getInvitacion() == origen;
+        }
+
+        @Override
+        public void aplicar() {
+            invitacion.agregarInvitado(invitado, true);
+        }
+    }
+
+    /**
+     * Asignación de una localidad a un invitado.
+     *
+     * @param invitado   Invitado que se sienta.
+     * @param invitacion Invitación del invitado al planificar la asignación.
+     * @param localidad  Localidad asignada.
+     */
+    public record AsignacionLocalidad(Invitado invitado, Invitacion invitacion, LocalidadConfigurada localidad) implements Operacion {
+
+        @Override
+        public boolean estaVigente() {
+            return invitado.getLocalidad() == null && invitado.getInvitacion() == invitacion
+                    && localidad.getEstadoOcupacionLocalidad() == LIBRE;
+        }
+
+        @Override
+        public void aplicar() {
+            invitado.setLocalidad(localidad, true);
+        }
+    }
+
+    /**
+     * Asignación de una plaza de parking a un coche.
+     *
+     * @param coche Coche que se aparca.
+     * @param plaza Plaza asignada.
+     */
+    public record AsignacionPlaza(Coche coche, LocalidadConfigurada plaza) implements Operacion {
+
+        @Override
+        public boolean estaVigente() {
+            return coche.getLocalidad() == null && plaza.getEstadoOcupacionLocalidad() == LIBRE;
+        }
+
+        @Override
+        public void aplicar() {
+            coche.setLocalidad(plaza, true);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,329 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.TablaPrioridades;
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.ComparadorPorCantidadDeInvitadosEnZona;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.MapaLocalidades;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.TRIBUNA;
+
+/**
+ * Estado de un reparto de asientos en curso sobre una {@link InstantaneaActo}, que va acumulando las operaciones
+ * de un {@link PlanDeAsientos} sin modificar el acto.
+ * <p>
+ * Lleva la cuenta de las localidades que el plan ya ha ocupado y de los invitados que siguen sin asignar en cada
+ * invitación, de modo que los asignadores consultan el estado del reparto como si las operaciones anteriores ya se
+ * hubieran aplicado. Cada planificador se usa desde un único hilo; para planificar en paralelo se crea uno por
+ * estrategia sobre la misma instantánea.
+ * </p>
+ */
+final class PlanificadorAsientos {
+    private final InstantaneaActo instantanea;
+    private final List<Anfitrion> anfitriones = new ArrayList<>();
+    private final Map<Anfitrion, EstadoAnfitrion> estados = new IdentityHashMap<>();
+    private final Map<TipoDeZona, Set<Invitado>> protocoloSinAsignar = new EnumMap<>(TipoDeZona.class);
+    private final Map<Invitado, Set<Invitado>> pendientesDe = new IdentityHashMap<>();
+    private final Set<Set<Invitado>> pendientesEnTribuna = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<LocalidadConfigurada> ocupadas = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<ZonaConfigurada, MapaLocalidades> mapas = new IdentityHashMap<>();
+    private final List<PlanDeAsientos.Operacion> operaciones = new ArrayList<>();
+    private final Map<Invitado, Invitacion> reclasificados = new IdentityHashMap<>();
+    private List<Anfitrion> anfitrionesOrdenadosPorTribuna;
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param instantanea Instantánea del acto sobre la que se planifica.
+     */
+    PlanificadorAsientos(InstantaneaActo instantanea) {
+        this.instantanea = instantanea;
+        for (InstantaneaActo.DatosAnfitrion datos : instantanea.getAnfitriones()) {
+            EstadoAnfitrion estado = new EstadoAnfitrion(datos);
+            datos.invitadosSinAsignar().forEach((tipo, invitados) -> estado.sinAsignar.put(tipo, pendientes(invitados)));
+            pendientesEnTribuna.add(estado.sinAsignar.get(TRIBUNA));
+            anfitriones.add(datos.anfitrion());
+            estados.put(datos.anfitrion(), estado);
+        }
+        for (TipoDeZona tipo : TipoDeZona.values()) {
+            protocoloSinAsignar.put(tipo, pendientes(instantanea.getProtocoloSinAsignar(tipo)));
+        }
+    }
+
+    private Set<Invitado> pendientes(List<Invitado> invitados) {
+        Set<Invitado> pendientes = new LinkedHashSet<>(invitados);
+        for (Invitado invitado : invitados) {
+            pendientesDe.put(invitado, pendientes);
+        }
+        return pendientes;
+    }
+
+    /**
+     * Devuelve la instantánea sobre la que se planifica.
+     *
+     * @return La instantánea del acto.
+     */
+    InstantaneaActo getInstantanea() {
+        return instantanea;
+    }
+
+    /**
+     * Devuelve los anfitriones del acto, en el orden de la instantánea.
+     *
+     * @return Lista inmodificable de anfitriones.
+     */
+    List<Anfitrion> getAnfitriones() {
+        return Collections.unmodifiableList(anfitriones);
+    }
+
+    /**
+     * Devuelve los anfitriones ordenados de menor a mayor número de invitados sin asignar en la tribuna según el
+     * estado actual del reparto y, a igual número, por DNI.
+     * <p>
+     * La clave de cada anfitrión se calcula una sola vez por ordenación y el orden se conserva mientras no cambien
+     * los invitados sin asignar en la tribuna, de modo que sentar o reclasificar invitados de otras zonas no obliga a
+     * volver a ordenar y las distintas fases de un mismo reparto comparten la misma lista.
+     * </p>
+     *
+     * @return Lista inmodificable de anfitriones ordenados.
+     */
+    List<Anfitrion> getAnfitrionesOrdenadosPorTribuna() {
+        if (anfitrionesOrdenadosPorTribuna == null) {
+            anfitrionesOrdenadosPorTribuna = Collections.unmodifiableList(ComparadorPorCantidadDeInvitadosEnZona.ordenar(anfitriones,
+                    anfitrion -> estados.get(anfitrion).sinAsignar.get(TRIBUNA).size(), anfitrion -> estados.get(anfitrion).datos.dni()));
+        }
+        return anfitrionesOrdenadosPorTribuna;
+    }
+
+    /**
+     * Devuelve la unidad de formación del anfitrión.
+     *
+     * @param anfitrion Anfitrión del acto.
+     * @return Unidad de formación del anfitrión en el momento de la instantánea.
+     */
+    String getUnidadDeFormacion(Anfitrion anfitrion) {
+        return estados.get(anfitrion).datos.unidadDeFormacion();
+    }
+
+    /**
+     * Devuelve los invitados del anfitrión que siguen sin asignar en la invitación del tipo de zona indicado.
+     *
+     * @param anfitrion  Anfitrión del acto.
+     * @param tipoDeZona Tipo de zona de la invitación.
+     * @return Vista inmodificable de los invitados sin asignar, que refleja los cambios posteriores del reparto.
+     */
+    Set<Invitado> getInvitadosSinAsignar(Anfitrion anfitrion, TipoDeZona tipoDeZona) {
+        return Collections.unmodifiableSet(estados.get(anfitrion).sinAsignar.get(tipoDeZona));
+    }
+
+    /**
+     * Devuelve el número de invitados, asignados o no, que el anfitrión tiene en la tribuna.
+     *
+     * @param anfitrion Anfitrión del acto.
+     * @return Número de invitados en la tribuna.
+     */
+    int getNumeroInvitadosEnTribuna(Anfitrion anfitrion) {
+        return estados.get(anfitrion).invitadosEnTribuna;
+    }
+
+    /**
+     * Devuelve todos los invitados de la zona genérica del anfitrión en el momento de la instantánea.
+     *
+     * @param anfitrion Anfitrión del acto.
+     * @return Lista inmodificable de invitados.
+     */
+    List<Invitado> getInvitadosGenerica(Anfitrion anfitrion) {
+        return estados.get(anfitrion).datos.invitadosGenerica();
+    }
+
+    /**
+     * Devuelve los coches del anfitrión sin aparcar en el momento de la instantánea.
+     *
+     * @param anfitrion Anfitrión del acto.
+     * @return Lista inmodificable de coches.
+     */
+    List<Coche> getCochesSinAsignar(Anfitrion anfitrion) {
+        return estados.get(anfitrion).datos.cochesSinAsignar();
+    }
+
+    /**
+     * Devuelve los invitados del protocolo que siguen sin asignar en la invitación del tipo de zona indicado.
+     *
+     * @param tipoDeZona Tipo de zona de la invitación.
+     * @return Vista inmodificable de los invitados sin asignar.
+     */
+    Set<Invitado> getProtocoloSinAsignar(TipoDeZona tipoDeZona) {
+        return Collections.unmodifiableSet(protocoloSinAsignar.get(tipoDeZona));
+    }
+
+    /**
+     * Devuelve las zonas configuradas del tipo indicado.
+     *
+     * @param tipoDeZona Tipo de zona.
+     * @return Nueva lista de zonas configuradas, en el orden del acto.
+     */
+    List<ZonaConfigurada> getZonas(TipoDeZona tipoDeZona) {
+        return new ArrayList<>(instantanea.getZonas(tipoDeZona));
+    }
+
+    /**
+     * Devuelve la tabla de prioridades por unidad y zona de la instantánea.
+     *
+     * @return La tabla de prioridades.
+     */
+    TablaPrioridades getTablaPrioridades() {
+        return instantanea.getTablaPrioridades();
+    }
+
+    /**
+     * Indica si la localidad está libre según el estado actual del reparto.
+     *
+     * @param localidad Localidad a consultar.
+     * @return true si la localidad no estaba ocupada en la instantánea ni la ha ocupado el plan.
+     */
+    boolean estaLibre(LocalidadConfigurada localidad) {
+        return !ocupadas.contains(localidad) && !instantanea.estaOcupada(localidad);
+    }
+
+    /**
+     * Devuelve el mapa de las localidades de una zona según el estado actual del reparto. El mapa se copia de la
+     * instantánea la primera vez que se pide, y el plan marca en él cada localidad que ocupa después.
+     *
+     * @param zona Zona configurada.
+     * @return El mapa de la zona, en el que las localidades ocupadas por el plan ya no están libres.
+     * @throws IllegalArgumentException si la zona no era del acto en el momento de la instantánea.
+     */
+    MapaLocalidades getMapaLocalidades(ZonaConfigurada zona) {
+        MapaLocalidades mapa = mapas.get(zona);
+        if (mapa == null) {
+            MapaLocalidades tomado = instantanea.getMapaLocalidades(zona);
+            if (tomado == null) {
+                throw new IllegalArgumentException("La zona no pertenece al acto de la instantánea.");
+            }
+            mapa = tomado.copia();
+            for (LocalidadConfigurada localidad : ocupadas) {
+                mapa.ocupar(localidad);
+            }
+            mapas.put(zona, mapa);
+        }
+        return mapa;
+    }
+
+    /**
+     * Planifica el paso de un invitado del anfitrión a su invitación del tipo de zona indicado.
+     * Si el anfitrión no tiene invitación de ese tipo, el invitado se queda en la suya.
+     *
+     * @param anfitrion  Anfitrión del invitado.
+     * @param invitado   Invitado que cambia de invitación.
+     * @param tipoDeZona Tipo de zona de la nueva invitación.
+     */
+    void reclasificar(Anfitrion anfitrion, Invitado invitado, TipoDeZona tipoDeZona) {
+        EstadoAnfitrion estado = estados.get(anfitrion);
+        Invitacion invitacion = estado.datos.invitaciones().get(tipoDeZona);
+        if (invitacion == null) {
+            return;
+        }
+        operaciones.add(new PlanDeAsientos.Reclasificacion(invitado, invitacionPlanificada(invitado), invitacion));
+        reclasificados.put(invitado, invitacion);
+        Set<Invitado> pendientes = pendientesDe.remove(invitado);
+        if (pendientes != null) {
+            quitarPendiente(pendientes, invitado);
+            Set<Invitado> nuevosPendientes = estado.sinAsignar.get(tipoDeZona);
+            nuevosPendientes.add(invitado);
+            pendientesDe.put(invitado, nuevosPendientes);
+            if (tipoDeZona == TRIBUNA) {
+                anfitrionesOrdenadosPorTribuna = null;
+            }
+        }
+        if (tipoDeZona == TRIBUNA) {
+            estado.invitadosEnTribuna++;
+        }
+    }
+
+    /**
+     * Planifica la asignación de la localidad al invitado y la marca como ocupada.
+     *
+     * @param invitado  Invitado que se sienta.
+     * @param localidad Localidad asignada.
+     */
+    void sentar(Invitado invitado, LocalidadConfigurada localidad) {
+        operaciones.add(new PlanDeAsientos.AsignacionLocalidad(invitado, invitacionPlanificada(invitado), localidad));
+        ocupar(localidad);
+        Set<Invitado> pendientes = pendientesDe.remove(invitado);
+        if (pendientes != null) {
+            quitarPendiente(pendientes, invitado);
+        }
+    }
+
+    /**
+     * Quita al invitado de los pendientes en los que estaba y descarta el orden de los anfitriones solo si eran los
+     * de la tribuna de un anfitrión.
+     */
+    private void quitarPendiente(Set<Invitado> pendientes, Invitado invitado) {
+        pendientes.remove(invitado);
+        if (pendientesEnTribuna.contains(pendientes)) {
+            anfitrionesOrdenadosPorTribuna = null;
+        }
+    }
+
+    /**
+     * Planifica la asignación de la plaza al coche y la marca como ocupada.
+     *
+     * @param coche Coche que se aparca.
+     * @param plaza Plaza asignada.
+     */
+    void aparcar(Coche coche, LocalidadConfigurada plaza) {
+        operaciones.add(new PlanDeAsientos.AsignacionPlaza(coche, plaza));
+        ocupar(plaza);
+    }
+
+    /**
+     * Obtiene la invitación en la que estará el invitado al aplicar las operaciones planificadas hasta ahora.
+     */
+    private Invitacion invitacionPlanificada(Invitado invitado) {
+        Invitacion invitacion = reclasificados.get(invitado);
+        return invitacion != null ? invitacion : instantanea.getInvitacion(invitado);
+    }
+
+    private void ocupar(LocalidadConfigurada localidad) {
+        ocupadas.add(localidad);
+        MapaLocalidades mapa = mapas.get(localidad.getZonaConfigurada());
+        if (mapa != null) {
+            mapa.ocupar(localidad);
+        }
+    }
+
+    /**
+     * Construye el plan con las operaciones planificadas hasta el momento.
+     *
+     * @return El plan de asientos.
+     */
+    PlanDeAsientos construir() {
+        return new PlanDeAsientos(operaciones);
+    }
+
+    private static final class EstadoAnfitrion {
+        private final InstantaneaActo.DatosAnfitrion datos;
+        private final Map<TipoDeZona, Set<Invitado>> sinAsignar = new EnumMap<>(TipoDeZona.class);
+        private int invitadosEnTribuna;
+
+        private EstadoAnfitrion(InstantaneaActo.DatosAnfitrion datos) {
+            this.datos = datos;
+            this.invitadosEnTribuna = datos.invitadosEnTribuna();
+        }
+    }
+}
\ No newline at end of file
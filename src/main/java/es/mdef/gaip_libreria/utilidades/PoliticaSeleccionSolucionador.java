@@ -0,0 +1,145 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Política que elige el {@link SolucionadorAsientos} con el que organizar la tribuna según el tamaño del problema,
+ * medido como el producto del número de invitados por el número de asientos libres.
+ * <p>
+ * La política es una lista de umbrales: se utiliza el motor del menor umbral que no sea inferior al tamaño del
+ * problema y, si el tamaño supera todos los umbrales, el motor por defecto. Las instancias son inmutables.
+ * </p>
+ * <p>
+ * La política por defecto puede sustituirse en cada despliegue mediante la propiedad del sistema
+ * {@value #PROPIEDAD_POLITICA}, con el formato de {@link #desdeTexto(String)}.
+ * </p>
+ */
+public final class PoliticaSeleccionSolucionador {
+
+    /**
+     * Propiedad del sistema con la que se puede configurar la política por defecto.
+     */
+    public static final String PROPIEDAD_POLITICA = "gaip.asientos.politica";
+
+    private static final String COMODIN = "*";
+
+    private final TreeMap<Long, String> solucionadorPorUmbral;
+    private final String solucionadorPorDefecto;
+
+    /**
+     * Crea una política sin umbrales que siempre utiliza el motor indicado.
+     *
+     * @param solucionadorPorDefecto Nombre del motor.
+     * @throws IllegalArgumentException Si no hay ningún motor disponible con ese nombre.
+     */
+    public PoliticaSeleccionSolucionador(String solucionadorPorDefecto) {
+        this(new TreeMap<>(), solucionadorPorDefecto);
+    }
+
+    private PoliticaSeleccionSolucionador(TreeMap<Long, String> solucionadorPorUmbral, String solucionadorPorDefecto) {
+        RegistroSolucionadoresAsientos.buscar(solucionadorPorDefecto);
+        this.solucionadorPorUmbral = solucionadorPorUmbral;
+        this.solucionadorPorDefecto = solucionadorPorDefecto;
+    }
+
+    /**
+     * Devuelve la política por defecto: ramificación y poda para los actos pequeños, el modelo MIP por bloques para
+     * los medianos y la descomposición en componentes paralelas para los grandes. Si la propiedad del sistema
+     * {@value #PROPIEDAD_POLITICA} está definida, se utiliza la política que describe.
+     *
+     * @return La política por defecto.
+     */
+    public static PoliticaSeleccionSolucionador porDefecto() {
+        String configuracion = System.getProperty(PROPIEDAD_POLITICA);
+        if (configuracion != null && !configuracion.isBlank()) {
+            return desdeTexto(configuracion);
+        }
+        return new PoliticaSeleccionSolucionador(SolucionadorAsientosDescompuesto.NOMBRE)
+                .conUmbral(10_000, SolucionadorAsientosRamificacionYPoda.NOMBRE)
+                .conUmbral(1_000_000, SolucionadorAsientosMip.NOMBRE);
+    }
+
+    /**
+     * Crea una política a partir de su descripción textual: una lista separada por comas de pares
+     * {@code umbral:motor}, en la que el umbral {@code *} indica el motor por defecto. Por ejemplo,
+     * {@code "5000:heuristica,500000:mip,*:descompuesto"}.
+     *
+     * @param texto Descripción de la política.
+     * @return La política descrita.
+     * @throws IllegalArgumentException Si el texto no tiene el formato esperado, no indica el motor por defecto
+     *                                  o menciona motores que no están disponibles.
+     */
+    public static PoliticaSeleccionSolucionador desdeTexto(String texto) {
+        TreeMap<Long, String> umbrales = new TreeMap<>();
+        String solucionadorPorDefecto = null;
+        for (String entrada : texto.split(",")) {
+            String[] partes = entrada.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Entrada de política de motores de asientos no válida: " + entrada);
+            }
+            String umbral = partes[0].trim();
+            String nombre = partes[1].trim();
+            if (COMODIN.equals(umbral)) {
+                solucionadorPorDefecto = nombre;
+            } else {
+                RegistroSolucionadoresAsientos.buscar(nombre);
+                umbrales.put(parsearUmbral(umbral), nombre);
+            }
+        }
+        if (solucionadorPorDefecto == null) {
+            throw new IllegalArgumentException("La política de motores de asientos debe indicar el motor por defecto con " + COMODIN);
+        }
+        return new PoliticaSeleccionSolucionador(umbrales, solucionadorPorDefecto);
+    }
+
+    private static long parsearUmbral(String umbral) {
+        try {
+            long valor = Long.parseLong(umbral);
+            if (valor < 0) {
+                throw new IllegalArgumentException("El umbral de la política de motores de asientos no puede ser negativo: " + umbral);
+            }
+            return valor;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Umbral de política de motores de asientos no válido: " + umbral, e);
+        }
+    }
+
+    /**
+     * Devuelve una copia de esta política en la que los problemas de tamaño no superior al umbral indicado,
+     * y no cubiertos por un umbral menor, se resuelven con el motor dado.
+     *
+     * @param maximoInvitadosPorAsientos Tamaño máximo del problema, como producto de invitados por asientos.
+     * @param nombre                     Nombre del motor.
+     * @return La nueva política.
+     * @throws IllegalArgumentException Si el umbral es negativo o no hay ningún motor disponible con ese nombre.
+     */
+    public PoliticaSeleccionSolucionador conUmbral(long maximoInvitadosPorAsientos, String nombre) {
+        if (maximoInvitadosPorAsientos < 0) {
+            throw new IllegalArgumentException("El umbral de la política de motores de asientos no puede ser negativo");
+        }
+        RegistroSolucionadoresAsientos.buscar(nombre);
+        TreeMap<Long, String> umbrales = new TreeMap<>(solucionadorPorUmbral);
+        umbrales.put(maximoInvitadosPorAsientos, nombre);
+        return new PoliticaSeleccionSolucionador(umbrales, solucionadorPorDefecto);
+    }
+
+    /**
+     * Elige el motor para un problema del tamaño indicado.
+     *
+     * @param numInvitados Número de invitados que hay que sentar.
+     * @param numAsientos  Número de asientos libres.
+     * @return El motor elegido.
+     */
+    public SolucionadorAsientos seleccionar(int numInvitados, int numAsientos) {
+        Map.Entry<Long, String> umbral = solucionadorPorUmbral.ceilingEntry((long) numInvitados * numAsientos);
+        return RegistroSolucionadoresAsientos.buscar(umbral != null ? umbral.getValue() : solucionadorPorDefecto);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        solucionadorPorUmbral.forEach((umbral, nombre) -> texto.append(umbral).append(':').append(nombre).append(','));
+        return texto.append(COMODIN).append(':').append(solucionadorPorDefecto).toString();
+    }
+}
\ No newline at end of file
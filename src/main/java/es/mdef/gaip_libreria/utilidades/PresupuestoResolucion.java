@@ -0,0 +1,67 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import java.time.Duration;
+
+/**
+ * Presupuesto de recursos que puede consumir un algoritmo de organización de asientos.
+ * <p>
+ * Cuando el presupuesto se agota, el algoritmo devuelve la mejor solución factible encontrada hasta ese momento
+ * en lugar de seguir buscando la óptima.
+ * </p>
+ *
+ * @param tiempoMaximo Tiempo de reloj máximo de resolución.
+ * @param gapRelativo  Gap relativo entre la solución y la mejor cota a partir del cual se da la solución por óptima.
+ * @param limiteNodos  Número máximo de nodos a explorar, o {@link #SIN_LIMITE_DE_NODOS} para no limitarlos.
+ */
+public record PresupuestoResolucion(Duration tiempoMaximo, double gapRelativo, long limiteNodos) {
+
+    /**
+     * Valor de {@code limiteNodos} que indica que no se limita el número de nodos explorados.
+     */
+    public static final long SIN_LIMITE_DE_NODOS = 0;
+
+    /**
+     * Constructor que valida los parámetros del presupuesto.
+     *
+     * @throws IllegalArgumentException si el tiempo máximo es nulo o no positivo, o si el gap o el límite de nodos son negativos.
+     */
+    public PresupuestoResolucion {
+        if (tiempoMaximo == null || tiempoMaximo.isNegative() || tiempoMaximo.isZero()) {
+            throw new IllegalArgumentException("El tiempo máximo de resolución debe ser positivo.");
+        }
+        if (gapRelativo < 0) {
+            throw new IllegalArgumentException("El gap relativo no puede ser negativo.");
+        }
+        if (limiteNodos < 0) {
+            throw new IllegalArgumentException("El límite de nodos no puede ser negativo.");
+        }
+    }
+
+    /**
+     * Crea un presupuesto sin límite de nodos.
+     *
+     * @param tiempoMaximo Tiempo de reloj máximo de resolución.
+     * @param gapRelativo  Gap relativo a partir del cual se da la solución por óptima.
+     */
+    public PresupuestoResolucion(Duration tiempoMaximo, double gapRelativo) {
+        this(tiempoMaximo, gapRelativo, SIN_LIMITE_DE_NODOS);
+    }
+
+    /**
+     * Obtiene el presupuesto utilizado por defecto: un minuto de resolución, un gap relativo de 0,01 % y sin límite de nodos.
+     *
+     * @return El presupuesto por defecto.
+     */
+    public static PresupuestoResolucion porDefecto() {
+        return new PresupuestoResolucion(Duration.ofMinutes(1), 1e-4);
+    }
+
+    /**
+     * Indica si el presupuesto limita el número de nodos explorados.
+     *
+     * @return true si hay límite de nodos, false en caso contrario.
+     */
+    public boolean tieneLimiteNodos() {
+        return limiteNodos != SIN_LIMITE_DE_NODOS;
+    }
+}
\ No newline at end of file
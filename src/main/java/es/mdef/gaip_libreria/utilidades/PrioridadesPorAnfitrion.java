@@ -0,0 +1,85 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representación compacta de las prioridades de asiento por anfitrión y grupo de asientos.
+ * <p>
+ * Los anfitriones de una misma unidad comparten las mismas prioridades, por lo que cada fila distinta se guarda una
+ * sola vez y cada anfitrión solo guarda el índice de su fila. Dos anfitriones tienen las mismas prioridades si y solo
+ * si tienen la misma fila, lo que permite compararlos sin recorrer los grupos de asientos.
+ * </p>
+ */
+final class PrioridadesPorAnfitrion {
+    private final int[] filaDeAnfitrion;
+    private final int[][] filas;
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param prioridades Prioridades de asiento por anfitrión y grupo de asientos.
+     */
+    PrioridadesPorAnfitrion(int[][] prioridades) {
+        this.filaDeAnfitrion = new int[prioridades.length];
+        Map<Fila, Integer> indicePorFila = new HashMap<>();
+        List<int[]> filasDistintas = new ArrayList<>();
+        for (int a = 0; a < prioridades.length; a++) {
+            int[] fila = prioridades[a];
+            filaDeAnfitrion[a] = indicePorFila.computeIfAbsent(new Fila(fila), clave -> {
+                filasDistintas.add(fila);
+                return filasDistintas.size() - 1;
+            });
+        }
+        this.filas = filasDistintas.toArray(new int[0][]);
+    }
+
+    /**
+     * Devuelve la prioridad del anfitrión para el grupo de asientos indicado.
+     *
+     * @param anfitrion Índice del anfitrión.
+     * @param grupo     Índice del grupo de asientos.
+     * @return La prioridad, o {@link Integer#MAX_VALUE} si el anfitrión no tiene prioridad para el grupo.
+     */
+    int prioridad(int anfitrion, int grupo) {
+        return filas[filaDeAnfitrion[anfitrion]][grupo];
+    }
+
+    /**
+     * Devuelve el índice de la fila de prioridades del anfitrión indicado.
+     *
+     * @param anfitrion Índice del anfitrión.
+     * @return El índice de su fila, común a todos los anfitriones con las mismas prioridades.
+     */
+    int fila(int anfitrion) {
+        return filaDeAnfitrion[anfitrion];
+    }
+
+    /**
+     * Devuelve el número de filas de prioridades distintas.
+     *
+     * @return El número de filas distintas.
+     */
+    int numFilas() {
+        return filas.length;
+    }
+
+    /**
+     * Clave de una fila de prioridades que compara su contenido.
+     */
+    private record Fila(int[] valores) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Fila otra && Arrays.equals(valores, otra.valores);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(valores);
+        }
+    }
+}
\ No newline at end of file
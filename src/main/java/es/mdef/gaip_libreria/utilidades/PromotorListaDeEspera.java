@@ -0,0 +1,119 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.LISTA_DE_ESPERA;
+
+/**
+ * Promociona a los invitados en lista de espera de un acto de forma equitativa entre sus anfitriones.
+ * <p>
+ * Al crearlo se construye una sola vez, para cada anfitrión con invitados en lista de espera sin asignar, la cola
+ * de esos invitados. La promoción se hace por rondas: en cada ronda se promociona al primer invitado de la cola de
+ * cada anfitrión que aún tiene invitados en espera, siempre que queden más plazas que colas pendientes. Así ningún
+ * anfitrión promociona a un segundo invitado antes de que todos hayan promocionado al primero, y el coste total es
+ * proporcional al número de invitados promocionados.
+ * </p>
+ * <p>
+ * El promotor conserva sus colas entre llamadas, de modo que se puede promocionar primero a la tribuna y después a
+ * otra zona con los invitados que queden en espera.
+ * </p>
+ */
+public final class PromotorListaDeEspera {
+    private final List<Cola> colas = new ArrayList<>();
+    private final List<Invitado> promovidos = new ArrayList<>();
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param acto Acto cuyos invitados en lista de espera se van a promocionar.
+     */
+    public PromotorListaDeEspera(Acto acto) {
+        for (Anfitrion anfitrion : acto.getAnfitriones()) {
+            agregarCola(anfitrion, anfitrion.getInvitadosSinAsignarDeUnActoPorZona(acto, LISTA_DE_ESPERA));
+        }
+    }
+
+    /**
+     * Constructor de la clase a partir de un reparto de asientos en curso, con los invitados que en él siguen en
+     * lista de espera.
+     *
+     * @param plan Reparto de asientos en curso.
+     */
+    PromotorListaDeEspera(PlanificadorAsientos plan) {
+        for (Anfitrion anfitrion : plan.getAnfitriones()) {
+            agregarCola(anfitrion, plan.getInvitadosSinAsignar(anfitrion, LISTA_DE_ESPERA));
+        }
+    }
+
+    private void agregarCola(Anfitrion anfitrion, Collection<Invitado> enEspera) {
+        if (!enEspera.isEmpty()) {
+            colas.add(new Cola(anfitrion, new ArrayDeque<>(enEspera)));
+        }
+    }
+
+    /**
+     * Promociona invitados por rondas mientras el número de plazas supere al de anfitriones con invitados en espera.
+     *
+     * @param plazas    Número de plazas disponibles para los invitados promocionados.
+     * @param promocion Acción que promociona a cada invitado, que recibe su anfitrión y el propio invitado.
+     * @return Los invitados promocionados en esta llamada, en el orden en que se han promocionado.
+     * @throws IllegalArgumentException Si el número de plazas es negativo.
+     */
+    public List<Invitado> promover(int plazas, BiConsumer<Anfitrion, Invitado> promocion) {
+        if (plazas < 0) {
+            throw new IllegalArgumentException("El número de plazas no puede ser negativo");
+        }
+        int inicio = promovidos.size();
+        while (!colas.isEmpty() && plazas > colas.size()) {
+            for (Cola cola : colas) {
+                Invitado invitado = cola.invitados().poll();
+                promocion.accept(cola.anfitrion(), invitado);
+                promovidos.add(invitado);
+            }
+            plazas -= colas.size();
+            colas.removeIf(cola -> cola.invitados().isEmpty());
+        }
+        return Collections.unmodifiableList(new ArrayList<>(promovidos.subList(inicio, promovidos.size())));
+    }
+
+    /**
+     * Devuelve todos los invitados promocionados por este promotor, en el orden en que se han promocionado.
+     *
+     * @return Lista inmodificable de invitados promocionados.
+     */
+    public List<Invitado> getPromovidos() {
+        return Collections.unmodifiableList(promovidos);
+    }
+
+    /**
+     * Devuelve el número de invitados que siguen en espera.
+     *
+     * @return Número de invitados en las colas pendientes.
+     */
+    public int getPendientes() {
+        int pendientes = 0;
+        for (Cola cola : colas) {
+            pendientes += cola.invitados().size();
+        }
+        return pendientes;
+    }
+
+    /**
+     * Cola de invitados en espera de un anfitrión.
+     *
+     * @param anfitrion Anfitrión de los invitados.
+     * @param invitados Invitados en espera, en el orden en que se promocionarán.
+     */
+    private record Cola(Anfitrion anfitrion, Deque<Invitado> invitados) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Clase utilitaria que da acceso a los {@link SolucionadorAsientos} disponibles, descubiertos mediante
+ * {@link ServiceLoader} la primera vez que se consultan.
+ */
+public final class RegistroSolucionadoresAsientos {
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private RegistroSolucionadoresAsientos() {
+    }
+
+    /**
+     * Busca el motor con el nombre indicado.
+     *
+     * @param nombre Nombre del motor.
+     * @return El motor con ese nombre.
+     * @throws IllegalArgumentException Si no hay ningún motor disponible con ese nombre.
+     */
+    public static SolucionadorAsientos buscar(String nombre) {
+        SolucionadorAsientos solucionador = Cargados.SOLUCIONADORES.get(nombre);
+        if (solucionador == null) {
+            throw new IllegalArgumentException("No existe ningún motor de asientos con el nombre " + nombre
+                    + ". Motores disponibles: " + getNombres());
+        }
+        return solucionador;
+    }
+
+    /**
+     * Devuelve los nombres de todos los motores disponibles.
+     *
+     * @return Conjunto de nombres, en el orden en que se han descubierto.
+     */
+    public static Set<String> getNombres() {
+        return Collections.unmodifiableSet(Cargados.SOLUCIONADORES.keySet());
+    }
+
+    /**
+     * Contenedor de los motores descubiertos, que se inicializa la primera vez que se accede a él.
+     */
+    private static final class Cargados {
+        private static final Map<String, SolucionadorAsientos> SOLUCIONADORES = cargar();
+
+        private static Map<String, SolucionadorAsientos> cargar() {
+            Map<String, SolucionadorAsientos> solucionadores = new LinkedHashMap<>();
+            for (SolucionadorAsientos solucionador : ServiceLoader.load(SolucionadorAsientos.class)) {
+                if (solucionadores.putIfAbsent(solucionador.getNombre(), solucionador) != null) {
+                    throw new IllegalStateException("Hay dos motores de asientos con el nombre " + solucionador.getNombre());
+                }
+            }
+            return solucionadores;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Reserva de localidades libres de un reparto de asientos, agrupadas por {@link TipoDeZona} y {@link EstadoLocalidad}.
+ * <p>
+ * La primera vez que se pide una localidad de un tipo de zona y un estado se recorren una sola vez sus zonas en la
+ * {@link InstantaneaActo} del reparto y se guardan las localidades con ese estado en el mismo orden en el que se
+ * recorrerían las zonas del acto. Después, cada
+ * petición avanza un cursor que salta las localidades que ya se han ocupado, de modo que repartir todas las
+ * localidades de una reserva tiene un coste lineal en su número en lugar de cuadrático.
+ * </p>
+ * <p>
+ * Durante un reparto de asientos las localidades solo pasan de libres a ocupadas, por lo que una localidad que el
+ * cursor ha dejado atrás no vuelve a quedar libre. Si se liberan localidades, se debe crear una nueva reserva.
+ * </p>
+ */
+final class ReservaLocalidadesLibres {
+    private final PlanificadorAsientos plan;
+    private final Map<TipoDeZona, Map<EstadoLocalidad, Cursor>> cursores = new EnumMap<>(TipoDeZona.class);
+
+    /**
+     * Constructor de la clase.
+     *
+     * @param plan Reparto de asientos en curso cuyas localidades libres se van a repartir.
+     */
+    ReservaLocalidadesLibres(PlanificadorAsientos plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Devuelve la siguiente localidad libre con el estado indicado en las zonas del tipo indicado, sin ocuparla.
+     * Mientras no se ocupe, las peticiones siguientes devuelven la misma localidad.
+     *
+     * @param tipoDeZona Tipo de zona de la localidad.
+     * @param estado     Estado de la localidad.
+     * @return La primera localidad libre en el orden de las zonas del acto, o {@code null} si no queda ninguna.
+     */
+    LocalidadConfigurada siguienteLibre(TipoDeZona tipoDeZona, EstadoLocalidad estado) {
+        return cursores.computeIfAbsent(tipoDeZona, tipo -> new EnumMap<>(EstadoLocalidad.class))
+                .computeIfAbsent(estado, e -> new Cursor(plan.getInstantanea().getLocalidadesCon(plan.getZonas(tipoDeZona), e), plan::estaLibre))
+                .siguienteLibre();
+    }
+
+    /**
+     * Devuelve las localidades de las zonas indicadas que tienen ahora el estado dado, en el orden de las zonas y de
+     * sus localidades. Para un reparto de asientos se usa {@link InstantaneaActo#getLocalidadesCon(List, EstadoLocalidad)}.
+     *
+     * @param zonas  Zonas configuradas a recorrer.
+     * @param estado Estado de las localidades.
+     * @return Lista de localidades con ese estado.
+     */
+    static List<LocalidadConfigurada> localidadesCon(List<ZonaConfigurada> zonas, EstadoLocalidad estado) {
+        List<LocalidadConfigurada> localidades = new ArrayList<>();
+        for (ZonaConfigurada zona : zonas) {
+            for (LocalidadConfigurada localidad : zona.getLocalidades()) {
+                if (localidad.getEstadoLocalidad() == estado) {
+                    localidades.add(localidad);
+                }
+            }
+        }
+        return localidades;
+    }
+
+    /**
+     * Recorrido de una lista de localidades que solo avanza al encontrar localidades ocupadas.
+     */
+    static final class Cursor {
+        private final List<LocalidadConfigurada> localidades;
+        private final Predicate<LocalidadConfigurada> estaLibre;
+        private int siguiente;
+
+        /**
+         * Constructor de la clase.
+         *
+         * @param localidades Localidades a recorrer, en orden de reparto.
+         * @param estaLibre   Indica si una localidad sigue libre.
+         */
+        Cursor(List<LocalidadConfigurada> localidades, Predicate<LocalidadConfigurada> estaLibre) {
+            this.localidades = localidades;
+            this.estaLibre = estaLibre;
+        }
+
+        /**
+         * Devuelve la primera localidad libre a partir de la posición actual, sin ocuparla.
+         *
+         * @return La localidad libre, o {@code null} si no queda ninguna.
+         */
+        LocalidadConfigurada siguienteLibre() {
+            while (siguiente < localidades.size() && !estaLibre.test(localidades.get(siguiente))) {
+                siguiente++;
+            }
+            return siguiente < localidades.size() ? localidades.get(siguiente) : null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPSolverParameters;
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.excepciones.PresupuestoAgotadoException;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+
+/**
+ * Clase utilitaria que centraliza la resolución de los modelos MIP de organización de asientos
+ * respetando un {@link PresupuestoResolucion}.
+ */
+final class ResolutorMip {
+
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private ResolutorMip() {
+    }
+
+    /**
+     * Resuelve el modelo aplicando el límite de tiempo, el gap relativo y el límite de nodos del presupuesto.
+     *
+     * Si se solicita la cancelación, se interrumpe la resolución y se conserva la mejor solución encontrada.
+     * Si el solver termina sin solución, se distingue el agotamiento del presupuesto, que lanza
+     * {@link PresupuestoAgotadoException}, de la cancelación y de cualquier otro estado del solver, que lanzan
+     * {@link SinSolucionException} con el estado en el mensaje.
+     *
+     * @param solver      Solver con el modelo ya construido.
+     * @param presupuesto Presupuesto de resolución.
+     * @param cancelacion Señal de cancelación del organizador.
+     * @return El estado de la solución encontrada.
+     * @throws PresupuestoAgotadoException Si el presupuesto se agota sin que el solver encuentre ninguna solución.
+     * @throws SinSolucionException        Si el problema no tiene solución, el solver falla o la organización se ha
+     *                                     cancelado sin ninguna solución.
+     */
+    static EstadoResolucion resolver(MPSolver solver, PresupuestoResolucion presupuesto, Cancelacion cancelacion) throws SinSolucionException {
+        return cancelacion.mientras(solver::interruptSolve, () -> resolverRegistrado(solver, presupuesto, cancelacion));
+    }
+
+    private static EstadoResolucion resolverRegistrado(MPSolver solver, PresupuestoResolucion presupuesto, Cancelacion cancelacion) throws SinSolucionException {
+        if (cancelacion.solicitada()) {
+            throw new SinSolucionException("La organización de asientos se ha cancelado");
+        }
+        solver.setTimeLimit(presupuesto.tiempoMaximo().toMillis());
+        if (presupuesto.tieneLimiteNodos()) {
+            solver.setSolverSpecificParametersAsString("limits/nodes = " + presupuesto.limiteNodos());
+        }
+
+        MPSolverParameters parametros = new MPSolverParameters();
+        parametros.setDoubleParam(MPSolverParameters.DoubleParam.RELATIVE_MIP_GAP, presupuesto.gapRelativo());
+
+        MPSolver.ResultStatus status = solver.solve(parametros);
+        return switch (status) {
+            case OPTIMAL -> cancelacion.solicitada() ? EstadoResolucion.FACTIBLE : EstadoResolucion.OPTIMA;
+            case FEASIBLE -> EstadoResolucion.FACTIBLE;
+            case NOT_SOLVED -> throw cancelacion.solicitada()
+                    ? new SinSolucionException("La organización de asientos se ha cancelado sin ninguna solución")
+                    : new PresupuestoAgotadoException();
+            default -> throw new SinSolucionException("El solver ha terminado sin solución con el estado " + status);
+        };
+    }
+
+    /**
+     * Calcula el gap relativo entre el valor de la solución encontrada y la mejor cota conocida.
+     *
+     * @param solver Solver ya resuelto.
+     * @return El gap relativo alcanzado, o 0 si el valor de la solución es nulo.
+     */
+    static double calcularGap(MPSolver solver) {
+        double valor = solver.objective().value();
+        double cota = solver.objective().bestBound();
+        if (valor == 0) {
+            return 0;
+        }
+        return Math.abs(valor - cota) / Math.abs(valor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package es.mdef.gaip_libreria.utilidades;
+
+/**
+ * Punto de extensión para los motores de organización de asientos de la tribuna.
+ * <p>
+ * Las implementaciones se descubren mediante {@link java.util.ServiceLoader}, por lo que una aplicación puede
+ * añadir su propio motor declarándolo en {@code META-INF/services/es.mdef.gaip_libreria.utilidades.SolucionadorAsientos}
+ * sin modificar la librería. {@link PoliticaSeleccionSolucionador} elige el motor por su nombre según el tamaño
+ * del problema.
+ * </p>
+ */
+public interface SolucionadorAsientos {
+
+    /**
+     * Devuelve el nombre con el que se identifica el motor en las políticas de selección.
+     *
+     * @return El nombre del motor, único entre los motores disponibles.
+     */
+    String getNombre();
+
+    /**
+     * Crea el organizador que resuelve el problema indicado con este motor.
+     *
+     * @param invitadosPorAnfitrion Número de invitados por anfitrión.
+     * @param capacidadAsientos     Capacidad de asientos por grupo.
+     * @param prioridades           Prioridades de asiento por anfitrión.
+     * @param presupuesto           Presupuesto de resolución.
+     * @return El organizador de asientos.
+     */
+    OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto);
+}
\ No newline at end of file
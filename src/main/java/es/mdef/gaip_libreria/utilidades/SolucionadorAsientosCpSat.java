@@ -0,0 +1,24 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+
+/**
+ * Motor que organiza los asientos con la formulación por intervalos resuelta por CP-SAT con varios trabajadores.
+ */
+public class SolucionadorAsientosCpSat implements SolucionadorAsientos {
+
+    /**
+     * Nombre del motor.
+     */
+    public static final String NOMBRE = "cp-sat";
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return OrganizadorAsientos.crear(FormulacionAsientos.CP_SAT, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto);
+    }
+}
\ No newline at end of file
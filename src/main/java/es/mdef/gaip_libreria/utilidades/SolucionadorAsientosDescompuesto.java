@@ -0,0 +1,24 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+
+/**
+ * Motor que descompone el problema en componentes independientes y resuelve cada una con la formulación por bloques en paralelo.
+ */
+public class SolucionadorAsientosDescompuesto implements SolucionadorAsientos {
+
+    /**
+     * Nombre del motor.
+     */
+    public static final String NOMBRE = "descompuesto";
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return new OrganizadorAsientosDescompuesto(FormulacionAsientos.POR_BLOQUE, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package es.mdef.gaip_libreria.utilidades;
+
+/**
+ * Motor que organiza los asientos con {@link HeuristicaOrganizacionAsientos}, sin garantía de optimalidad.
+ */
+public class SolucionadorAsientosHeuristico implements SolucionadorAsientos {
+
+    /**
+     * Nombre del motor.
+     */
+    public static final String NOMBRE = "heuristica";
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return new HeuristicaOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades);
+    }
+}
\ No newline at end of file
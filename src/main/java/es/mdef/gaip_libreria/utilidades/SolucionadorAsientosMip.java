@@ -0,0 +1,24 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+
+/**
+ * Motor que organiza los asientos con la formulación por bloques resuelta por SCIP en un único modelo.
+ */
+public class SolucionadorAsientosMip implements SolucionadorAsientos {
+
+    /**
+     * Nombre del motor.
+     */
+    public static final String NOMBRE = "mip";
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return OrganizadorAsientos.crear(FormulacionAsientos.POR_BLOQUE, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto);
+    }
+}
\ No newline at end of file
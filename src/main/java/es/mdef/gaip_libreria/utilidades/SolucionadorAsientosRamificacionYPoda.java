@@ -0,0 +1,24 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+
+/**
+ * Motor que organiza los asientos mediante ramificación y poda en Java, sin bibliotecas nativas.
+ */
+public class SolucionadorAsientosRamificacionYPoda implements SolucionadorAsientos {
+
+    /**
+     * Nombre del motor.
+     */
+    public static final String NOMBRE = "ramificacion-y-poda";
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public OrganizadorAsientos crearOrganizador(int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades, PresupuestoResolucion presupuesto) {
+        return OrganizadorAsientos.crear(FormulacionAsientos.RAMIFICACION_Y_PODA, invitadosPorAnfitrion, capacidadAsientos, prioridades, presupuesto);
+    }
+}
\ No newline at end of file
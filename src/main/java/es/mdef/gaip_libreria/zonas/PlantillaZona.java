@@ -0,0 +1,243 @@
+package es.mdef.gaip_libreria.zonas;
+
+import es.mdef.gaip_libreria.localidades.Localidad;
+import es.mdef.gaip_libreria.localidades.LocalidadesHelper;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla compilada de la disposición de las localidades de una {@link Zona}.
+ * <p>
+ * Las localidades se guardan en orden de número y sus datos en arrays paralelos: el número, la posición y el tamaño,
+ * la posición de la siguiente localidad y un bit por localidad para los saltos y los saltos de fila. Así se recorre
+ * la disposición de la zona sin resolver proxies ni desempaquetar valores, y se puede compartir entre todos los actos
+ * que se celebran en la instalación de la zona, cuyos {@link es.mdef.gaip_libreria.zonas_configuradas.MapaLocalidades}
+ * la leen en lugar de consultar cada localidad.
+ * </p>
+ * <p>
+ * La plantilla no cambia una vez construida, por lo que se puede compartir entre hilos. Es una foto de la zona en el
+ * momento de construirla y no refleja los cambios posteriores de la zona ni de sus localidades; la instalación la
+ * descarta cuando se le notifican.
+ * </p>
+ */
+public final class PlantillaZona {
+    /**
+     * Valor del número de las localidades que no son {@link es.mdef.gaip_libreria.localidades.LocalidadNumerada}.
+     */
+    public static final int SIN_NUMERO = Integer.MIN_VALUE;
+    /**
+     * Valor de la posición de la siguiente localidad cuando no hay siguiente localidad o no es de la zona.
+     */
+    public static final int SIN_SIGUIENTE = -1;
+
+    private final Zona zona;
+    private final long version;
+    private final List<Localidad> localidades;
+    private final Map<Localidad, Integer> indices;
+    private final int[] numeros;
+    private final double[] x;
+    private final double[] y;
+    private final double[] anchuras;
+    private final double[] alturas;
+    private final int[] siguientes;
+    private final long[] saltos;
+    private final long[] saltosFila;
+
+    private PlantillaZona(Zona zona) {
+        this.zona = zona;
+        this.version = zona.getVersionLocalidades();
+        this.localidades = zona.getLocalidades() == null ? List.of() : zona.getLocalidadesOrdenadasPorNumero();
+        int numero = localidades.size();
+        Map<Localidad, Integer> porLocalidad = new IdentityHashMap<>(numero);
+        numeros = new int[numero];
+        x = new double[numero];
+        y = new double[numero];
+        anchuras = new double[numero];
+        alturas = new double[numero];
+        siguientes = new int[numero];
+        saltos = new long[(numero + 63) >>> 6];
+        saltosFila = new long[(numero + 63) >>> 6];
+        for (int i = 0; i < numero; i++) {
+            porLocalidad.putIfAbsent(localidades.get(i), i);
+        }
+        for (int i = 0; i < numero; i++) {
+            Localidad localidad = localidades.get(i);
+            Integer numeroLocalidad = LocalidadesHelper.getNumero(localidad);
+            numeros[i] = numeroLocalidad == null ? SIN_NUMERO : numeroLocalidad;
+            x[i] = localidad.getX();
+            y[i] = localidad.getY();
+            anchuras[i] = localidad.getAnchura();
+            alturas[i] = localidad.getAltura();
+            if (Boolean.TRUE.equals(localidad.getImplicaSalto())) {
+                saltos[i >>> 6] |= 1L << i;
+            }
+            if (Boolean.TRUE.equals(localidad.getImplicaSaltoFila())) {
+                saltosFila[i >>> 6] |= 1L << i;
+            }
+            Localidad siguiente = localidad.getSiguienteLocalidad();
+            Integer indiceSiguiente = siguiente == null ? null : porLocalidad.get(siguiente);
+            siguientes[i] = indiceSiguiente == null ? SIN_SIGUIENTE : indiceSiguiente;
+        }
+        this.indices = Collections.unmodifiableMap(porLocalidad);
+    }
+
+    /**
+     * Construye la plantilla de una zona a partir del estado actual de sus localidades.
+     *
+     * @param zona La zona. No puede ser nula.
+     * @return La plantilla de la zona.
+     * @throws IllegalArgumentException si la zona es nula.
+     */
+    public static PlantillaZona de(Zona zona) {
+        if (zona == null) {
+            throw new IllegalArgumentException("La zona no puede ser nula.");
+        }
+        return new PlantillaZona(zona);
+    }
+
+    /**
+     * Indica si la plantilla sigue reflejando su zona, comparando la {@link Zona#getVersionLocalidades() versión de
+     * las localidades} de la zona con la que tenía al construir la plantilla. Si la zona no lleva la cuenta de sus
+     * versiones, solo se puede comparar el número de localidades.
+     *
+     * @return true si la zona no ha cambiado desde que se construyó la plantilla, false en caso contrario.
+     */
+    public boolean estaAlDia() {
+        if (version != Zona.SIN_VERSION) {
+            return zona.getVersionLocalidades() == version;
+        }
+        int actuales = zona.getLocalidades() == null ? 0 : zona.getLocalidades().size();
+        return actuales == localidades.size();
+    }
+
+    /**
+     * Obtiene la zona de la que se ha construido la plantilla.
+     *
+     * @return La zona.
+     */
+    public Zona getZona() {
+        return zona;
+    }
+
+    /**
+     * Obtiene el número de localidades de la plantilla.
+     *
+     * @return El número de localidades.
+     */
+    public int getNumeroLocalidades() {
+        return localidades.size();
+    }
+
+    /**
+     * Obtiene las localidades de la plantilla en orden de número.
+     *
+     * @return Una lista inmodificable de las localidades.
+     */
+    public List<Localidad> getLocalidades() {
+        return localidades;
+    }
+
+    /**
+     * Obtiene la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad en orden de número.
+     * @return La localidad.
+     */
+    public Localidad getLocalidad(int indice) {
+        return localidades.get(indice);
+    }
+
+    /**
+     * Obtiene la posición de una localidad en la plantilla.
+     *
+     * @param localidad La localidad a buscar.
+     * @return La posición de la localidad en orden de número, o -1 si no está en la plantilla.
+     */
+    public int indiceDe(Localidad localidad) {
+        Integer indice = indices.get(localidad);
+        return indice == null ? -1 : indice;
+    }
+
+    /**
+     * Obtiene el número de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return El número de la localidad, o {@link #SIN_NUMERO} si la localidad no está numerada.
+     */
+    public int getNumero(int indice) {
+        return numeros[indice];
+    }
+
+    /**
+     * Obtiene la coordenada X de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return La coordenada X de la localidad.
+     */
+    public double getX(int indice) {
+        return x[indice];
+    }
+
+    /**
+     * Obtiene la coordenada Y de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return La coordenada Y de la localidad.
+     */
+    public double getY(int indice) {
+        return y[indice];
+    }
+
+    /**
+     * Obtiene la anchura de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return La anchura de la localidad.
+     */
+    public double getAnchura(int indice) {
+        return anchuras[indice];
+    }
+
+    /**
+     * Obtiene la altura de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return La altura de la localidad.
+     */
+    public double getAltura(int indice) {
+        return alturas[indice];
+    }
+
+    /**
+     * Indica si la localidad que ocupa una posición de la plantilla implica un salto.
+     *
+     * @param indice La posición de la localidad.
+     * @return true si la localidad implica un salto, false en caso contrario.
+     */
+    public boolean implicaSalto(int indice) {
+        return (saltos[indice >>> 6] & 1L << indice) != 0;
+    }
+
+    /**
+     * Indica si la localidad que ocupa una posición de la plantilla implica un salto de fila.
+     *
+     * @param indice La posición de la localidad.
+     * @return true si la localidad implica un salto de fila, false en caso contrario.
+     */
+    public boolean implicaSaltoFila(int indice) {
+        return (saltosFila[indice >>> 6] & 1L << indice) != 0;
+    }
+
+    /**
+     * Obtiene la posición de la siguiente localidad de la localidad que ocupa una posición de la plantilla.
+     *
+     * @param indice La posición de la localidad.
+     * @return La posición de la siguiente localidad, o {@link #SIN_SIGUIENTE} si no tiene o no es de la zona.
+     */
+    public int getSiguiente(int indice) {
+        return siguientes[indice];
+    }
+}
\ No newline at end of file
@@ -3,9 +3,12 @@ package es.mdef.gaip_libreria.zonas;
 import es.mdef.gaip_libreria.constantes.TipoDeZona;
 import es.mdef.gaip_libreria.herramientas.Figura;
 import es.mdef.gaip_libreria.localidades.Localidad;
+import es.mdef.gaip_libreria.localidades.LocalidadesHelper;
 import es.mdef.gaip_libreria.unidades.Instalacion;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Representa una zona dentro de una {@link Instalacion}.
@@ -22,6 +25,11 @@ import java.util.Set;
  */
 public interface Zona extends Figura {
 
+    /**
+     * Versión de las localidades de las zonas que no llevan la cuenta de sus modificaciones.
+     */
+    long SIN_VERSION = -1;
+
     /**
      * Obtiene la prioridad de la zona para el estacionamiento de militares.
      *
@@ -120,6 +128,37 @@ public interface Zona extends Figura {
      */
     void quitarLocalidad(Localidad localidad);
 
+    /**
+     * Notifica que ha cambiado la disposición de una {@link Localidad} de esta zona: su número, su siguiente localidad,
+     * sus saltos, su posición o su tamaño. Las implementaciones que guardan las localidades ordenadas las descartan y lo notifican a la
+     * instalación. Por defecto no hace nada.
+     *
+     * @param localidad la localidad que ha cambiado.
+     */
+    default void localidadModificada(Localidad localidad) {
+    }
+
+    /**
+     * Obtiene la versión de las localidades de esta zona, que aumenta cada vez que se agrega o se quita una localidad
+     * o una localidad notifica que ha cambiado su disposición. Sirve para saber si una copia compilada de la zona,
+     * como una {@link PlantillaZona}, sigue al día.
+     * Por defecto devuelve {@link #SIN_VERSION}, ya que la zona no lleva la cuenta de sus modificaciones.
+     *
+     * @return la versión de las localidades, o {@link #SIN_VERSION} si la zona no la lleva.
+     */
+    default long getVersionLocalidades() {
+        return SIN_VERSION;
+    }
+
+    /**
+     * Obtiene las {@link Localidad} de esta zona ordenadas por número, con las que no tienen número al final.
+     *
+     * @return una lista inmodificable de las localidades ordenadas por número.
+     */
+    default List<Localidad> getLocalidadesOrdenadasPorNumero() {
+        return LocalidadesHelper.ordenarPorNumero(getLocalidades(), Function.identity());
+    }
+
     /**
      * Obtiene las coordenadas X iniciales para cada fila de la zona.
      * Esto podría representar, por ejemplo, el punto de inicio en el eje X para las filas de asientos en un teatro.
@@ -3,21 +3,46 @@ package es.mdef.gaip_libreria.zonas;
 import es.mdef.gaip_libreria.constantes.TipoDeZona;
 import es.mdef.gaip_libreria.localidades.Localidad;
 import es.mdef.gaip_libreria.unidades.Instalacion;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
 
 /**
  * Implementación concreta de la interfaz {@link Zona}.
  * Esta clase representa una zona física dentro de una {@link Instalacion} con características geométricas y de prioridad.
+ * <p>
+ * Las localidades se guardan por identidad, ya que su igualdad depende de sus coordenadas, y
+ * {@link #getLocalidades()} devuelve una vista de solo lectura, de modo que toda modificación pasa por
+ * {@link #agregarLocalidad(Localidad)}, {@link #quitarLocalidad(Localidad)} o {@link #setLocalidades(Set)}. Cada
+ * modificación, y cada cambio de disposición que notifica una localidad, aumenta la
+ * {@link #getVersionLocalidades() versión de las localidades}.
+ * </p>
+ * <p>
+ * La lista de localidades ordenadas por número se calcula la primera vez que se pide y se conserva hasta que se
+ * agregan o se quitan localidades o se modifica la disposición de alguna.
+ * </p>
+ * <p>
+ * Al agregar o quitar localidades, o cuando una localidad notifica que ha cambiado su disposición, la zona lo notifica
+ * a su instalación para que descarte su {@link es.mdef.gaip_libreria.unidades.PlantillaInstalacion}.
+ * </p>
  */
 @EqualsAndHashCode(of = {"nombre", "tipoDeZona", "numeroLocalidades"})
 @Data
 public class ZonaImpl implements Zona {
-    private Set<Localidad> localidades = new HashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<Localidad> localidades = Collections.newSetFromMap(new IdentityHashMap<>());
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Set<Localidad> vistaLocalidades = Collections.unmodifiableSet(localidades);
     private String nombre;
     private int numeroLocalidades;
     private TipoDeZona tipoDeZona;
@@ -32,6 +57,23 @@ public class ZonaImpl implements Zona {
     private double saltoHuecoX;
     private double saltoY;
     private int prioridadParkingMilitares;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private List<Localidad> localidadesOrdenadas;
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private long versionLocalidades;
+
+    /**
+     * Obtiene una vista de solo lectura de las localidades de la zona.
+     *
+     * @return El conjunto inmodificable de localidades, que refleja los cambios de la zona.
+     */
+    @Override
+    public Set<Localidad> getLocalidades() {
+        return vistaLocalidades;
+    }
 
     /**
      * Establece el conjunto de {@link Localidad} en esta zona, actualizando la asociación bidireccional entre la zona y sus localidades.
@@ -39,12 +81,11 @@ public class ZonaImpl implements Zona {
      * @param localidades un conjunto de {@link Localidad} para asociar con esta zona.
      */
     public void setLocalidades(Set<Localidad> localidades) {
-        if (this.localidades != localidades) {
-            this.localidades.forEach(localidad -> localidad.setZona(null));
+        if (localidades != this.localidades && localidades != vistaLocalidades) {
+            List.copyOf(this.localidades).forEach(this::quitarLocalidad);
             if (localidades != null) {
-                localidades.forEach(localidad -> localidad.setZona(this));
+                localidades.forEach(this::agregarLocalidad);
             }
-            this.localidades = localidades;
         }
     }
 
@@ -78,6 +119,7 @@ public class ZonaImpl implements Zona {
         }
         if (!localidades.contains(localidad)) {
             localidades.add(localidad);
+            localidadModificada(localidad);
             if (localidad.getZona() != this) {
                 localidad.setZona(this);
             }
@@ -97,9 +139,43 @@ public class ZonaImpl implements Zona {
         }
         if (localidades.contains(localidad)) {
             localidades.remove(localidad);
+            localidadModificada(localidad);
             if (localidad.getZona() == this) {
                 localidad.setZona(null);
             }
         }
     }
+
+    /**
+     * Aumenta la versión de las localidades, descarta las localidades ordenadas y lo notifica a la instalación para
+     * que descarte su plantilla.
+     *
+     * @param localidad la localidad que ha cambiado.
+     */
+    @Override
+    public void localidadModificada(Localidad localidad) {
+        versionLocalidades++;
+        localidadesOrdenadas = null;
+        notificarInstalacion();
+    }
+
+    /**
+     * Obtiene las localidades de la zona ordenadas por número, reutilizando la última ordenación mientras no cambien
+     * las localidades.
+     *
+     * @return Una lista inmodificable de las localidades ordenadas por número.
+     */
+    @Override
+    public List<Localidad> getLocalidadesOrdenadasPorNumero() {
+        if (localidadesOrdenadas == null) {
+            localidadesOrdenadas = Zona.super.getLocalidadesOrdenadasPorNumero();
+        }
+        return localidadesOrdenadas;
+    }
+
+    private void notificarInstalacion() {
+        if (instalacion != null) {
+            instalacion.zonasModificadas();
+        }
+    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package es.mdef.gaip_libreria.zonas;
 
 import es.mdef.gaip_libreria.localidades.Localidad;
-import es.mdef.gaip_libreria.localidades.LocalidadesHelper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +19,8 @@ public final class ZonasHelper {
     }
 
     /**
-     * Obtiene una lista de localidades ordenadas por número de una zona específica.
+     * Obtiene una lista de localidades ordenadas por número de una zona específica a partir de
+     * {@link Zona#getLocalidadesOrdenadasPorNumero()}, que las implementaciones pueden conservar entre llamadas.
      * Si la zona es nula o no tiene localidades, retorna una lista vacía.
      *
      * @param zona La {@link Zona} de la cual obtener las localidades ordenadas.
@@ -31,8 +31,6 @@ public final class ZonasHelper {
         if (zona == null || zona.getLocalidades() == null) {
             return new ArrayList<>();
         }
-        return zona.getLocalidades().stream()
-                .sorted(LocalidadesHelper::compararLocalidadesPorNumero)
-                .toList();
+        return zona.getLocalidadesOrdenadasPorNumero();
     }
 }
\ No newline at end of file
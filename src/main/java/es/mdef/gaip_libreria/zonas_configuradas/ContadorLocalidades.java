@@ -0,0 +1,107 @@
+package es.mdef.gaip_libreria.zonas_configuradas;
+
+import es.mdef.gaip_libreria.constantes.EstadoDeUnaLocalidad;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contadores de las localidades de una zona configurada por {@link EstadoLocalidad} y {@link EstadoOcupacionLocalidad}.
+ * <p>
+ * La zona actualiza los contadores cada vez que agrega o quita una localidad y cada vez que una de sus localidades
+ * cambia de estado o de ocupación, de modo que cualquier recuento se responde sin recorrer las localidades.
+ * Las localidades sin estado se cuentan en una fila aparte para que los recuentos por ocupación las incluyan.
+ * </p>
+ * <p>
+ * La zona solo expone sus localidades como una vista de solo lectura, por lo que la lista no puede cambiar sin que la
+ * zona actualice los contadores.
+ * </p>
+ */
+final class ContadorLocalidades {
+    private static final EstadoLocalidad[] ESTADOS = EstadoLocalidad.values();
+    private static final EstadoOcupacionLocalidad[] OCUPACIONES = EstadoOcupacionLocalidad.values();
+    private static final int SIN_ESTADO = ESTADOS.length;
+
+    private final int[][] cuentas = new int[ESTADOS.length + 1][OCUPACIONES.length];
+
+    /**
+     * Recalcula los contadores recorriendo todas las localidades dadas.
+     *
+     * @param localidades Localidades de la zona.
+     */
+    void recalcular(List<LocalidadConfigurada> localidades) {
+        for (int[] fila : cuentas) {
+            Arrays.fill(fila, 0);
+        }
+        for (LocalidadConfigurada localidad : localidades) {
+            cuentas[fila(localidad.getEstadoLocalidad())][localidad.getEstadoOcupacionLocalidad().ordinal()]++;
+        }
+    }
+
+    /**
+     * Cuenta una localidad que se acaba de agregar a la zona.
+     *
+     * @param localidad Localidad agregada.
+     */
+    void agregar(LocalidadConfigurada localidad) {
+        cuentas[fila(localidad.getEstadoLocalidad())][localidad.getEstadoOcupacionLocalidad().ordinal()]++;
+    }
+
+    /**
+     * Descuenta una localidad que se acaba de quitar de la zona.
+     *
+     * @param localidad Localidad quitada.
+     */
+    void quitar(LocalidadConfigurada localidad) {
+        cuentas[fila(localidad.getEstadoLocalidad())][localidad.getEstadoOcupacionLocalidad().ordinal()]--;
+    }
+
+    /**
+     * Mueve una localidad de la celda de su estado y ocupación anteriores a la de los actuales.
+     *
+     * @param localidad         Localidad modificada.
+     * @param estadoAnterior    Estado de la localidad antes del cambio.
+     * @param ocupacionAnterior Ocupación de la localidad antes del cambio.
+     */
+    void mover(LocalidadConfigurada localidad, EstadoLocalidad estadoAnterior, EstadoOcupacionLocalidad ocupacionAnterior) {
+        cuentas[fila(estadoAnterior)][ocupacionAnterior.ordinal()]--;
+        cuentas[fila(localidad.getEstadoLocalidad())][localidad.getEstadoOcupacionLocalidad().ordinal()]++;
+    }
+
+    /**
+     * Obtiene el número de localidades con el estado y la ocupación dados.
+     *
+     * @param estado    Estado de las localidades.
+     * @param ocupacion Ocupación de las localidades.
+     * @return El número de localidades que cumplen ambas condiciones.
+     */
+    int contar(EstadoLocalidad estado, EstadoOcupacionLocalidad ocupacion) {
+        return cuentas[fila(estado)][ocupacion.ordinal()];
+    }
+
+    /**
+     * Obtiene el número de localidades cuyo estado o cuya ocupación coincide con el dado.
+     *
+     * @param estado Estado u ocupación de las localidades.
+     * @return El número de localidades que coinciden, o 0 si el estado no es de ninguno de los dos tipos.
+     */
+    int contar(EstadoDeUnaLocalidad estado) {
+        int total = 0;
+        if (estado instanceof EstadoOcupacionLocalidad ocupacion) {
+            for (int[] fila : cuentas) {
+                total += fila[ocupacion.ordinal()];
+            }
+        } else if (estado == null || estado instanceof EstadoLocalidad) {
+            for (int cuenta : cuentas[fila((EstadoLocalidad) estado)]) {
+                total += cuenta;
+            }
+        }
+        return total;
+    }
+
+    private static int fila(EstadoLocalidad estado) {
+        return estado == null ? SIN_ESTADO : estado.ordinal();
+    }
+}
\ No newline at end of file
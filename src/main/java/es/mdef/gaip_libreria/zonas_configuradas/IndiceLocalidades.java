@@ -0,0 +1,99 @@
+package es.mdef.gaip_libreria.zonas_configuradas;
+
+import es.mdef.gaip_libreria.localidades.Localidad;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de las localidades de una zona configurada por identidad y por la {@link Localidad} física que configuran.
+ * <p>
+ * Permite saber si una localidad configurada pertenece a la zona y encontrar la localidad configurada de una
+ * localidad física sin recorrer la lista de localidades, de modo que recorrer una fila con
+ * {@link LocalidadConfigurada#getSiguienteLocalidad()} cuesta lo mismo que el número de localidades recorridas.
+ * Se usa la identidad porque dos localidades configuradas distintas con el mismo estado son iguales.
+ * </p>
+ * <p>
+ * Como {@link ContadorLocalidades}, el índice se mantiene al día porque la lista de localidades solo cambia a través
+ * de la zona. Si una localidad configurada cambia de localidad física después de agregarse, la zona lo notifica y el
+ * índice se actualiza, por lo que una búsqueda no recorre nunca la lista.
+ * </p>
+ */
+final class IndiceLocalidades {
+    private final Set<LocalidadConfigurada> indexadas = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Localidad, LocalidadConfigurada> porLocalidad = new IdentityHashMap<>();
+
+    /**
+     * Reconstruye el índice recorriendo todas las localidades dadas.
+     *
+     * @param localidades Localidades de la zona.
+     */
+    void reconstruir(List<LocalidadConfigurada> localidades) {
+        indexadas.clear();
+        porLocalidad.clear();
+        localidades.forEach(this::agregar);
+    }
+
+    /**
+     * Indica si una localidad configurada está en el índice.
+     *
+     * @param localidad Localidad configurada a buscar.
+     * @return true si la localidad está indexada, false en caso contrario.
+     */
+    boolean contiene(LocalidadConfigurada localidad) {
+        return indexadas.contains(localidad);
+    }
+
+    /**
+     * Indexa una localidad que se acaba de agregar al final de la zona. Si otra localidad de la zona ya configura la
+     * misma localidad física, se mantiene la primera, que es la que encontraría un recorrido de la lista.
+     *
+     * @param localidad Localidad agregada.
+     */
+    void agregar(LocalidadConfigurada localidad) {
+        indexadas.add(localidad);
+        if (localidad.getLocalidad() != null) {
+            porLocalidad.putIfAbsent(localidad.getLocalidad(), localidad);
+        }
+    }
+
+    /**
+     * Quita del índice una localidad que se acaba de quitar de la zona.
+     *
+     * @param localidad Localidad quitada.
+     */
+    void quitar(LocalidadConfigurada localidad) {
+        indexadas.remove(localidad);
+        if (localidad.getLocalidad() != null && porLocalidad.get(localidad.getLocalidad()) == localidad) {
+            porLocalidad.remove(localidad.getLocalidad());
+        }
+    }
+
+    /**
+     * Actualiza el índice de una localidad indexada que ha pasado a configurar otra localidad física.
+     *
+     * @param localidad Localidad configurada que ha cambiado.
+     * @param anterior  Localidad física que configuraba antes del cambio, o null si no tenía.
+     */
+    void reasignar(LocalidadConfigurada localidad, Localidad anterior) {
+        if (anterior != null && porLocalidad.get(anterior) == localidad) {
+            porLocalidad.remove(anterior);
+        }
+        if (localidad.getLocalidad() != null) {
+            porLocalidad.putIfAbsent(localidad.getLocalidad(), localidad);
+        }
+    }
+
+    /**
+     * Busca la localidad configurada de una localidad física en el índice.
+     *
+     * @param localidad Localidad física a buscar.
+     * @return La localidad configurada de la localidad física, o null si no está en la zona.
+     */
+    LocalidadConfigurada buscar(Localidad localidad) {
+        return porLocalidad.get(localidad);
+    }
+}
\ No newline at end of file
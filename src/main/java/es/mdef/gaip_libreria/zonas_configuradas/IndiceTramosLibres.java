@@ -0,0 +1,141 @@
+package es.mdef.gaip_libreria.zonas_configuradas;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índice ordenado de los tramos libres máximos de un {@link MapaLocalidades}: grupos de localidades consecutivas
+ * normales y libres que terminan antes de una localidad que no lo está o en una localidad que implica un salto o un
+ * salto de fila.
+ * <p>
+ * Cada tramo se guarda por su posición inicial, y las longitudes se guardan además en un árbol de máximos por
+ * posición, de modo que el primer tramo que admite un grupo de una longitud dada se encuentra en tiempo logarítmico.
+ * El mapa mantiene el índice al día cada vez que ocupa una localidad, partiendo el tramo afectado.
+ * </p>
+ */
+public final class IndiceTramosLibres {
+    private final TreeMap<Integer, Integer> porInicio = new TreeMap<>();
+    private final int hojas;
+    private final int[] maximos;
+
+    /**
+     * Construye el índice recorriendo una vez las localidades del mapa.
+     *
+     * @param mapa              Mapa de las localidades de la zona.
+     * @param usarFinalesDeFila Si es false, las localidades que implican un salto de fila no forman parte de ningún
+     *                          tramo.
+     */
+    IndiceTramosLibres(MapaLocalidades mapa, boolean usarFinalesDeFila) {
+        int numero = mapa.getNumeroLocalidades();
+        int tamano = 1;
+        while (tamano < numero) {
+            tamano <<= 1;
+        }
+        this.hojas = tamano;
+        this.maximos = new int[2 * tamano];
+
+        int inicio = -1;
+        for (int i = 0; i < numero; i++) {
+            if (mapa.admiteTramo(i, usarFinalesDeFila)) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+                if (mapa.cortaTramo(i)) {
+                    agregar(inicio, i + 1 - inicio);
+                    inicio = -1;
+                }
+            } else if (inicio >= 0) {
+                agregar(inicio, i - inicio);
+                inicio = -1;
+            }
+        }
+        if (inicio >= 0) {
+            agregar(inicio, numero - inicio);
+        }
+    }
+
+    /**
+     * Busca el primer grupo de localidades consecutivas de la longitud dada que empieza en una posición igual o
+     * posterior a la dada y cabe en un tramo libre.
+     *
+     * @param longitud El número de localidades del grupo. Debe ser mayor que cero.
+     * @param desde    La primera posición en la que puede empezar el grupo.
+     * @return La posición de la primera localidad del grupo, o -1 si no cabe en ningún tramo.
+     * @throws IllegalArgumentException si la longitud no es mayor que cero.
+     */
+    public int buscarPrimero(int longitud, int desde) {
+        if (longitud <= 0) {
+            throw new IllegalArgumentException("La longitud del tramo debe ser mayor que cero.");
+        }
+        desde = Math.max(desde, 0);
+        Map.Entry<Integer, Integer> contiene = porInicio.floorEntry(desde);
+        if (contiene != null && contiene.getKey() + contiene.getValue() - desde >= longitud) {
+            return desde;
+        }
+        return primeraHoja(1, 0, hojas, desde + 1, longitud);
+    }
+
+    /**
+     * Obtiene el número de tramos libres del índice.
+     *
+     * @return El número de tramos.
+     */
+    public int getNumeroTramos() {
+        return porInicio.size();
+    }
+
+    /**
+     * Parte el tramo que contiene una localidad que se acaba de ocupar.
+     *
+     * @param indice Posición de la localidad ocupada.
+     */
+    void ocupada(int indice) {
+        Map.Entry<Integer, Integer> tramo = porInicio.floorEntry(indice);
+        if (tramo == null || tramo.getKey() + tramo.getValue() <= indice) {
+            return;
+        }
+        int inicio = tramo.getKey();
+        int fin = inicio + tramo.getValue();
+        quitar(inicio, tramo.getValue());
+        if (indice > inicio) {
+            agregar(inicio, indice - inicio);
+        }
+        if (fin > indice + 1) {
+            agregar(indice + 1, fin - indice - 1);
+        }
+    }
+
+    private void agregar(int inicio, int longitud) {
+        porInicio.put(inicio, longitud);
+        actualizarArbol(inicio, longitud);
+    }
+
+    private void quitar(int inicio, int longitud) {
+        porInicio.remove(inicio);
+        actualizarArbol(inicio, 0);
+    }
+
+    private void actualizarArbol(int posicion, int valor) {
+        int nodo = hojas + posicion;
+        maximos[nodo] = valor;
+        for (nodo >>>= 1; nodo > 0; nodo >>>= 1) {
+            maximos[nodo] = Math.max(maximos[2 * nodo], maximos[2 * nodo + 1]);
+        }
+    }
+
+    /**
+     * Devuelve la primera posición igual o posterior a la dada en la que empieza un tramo de al menos la longitud
+     * dada, descendiendo solo por los nodos cuyo máximo la alcanza.
+     */
+    private int primeraHoja(int nodo, int izquierda, int derecha, int desde, int longitud) {
+        if (derecha <= desde || maximos[nodo] < longitud) {
+            return -1;
+        }
+        if (derecha - izquierda == 1) {
+            return izquierda;
+        }
+        int medio = (izquierda + derecha) >>> 1;
+        int encontrada = primeraHoja(2 * nodo, izquierda, medio, desde, longitud);
+        return encontrada >= 0 ? encontrada : primeraHoja(2 * nodo + 1, medio, derecha, desde, longitud);
+    }
+}
\ No newline at end of file
@@ -101,7 +101,7 @@ public interface LocalidadConfigurada {
         if (getLocalidad() == null) {
             return null;
         }
-        return getZonaConfigurada().getLocalidades().stream().filter(e -> e.getLocalidad() == getLocalidad().getSiguienteLocalidad()).findFirst().orElse(null);
+        return getZonaConfigurada().getLocalidadConfigurada(getLocalidad().getSiguienteLocalidad());
     }
 
     /**
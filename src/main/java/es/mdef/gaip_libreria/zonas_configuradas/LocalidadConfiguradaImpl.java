@@ -1,6 +1,7 @@
 package es.mdef.gaip_libreria.zonas_configuradas;
 
 import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad;
 import es.mdef.gaip_libreria.invitados.Coche;
 import es.mdef.gaip_libreria.invitados.Invitado;
 import es.mdef.gaip_libreria.localidades.Localidad;
@@ -35,7 +36,24 @@ public class LocalidadConfiguradaImpl implements LocalidadConfigurada {
      */
     public void setLocalidad(Localidad localidad) {
         if (this.localidad != localidad) {
+            Localidad anterior = this.localidad;
             this.localidad = localidad;
+            if (zonaConfigurada != null) {
+                zonaConfigurada.localidadReasignada(this, anterior);
+            }
+        }
+    }
+
+    /**
+     * Establece el estado de la localidad configurada y avisa a su zona para que actualice sus contadores.
+     *
+     * @param estadoLocalidad El nuevo estado de la localidad.
+     */
+    public void setEstadoLocalidad(EstadoLocalidad estadoLocalidad) {
+        if (this.estadoLocalidad != estadoLocalidad) {
+            EstadoLocalidad estadoAnterior = this.estadoLocalidad;
+            this.estadoLocalidad = estadoLocalidad;
+            notificarCambio(estadoAnterior, getEstadoOcupacionLocalidad());
         }
     }
 
@@ -64,7 +82,9 @@ public class LocalidadConfiguradaImpl implements LocalidadConfigurada {
     public void setInvitado(Invitado invitado, boolean superarMaximo) {
         if (this.invitado != invitado) {
             Invitado oldInvitado = this.invitado;
+            EstadoOcupacionLocalidad ocupacionAnterior = getEstadoOcupacionLocalidad();
             this.invitado = invitado;
+            notificarCambio(estadoLocalidad, ocupacionAnterior);
 
             if (oldInvitado != null) {
                 oldInvitado.setLocalidad(null, superarMaximo);
@@ -84,7 +104,9 @@ public class LocalidadConfiguradaImpl implements LocalidadConfigurada {
     public void setCoche(Coche coche, boolean superarMaximo) {
         if (this.coche != coche) {
             Coche oldCoche = this.coche;
+            EstadoOcupacionLocalidad ocupacionAnterior = getEstadoOcupacionLocalidad();
             this.coche = coche;
+            notificarCambio(estadoLocalidad, ocupacionAnterior);
 
             if (oldCoche != null) {
                 oldCoche.setLocalidad(null, superarMaximo);
@@ -95,4 +117,11 @@ public class LocalidadConfiguradaImpl implements LocalidadConfigurada {
             }
         }
     }
+
+    private void notificarCambio(EstadoLocalidad estadoAnterior, EstadoOcupacionLocalidad ocupacionAnterior) {
+        if (zonaConfigurada != null
+                && (estadoAnterior != estadoLocalidad || ocupacionAnterior != getEstadoOcupacionLocalidad())) {
+            zonaConfigurada.localidadModificada(this, estadoAnterior, ocupacionAnterior);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+package es.mdef.gaip_libreria.zonas_configuradas;
+
+import es.mdef.gaip_libreria.localidades.Localidad;
+import es.mdef.gaip_libreria.zonas.PlantillaZona;
+import es.mdef.gaip_libreria.zonas.Zona;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static es.mdef.gaip_libreria.constantes.EstadoLocalidad.NORMAL;
+import static es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad.LIBRE;
+
+/**
+ * Mapa compacto de las localidades de una zona configurada en orden de número, con un bit por localidad.
+ * <p>
+ * Guarda qué localidades son normales y están libres y cuáles implican un salto o un salto de fila, de modo que la
+ * búsqueda de localidades consecutivas libres se hace con operaciones sobre palabras de 64 bits en lugar de recorrer
+ * las localidades una a una. Las localidades y los saltos no cambian una vez construido el mapa; solo cambia qué
+ * localidades están libres, por lo que {@link #copia()} comparte todo lo demás con el original.
+ * </p>
+ * <p>
+ * Los saltos y el encadenamiento de las localidades se leen de la {@link PlantillaZona} que comparte la instalación de
+ * la zona, y solo se consulta cada localidad cuando la zona no tiene instalación o la localidad no está en la plantilla.
+ * </p>
+ * <p>
+ * El mapa es una foto de la zona en el momento de construirlo y no refleja los cambios posteriores de la zona.
+ * Quien reparte localidades sobre un mapa lo mantiene al día con {@link #ocupar(LocalidadConfigurada)}, que
+ * actualiza también los {@link IndiceTramosLibres} del mapa.
+ * </p>
+ */
+public final class MapaLocalidades {
+    private final List<LocalidadConfigurada> localidades;
+    private final Map<LocalidadConfigurada, Integer> indices;
+    private final long[] normales;
+    private final long[] libres;
+    private final long[] saltosFila;
+    private final long[] cortes;
+    private final boolean encadenada;
+    private final IndiceTramosLibres[] indicesTramos = new IndiceTramosLibres[2];
+
+    private MapaLocalidades(List<LocalidadConfigurada> localidades, Map<LocalidadConfigurada, Integer> indices,
+                            long[] normales, long[] libres, long[] saltosFila, long[] cortes, boolean encadenada) {
+        this.localidades = localidades;
+        this.indices = indices;
+        this.normales = normales;
+        this.libres = libres;
+        this.saltosFila = saltosFila;
+        this.cortes = cortes;
+        this.encadenada = encadenada;
+    }
+
+    /**
+     * Construye el mapa de una zona configurada a partir del estado actual de sus localidades y de la plantilla de
+     * su zona.
+     *
+     * @param zona La zona configurada. No puede ser nula.
+     * @return El mapa de las localidades de la zona.
+     * @throws IllegalArgumentException si la zona es nula.
+     */
+    public static MapaLocalidades de(ZonaConfigurada zona) {
+        if (zona == null) {
+            throw new IllegalArgumentException("La zona no puede ser nula.");
+        }
+        List<LocalidadConfigurada> localidades = ZonasConfiguradasHelper.getLocalidadesOrdenadasPorNumero(zona);
+        int numero = localidades.size();
+        Map<LocalidadConfigurada, Integer> indices = new IdentityHashMap<>(numero);
+        long[] normales = new long[palabras(numero)];
+        long[] libres = new long[palabras(numero)];
+        long[] saltosFila = new long[palabras(numero)];
+        long[] cortes = new long[palabras(numero)];
+        PlantillaZona plantilla = plantillaDe(zona);
+        int[] enPlantilla = new int[numero];
+        boolean encadenada = true;
+        for (int i = 0; i < numero; i++) {
+            LocalidadConfigurada localidad = localidades.get(i);
+            indices.putIfAbsent(localidad, i);
+            if (localidad.getEstadoLocalidad() == NORMAL) {
+                marcar(normales, i);
+                if (localidad.getEstadoOcupacionLocalidad() == LIBRE) {
+                    marcar(libres, i);
+                }
+            }
+            Localidad fisica = localidad.getLocalidad();
+            enPlantilla[i] = plantilla == null || fisica == null ? -1 : plantilla.indiceDe(fisica);
+            if (fisica == null) {
+                encadenada = false;
+                continue;
+            }
+            int indice = enPlantilla[i];
+            if (indice >= 0 ? plantilla.implicaSaltoFila(indice) : Boolean.TRUE.equals(fisica.getImplicaSaltoFila())) {
+                marcar(saltosFila, i);
+                marcar(cortes, i);
+            }
+            if (indice >= 0 ? plantilla.implicaSalto(indice) : Boolean.TRUE.equals(fisica.getImplicaSalto())) {
+                marcar(cortes, i);
+            }
+        }
+        for (int i = 0; i < numero && encadenada; i++) {
+            LocalidadConfigurada localidad = localidades.get(i);
+            if (localidad.getZonaConfigurada() != zona) {
+                encadenada = false;
+            } else if (i + 1 < numero && enPlantilla[i] >= 0 && enPlantilla[i + 1] >= 0) {
+                encadenada = plantilla.getSiguiente(enPlantilla[i]) == enPlantilla[i + 1];
+            } else {
+                encadenada = localidad.getSiguienteLocalidad() == (i + 1 < numero ? localidades.get(i + 1) : null);
+            }
+        }
+        return new MapaLocalidades(localidades, indices, normales, libres, saltosFila, cortes, encadenada);
+    }
+
+    /**
+     * Crea una copia del mapa cuyas localidades se pueden ocupar sin modificar este mapa. Los índices de
+     * tramos libres no se copian y se construyen en la copia cuando se piden.
+     *
+     * @return La copia del mapa.
+     */
+    public MapaLocalidades copia() {
+        return new MapaLocalidades(localidades, indices, normales, libres.clone(), saltosFila, cortes, encadenada);
+    }
+
+    /**
+     * Obtiene el número de localidades del mapa.
+     *
+     * @return El número de localidades.
+     */
+    public int getNumeroLocalidades() {
+        return localidades.size();
+    }
+
+    /**
+     * Obtiene la localidad que ocupa una posición del mapa.
+     *
+     * @param indice La posición de la localidad en orden de número.
+     * @return La localidad configurada.
+     */
+    public LocalidadConfigurada getLocalidad(int indice) {
+        return localidades.get(indice);
+    }
+
+    /**
+     * Obtiene la posición de una localidad en el mapa.
+     *
+     * @param localidad La localidad configurada.
+     * @return La posición de la localidad en orden de número, o -1 si no está en el mapa.
+     */
+    public int indiceDe(LocalidadConfigurada localidad) {
+        Integer indice = indices.get(localidad);
+        return indice == null ? -1 : indice;
+    }
+
+    /**
+     * Indica si la localidad de una posición es normal y está libre.
+     *
+     * @param indice La posición de la localidad.
+     * @return true si la localidad es normal y está libre, false en caso contrario.
+     */
+    public boolean estaLibre(int indice) {
+        return estaMarcada(libres, indice);
+    }
+
+    /**
+     * Marca una localidad del mapa como ocupada. No hace nada si la localidad no está en el mapa.
+     *
+     * @param localidad La localidad configurada que se ocupa.
+     */
+    public void ocupar(LocalidadConfigurada localidad) {
+        int indice = indiceDe(localidad);
+        if (indice >= 0 && estaLibre(indice)) {
+            libres[indice >>> 6] &= ~(1L << indice);
+            for (IndiceTramosLibres tramos : indicesTramos) {
+                if (tramos != null) {
+                    tramos.ocupada(indice);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el índice de tramos libres del mapa, que se construye la primera vez que se pide y se mantiene al día
+     * al ocupar localidades.
+     *
+     * @param usarFinalesDeFila Si es false, las localidades que implican un salto de fila no forman parte de ningún
+     *                          tramo.
+     * @return El índice de tramos libres.
+     */
+    public IndiceTramosLibres getIndiceTramosLibres(boolean usarFinalesDeFila) {
+        int posicion = usarFinalesDeFila ? 1 : 0;
+        if (indicesTramos[posicion] == null) {
+            indicesTramos[posicion] = new IndiceTramosLibres(this, usarFinalesDeFila);
+        }
+        return indicesTramos[posicion];
+    }
+
+    /**
+     * Indica si la localidad de una posición puede formar parte de un tramo libre.
+     */
+    boolean admiteTramo(int indice, boolean usarFinalesDeFila) {
+        return estaLibre(indice) && (usarFinalesDeFila || !estaMarcada(saltosFila, indice));
+    }
+
+    /**
+     * Indica si un tramo libre termina en la localidad de una posición porque implica un salto o un salto de fila.
+     */
+    boolean cortaTramo(int indice) {
+        return estaMarcada(cortes, indice);
+    }
+
+    /**
+     * Indica si la siguiente localidad de cada localidad, según {@link LocalidadConfigurada#getSiguienteLocalidad()},
+     * es la siguiente en orden de número, y la última no tiene siguiente. En ese caso recorrer una fila con
+     * {@link LocalidadConfigurada#getSiguienteLocalidad()} equivale a recorrer el mapa.
+     *
+     * @return true si las localidades están encadenadas en orden de número, false en caso contrario.
+     */
+    public boolean estaEncadenada() {
+        return encadenada;
+    }
+
+    /**
+     * Divide las localidades normales y libres en tramos de localidades consecutivas. Un tramo termina antes de una
+     * localidad que no está libre o en una localidad que implica un salto o un salto de fila.
+     *
+     * @return Los tramos en orden de número, cada uno con sus localidades en orden de número.
+     */
+    public List<List<LocalidadConfigurada>> getTramosLibres() {
+        List<List<LocalidadConfigurada>> tramos = new ArrayList<>();
+        int inicio = siguienteMarcada(libres, 0);
+        while (inicio >= 0) {
+            int fin = siguienteSinMarcar(libres, inicio);
+            int corte = siguienteMarcada(cortes, inicio);
+            if (corte >= 0 && corte < fin) {
+                fin = corte + 1;
+            }
+            tramos.add(localidades.subList(inicio, fin));
+            inicio = siguienteMarcada(libres, fin);
+        }
+        return tramos;
+    }
+
+    private int siguienteMarcada(long[] bits, int desde) {
+        int palabra = desde >>> 6;
+        if (palabra >= bits.length) {
+            return -1;
+        }
+        long actual = bits[palabra] & -1L << desde;
+        while (true) {
+            if (actual != 0) {
+                return palabra * 64 + Long.numberOfTrailingZeros(actual);
+            }
+            if (++palabra == bits.length) {
+                return -1;
+            }
+            actual = bits[palabra];
+        }
+    }
+
+    private int siguienteSinMarcar(long[] bits, int desde) {
+        int palabra = desde >>> 6;
+        if (palabra >= bits.length) {
+            return localidades.size();
+        }
+        long actual = ~bits[palabra] & -1L << desde;
+        while (true) {
+            if (actual != 0) {
+                return Math.min(palabra * 64 + Long.numberOfTrailingZeros(actual), localidades.size());
+            }
+            if (++palabra == bits.length) {
+                return localidades.size();
+            }
+            actual = ~bits[palabra];
+        }
+    }
+
+    private static PlantillaZona plantillaDe(ZonaConfigurada zona) {
+        Zona fisica = zona.getZona();
+        if (fisica == null || fisica.getInstalacion() == null) {
+            return null;
+        }
+        return fisica.getInstalacion().getPlantilla().getPlantillaZona(fisica);
+    }
+
+    private static int palabras(int numero) {
+        return (numero + 63) >>> 6;
+    }
+
+    private static boolean estaMarcada(long[] bits, int indice) {
+        return (bits[indice >>> 6] & 1L << indice) != 0;
+    }
+
+    private static void marcar(long[] bits, int indice) {
+        bits[indice >>> 6] |= 1L << indice;
+    }
+}
\ No newline at end of file
@@ -3,9 +3,13 @@ package es.mdef.gaip_libreria.zonas_configuradas;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Objects;
+
 /**
  * Implementación concreta de la interfaz {@link PrioridadPorUnidad}.
  * Esta clase representa una prioridad específica asignada a una unidad y asociada a una zona configurada.
+ * Cuando cambian la prioridad, la unidad o la zona, se avisa al acto de la zona para que reconstruya su tabla de
+ * prioridades.
  */
 @Data
 @EqualsAndHashCode(of = {"prioridad", "unidad"})
@@ -23,11 +27,43 @@ public class PrioridadPorUnidadImpl implements PrioridadPorUnidad {
         if (this.zona != zona) {
             if (this.zona != null) {
                 this.zona.getPrioridades().remove(this);
+                notificarActo(this.zona);
             }
             this.zona = zona;
             if (this.zona != null) {
                 zona.getPrioridades().add(this);
+                notificarActo(zona);
             }
         }
     }
+
+    /**
+     * Establece la prioridad de la unidad en la zona y avisa al acto de la zona.
+     *
+     * @param prioridad La nueva prioridad.
+     */
+    public void setPrioridad(int prioridad) {
+        if (this.prioridad != prioridad) {
+            this.prioridad = prioridad;
+            notificarActo(zona);
+        }
+    }
+
+    /**
+     * Establece la unidad a la que se aplica la prioridad y avisa al acto de la zona.
+     *
+     * @param unidad La nueva unidad.
+     */
+    public void setUnidad(String unidad) {
+        if (!Objects.equals(this.unidad, unidad)) {
+            this.unidad = unidad;
+            notificarActo(zona);
+        }
+    }
+
+    private static void notificarActo(ZonaConfigurada zona) {
+        if (zona != null && zona.getActo() != null) {
+            zona.getActo().prioridadesModificadas();
+        }
+    }
 }
\ No newline at end of file
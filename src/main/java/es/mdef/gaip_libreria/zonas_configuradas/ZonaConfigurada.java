@@ -4,6 +4,8 @@ import es.mdef.gaip_libreria.actos.Acto;
 import es.mdef.gaip_libreria.constantes.EstadoDeUnaLocalidad;
 import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
 import es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad;
+import es.mdef.gaip_libreria.localidades.Localidad;
+import es.mdef.gaip_libreria.localidades.LocalidadesHelper;
 import es.mdef.gaip_libreria.zonas.Zona;
 
 import java.util.List;
@@ -105,6 +107,52 @@ public interface ZonaConfigurada {
      */
     void quitarLocalidad(LocalidadConfigurada localidad);
 
+    /**
+     * Notifica que una {@link LocalidadConfigurada} de esta configuración ha cambiado de estado o de ocupación.
+     * Las implementaciones que mantienen contadores de localidades los actualizan a partir de los valores anteriores
+     * y de los actuales de la localidad. Por defecto no hace nada, ya que los recuentos recorren las localidades.
+     *
+     * @param localidad         la localidad configurada que ha cambiado.
+     * @param estadoAnterior    el estado de la localidad antes del cambio.
+     * @param ocupacionAnterior la ocupación de la localidad antes del cambio.
+     */
+    default void localidadModificada(LocalidadConfigurada localidad, EstadoLocalidad estadoAnterior, EstadoOcupacionLocalidad ocupacionAnterior) {
+    }
+
+    /**
+     * Notifica que una {@link LocalidadConfigurada} de esta configuración ha pasado a configurar otra
+     * {@link Localidad} física. Las implementaciones que indexan las localidades por su localidad física actualizan
+     * el índice. Por defecto no hace nada, ya que las búsquedas recorren las localidades.
+     *
+     * @param localidad la localidad configurada que ha cambiado.
+     * @param anterior  la localidad física que configuraba antes del cambio, o {@code null} si no tenía.
+     */
+    default void localidadReasignada(LocalidadConfigurada localidad, Localidad anterior) {
+    }
+
+    /**
+     * Busca la {@link LocalidadConfigurada} de esta configuración que corresponde a una {@link Localidad} física.
+     *
+     * @param localidad la localidad física a buscar.
+     * @return la localidad configurada que corresponde a la localidad dada, o {@code null} si no está en esta configuración.
+     */
+    default LocalidadConfigurada getLocalidadConfigurada(Localidad localidad) {
+        if (localidad == null) {
+            return null;
+        }
+        return getLocalidades().stream().filter(e -> e.getLocalidad() == localidad).findFirst().orElse(null);
+    }
+
+    /**
+     * Obtiene las {@link LocalidadConfigurada} de esta configuración ordenadas por el número de su localidad física,
+     * con las que no tienen número al final.
+     *
+     * @return una lista inmodificable de las localidades configuradas ordenadas por número.
+     */
+    default List<LocalidadConfigurada> getLocalidadesOrdenadasPorNumero() {
+        return LocalidadesHelper.ordenarPorNumero(getLocalidades(), LocalidadConfigurada::getLocalidad);
+    }
+
     /**
      * Obtiene el número total de localidades en la zona asociada.
      *
@@ -151,6 +199,16 @@ public interface ZonaConfigurada {
                 .toList();
     }
 
+    /**
+     * Obtiene un {@link MapaLocalidades} con las localidades de esta configuración en orden de número, las que son
+     * normales y están libres y las que implican un salto, para buscar localidades consecutivas libres.
+     *
+     * @return el mapa de las localidades en su estado actual.
+     */
+    default MapaLocalidades getMapaLocalidades() {
+        return MapaLocalidades.de(this);
+    }
+
     /**
      * Calcula el número de localidades normales y libres.
      *
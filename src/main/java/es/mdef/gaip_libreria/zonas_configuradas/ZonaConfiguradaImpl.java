@@ -1,8 +1,17 @@
 package es.mdef.gaip_libreria.zonas_configuradas;
 
 import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.constantes.EstadoDeUnaLocalidad;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.EstadoOcupacionLocalidad;
+import es.mdef.gaip_libreria.localidades.Localidad;
 import es.mdef.gaip_libreria.zonas.Zona;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.*;
 
@@ -10,13 +19,50 @@ import java.util.*;
  * Clase que representa una zona específica configurada con sus propiedades asociadas y las relaciones con otras entidades.
  * Una zona configurada puede tener múltiples localidades configuradas y prioridades por unidad.
  * Esta clase implementa la interfaz {@link ZonaConfigurada}.
+ * <p>
+ * Los recuentos de localidades por estado y ocupación se responden a partir de unos contadores que se actualizan al
+ * agregar o quitar localidades y cuando una localidad cambia de estado o de ocupación, sin recorrer las localidades.
+ * {@link #verificarContadores()} compara esos contadores con los recuentos de {@link ZonaConfigurada}.
+ * </p>
+ * <p>
+ * Las localidades se indexan además por identidad y por su localidad física, de modo que agregar una localidad y
+ * buscar la siguiente de una fila no recorren la lista de localidades.
+ * </p>
+ * <p>
+ * La lista de localidades ordenadas por número se conserva hasta que se agregan o se quitan localidades o una
+ * localidad pasa a configurar otra localidad física. La numeración de la localidad física de cada localidad
+ * configurada se considera fija mientras está en la zona.
+ * </p>
+ * <p>
+ * {@link #getLocalidades()} devuelve una vista de solo lectura, de modo que toda modificación de las localidades pasa
+ * por {@link #agregarLocalidad(LocalidadConfigurada)}, {@link #quitarLocalidad(LocalidadConfigurada)} o
+ * {@link #setLocalidades(List)} y los contadores, el índice y el orden no pueden quedar desfasados.
+ * </p>
  */
 @Data
 public class ZonaConfiguradaImpl implements ZonaConfigurada {
+    @Getter(AccessLevel.NONE)
     private final List<LocalidadConfigurada> localidades = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final List<LocalidadConfigurada> vistaLocalidades = Collections.unmodifiableList(localidades);
     private final Set<PrioridadPorUnidad> prioridades = new HashSet<>();
     private Zona zona;
     private Acto acto;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ContadorLocalidades contador = new ContadorLocalidades();
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final IndiceLocalidades indice = new IndiceLocalidades();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private List<LocalidadConfigurada> localidadesOrdenadas;
 
     /**
      * Asocia un acto a la zona configurada. Si la zona ya estaba asociada a otro acto,
@@ -39,6 +85,16 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
         }
     }
 
+    /**
+     * Obtiene una vista de solo lectura de las localidades configuradas de la zona.
+     *
+     * @return La lista inmodificable de localidades configuradas, que refleja los cambios de la zona.
+     */
+    @Override
+    public List<LocalidadConfigurada> getLocalidades() {
+        return vistaLocalidades;
+    }
+
     /**
      * Establece las localidades configuradas para la zona y mantiene la coherencia bidireccional.
      *
@@ -46,8 +102,11 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
      */
     public void setLocalidades(List<LocalidadConfigurada> localidades) {
         if (this.localidades != localidades) {
-            this.localidades.forEach(localidad -> localidad.setZonaConfigurada(null));
+            new ArrayList<>(this.localidades).forEach(localidad -> localidad.setZonaConfigurada(null));
             this.localidades.clear();
+            contador.recalcular(this.localidades);
+            indice.reconstruir(this.localidades);
+            localidadesOrdenadas = null;
             if (localidades != null) {
                 localidades.forEach(this::agregarLocalidad);
             }
@@ -64,8 +123,11 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
         if (localidad == null) {
             throw new IllegalArgumentException("La localidad no puede ser nula.");
         }
-        if (!localidades.contains(localidad)) {
+        if (!indice.contiene(localidad)) {
             localidades.add(localidad);
+            indice.agregar(localidad);
+            localidadesOrdenadas = null;
+            contador.agregar(localidad);
             if (localidad.getZonaConfigurada() != this) {
                 localidad.setZonaConfigurada(this);
             }
@@ -82,14 +144,184 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
         if (localidad == null) {
             throw new IllegalArgumentException("La localidad no puede ser nula.");
         }
-        if (localidades.contains(localidad)) {
-            localidades.remove(localidad);
+        if (indice.contiene(localidad)) {
+            localidades.remove(indiceDe(localidad));
+            indice.quitar(localidad);
+            localidadesOrdenadas = null;
+            contador.quitar(localidad);
             if (localidad.getZonaConfigurada() == this) {
                 localidad.setZonaConfigurada(null);
             }
         }
     }
 
+    /**
+     * Actualiza los contadores de localidades cuando una localidad de la zona cambia de estado o de ocupación.
+     *
+     * @param localidad         La localidad configurada que ha cambiado.
+     * @param estadoAnterior    El estado de la localidad antes del cambio.
+     * @param ocupacionAnterior La ocupación de la localidad antes del cambio.
+     */
+    @Override
+    public void localidadModificada(LocalidadConfigurada localidad, EstadoLocalidad estadoAnterior, EstadoOcupacionLocalidad ocupacionAnterior) {
+        if (localidad.getZonaConfigurada() == this && indice.contiene(localidad)) {
+            contador.mover(localidad, estadoAnterior, ocupacionAnterior);
+        }
+    }
+
+    /**
+     * Actualiza el índice de localidades y descarta el orden por número cuando una localidad de la zona pasa a
+     * configurar otra localidad física.
+     *
+     * @param localidad La localidad configurada que ha cambiado.
+     * @param anterior  La localidad física que configuraba antes del cambio.
+     */
+    @Override
+    public void localidadReasignada(LocalidadConfigurada localidad, Localidad anterior) {
+        if (localidad.getZonaConfigurada() != this) {
+            return;
+        }
+        localidadesOrdenadas = null;
+        if (indice.contiene(localidad)) {
+            indice.reasignar(localidad, anterior);
+        }
+    }
+
+    /**
+     * Busca la localidad configurada de una localidad física a partir del índice de localidades.
+     *
+     * @param localidad La localidad física a buscar.
+     * @return La localidad configurada que corresponde a la localidad dada, o null si no está en esta zona.
+     */
+    @Override
+    public LocalidadConfigurada getLocalidadConfigurada(Localidad localidad) {
+        if (localidad == null) {
+            return null;
+        }
+        return indice.buscar(localidad);
+    }
+
+    /**
+     * Obtiene las localidades ordenadas por número, reutilizando la última ordenación mientras no cambien las
+     * localidades de la zona.
+     *
+     * @return Una lista inmodificable de las localidades ordenadas por número.
+     */
+    @Override
+    public List<LocalidadConfigurada> getLocalidadesOrdenadasPorNumero() {
+        if (localidadesOrdenadas == null) {
+            localidadesOrdenadas = ZonaConfigurada.super.getLocalidadesOrdenadasPorNumero();
+        }
+        return localidadesOrdenadas;
+    }
+
+    /**
+     * Obtiene el número de localidades cuyo estado o cuya ocupación coincide con el dado a partir de los contadores.
+     *
+     * @param estado El estado u ocupación de las localidades a contar.
+     * @return El número de localidades que coinciden con el estado dado.
+     */
+    @Override
+    public int getNumeroLocalidadesPorEstado(EstadoDeUnaLocalidad estado) {
+        return contador.contar(estado);
+    }
+
+    /**
+     * Obtiene el número de localidades normales y libres a partir de los contadores.
+     *
+     * @return El número de localidades disponibles para repartir.
+     */
+    @Override
+    public int getNumeroLocalidadesParaRepartir() {
+        return contador.contar(EstadoLocalidad.NORMAL, EstadoOcupacionLocalidad.LIBRE);
+    }
+
+    /**
+     * Obtiene las localidades normales y libres, sin recorrer la zona si los contadores indican que no hay ninguna.
+     *
+     * @return Una lista de localidades sin asignar.
+     */
+    @Override
+    public List<LocalidadConfigurada> getLocalidadesSinAsignar() {
+        return getNumeroLocalidadesParaRepartir() == 0 ? List.of() : ZonaConfigurada.super.getLocalidadesSinAsignar();
+    }
+
+    /**
+     * Obtiene el número de localidades normales y libres a partir de los contadores.
+     *
+     * @return El número de localidades en estado normal y libre.
+     */
+    @Override
+    public int getNumeroLocalidadesNormalesLibres() {
+        return contador.contar(EstadoLocalidad.NORMAL, EstadoOcupacionLocalidad.LIBRE);
+    }
+
+    /**
+     * Obtiene el número de localidades reservadas y libres a partir de los contadores.
+     *
+     * @return El número de localidades en estado reservado y libre.
+     */
+    @Override
+    public int getNumeroLocalidadesReservadasLibres() {
+        return contador.contar(EstadoLocalidad.RESERVADA, EstadoOcupacionLocalidad.LIBRE);
+    }
+
+    /**
+     * Obtiene el número de localidades normales y ocupadas a partir de los contadores.
+     *
+     * @return El número de localidades en estado normal y ocupada.
+     */
+    @Override
+    public int getNumeroLocalidadesNormalesOcupadas() {
+        return contador.contar(EstadoLocalidad.NORMAL, EstadoOcupacionLocalidad.OCUPADA);
+    }
+
+    /**
+     * Obtiene el número de localidades reservadas y ocupadas a partir de los contadores.
+     *
+     * @return El número de localidades en estado reservado y ocupada.
+     */
+    @Override
+    public int getNumeroLocalidadesReservadasOcupadas() {
+        return contador.contar(EstadoLocalidad.RESERVADA, EstadoOcupacionLocalidad.OCUPADA);
+    }
+
+    /**
+     * Comprueba que los contadores de localidades coinciden con los recuentos que recorren todas las localidades
+     * de la zona, tal y como los calcula {@link ZonaConfigurada}.
+     *
+     * @return true si todos los recuentos coinciden, false en caso contrario.
+     */
+    public boolean verificarContadores() {
+        for (EstadoLocalidad estado : EstadoLocalidad.values()) {
+            if (getNumeroLocalidadesPorEstado(estado) != ZonaConfigurada.super.getNumeroLocalidadesPorEstado(estado)) {
+                return false;
+            }
+        }
+        for (EstadoOcupacionLocalidad ocupacion : EstadoOcupacionLocalidad.values()) {
+            if (getNumeroLocalidadesPorEstado(ocupacion) != ZonaConfigurada.super.getNumeroLocalidadesPorEstado(ocupacion)) {
+                return false;
+            }
+        }
+        return getNumeroLocalidadesParaRepartir() == ZonaConfigurada.super.getNumeroLocalidadesParaRepartir()
+                && getNumeroLocalidadesNormalesLibres() == ZonaConfigurada.super.getNumeroLocalidadesNormalesLibres()
+                && getNumeroLocalidadesReservadasLibres() == ZonaConfigurada.super.getNumeroLocalidadesReservadasLibres()
+                && getNumeroLocalidadesNormalesOcupadas() == ZonaConfigurada.super.getNumeroLocalidadesNormalesOcupadas()
+                && getNumeroLocalidadesReservadasOcupadas() == ZonaConfigurada.super.getNumeroLocalidadesReservadasOcupadas();
+    }
+
+    /**
+     * Busca una localidad en la lista por identidad, ya que dos localidades distintas con el mismo estado son iguales.
+     */
+    private int indiceDe(LocalidadConfigurada localidad) {
+        for (int i = 0; i < localidades.size(); i++) {
+            if (localidades.get(i) == localidad) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Establece las prioridades por unidad para la zona y mantiene la coherencia bidireccional.
      *
@@ -103,6 +335,7 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
             copyOfPrioridades.forEach(prioridad -> prioridad.setZona(null));
 
             this.prioridades.clear();
+            notificarPrioridades();
 
             if (prioridades != null) {
                 prioridades.forEach(this::agregarPrioridad);
@@ -122,6 +355,7 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
         }
         if (!prioridades.contains(prioridad) && prioridades.stream().noneMatch(e -> Objects.equals(e.getUnidad(), prioridad.getUnidad()))) {
             prioridades.add(prioridad);
+            notificarPrioridades();
             if (prioridad.getZona() != this) {
                 prioridad.setZona(this);
             }
@@ -140,9 +374,16 @@ public class ZonaConfiguradaImpl implements ZonaConfigurada {
         }
         if (prioridades.contains(prioridad)) {
             prioridades.remove(prioridad);
+            notificarPrioridades();
             if (prioridad.getZona() == this) {
                 prioridad.setZona(null);
             }
         }
     }
+
+    private void notificarPrioridades() {
+        if (acto != null) {
+            acto.prioridadesModificadas();
+        }
+    }
 }
\ No newline at end of file
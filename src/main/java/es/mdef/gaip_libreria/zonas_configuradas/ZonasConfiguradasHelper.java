@@ -16,16 +16,15 @@ public final class ZonasConfiguradasHelper {
     }
 
     /**
-     * Obtiene una lista de localidades configuradas ordenadas por su número.
-     * Utiliza el método {@link LocalidadesConfiguradasHelper#compararLocalidadesPorNumero} para determinar el orden.
+     * Obtiene una lista de localidades configuradas ordenadas por su número a partir de
+     * {@link ZonaConfigurada#getLocalidadesOrdenadasPorNumero()}, que las implementaciones pueden conservar entre
+     * llamadas. Las localidades sin número quedan al final.
      *
      * @param zona La {@link ZonaConfigurada} de la cual se obtendrán las localidades.
      * @return Una lista de {@link LocalidadConfigurada} ordenadas según su número.
      * @throws NullPointerException si la zona proporcionada es {@code null} o si alguna de las localidades es {@code null}.
      */
     public static List<LocalidadConfigurada> getLocalidadesOrdenadasPorNumero(ZonaConfigurada zona) {
-        return zona.getLocalidades().stream()
-                .sorted(LocalidadesConfiguradasHelper::compararLocalidadesPorNumero)
-                .toList();
+        return zona.getLocalidadesOrdenadasPorNumero();
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package es.mdef.gaip_libreria.actos;
+
+import es.mdef.gaip_libreria.anfitriones.AnfitrionImpl;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.Sexo;
+import es.mdef.gaip_libreria.constantes.TipoDeActo;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.InvitacionImpl;
+import es.mdef.gaip_libreria.invitados.InvitacionesPorActoImpl;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.invitados.InvitadoImpl;
+import es.mdef.gaip_libreria.localidades.LocalidadNumeradaImpl;
+import es.mdef.gaip_libreria.zonas.ZonaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfiguradaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfiguradaImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.Set;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.GENERICA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba las vistas de invitados que el acto responde desde su índice: que son de solo lectura, que siguen los
+ * cambios del acto y que siguen a cada invitado por identidad aunque cambie su hash.
+ */
+class ActoImplTest {
+    private final ActoImpl acto = new ActoImpl("Acto", "Acto de prueba", ZonedDateTime.parse("2026-01-01T10:00:00Z"), null,
+            TipoDeActo.SIN_ENTREGA, null);
+    private final Invitacion generica = invitacion(GENERICA);
+
+    @Test
+    void lasVistasSonDeSoloLectura() {
+        Invitado invitado = invitado("I1");
+        generica.agregarInvitado(invitado, true);
+
+        Set<Invitado> invitados = acto.getInvitados();
+        Set<Invitado> sinAsignar = acto.getInvitadosSinAsignarPorTipoDeZona(GENERICA);
+
+        assertThrows(UnsupportedOperationException.class, () -> invitados.add(invitado("I2")));
+        assertThrows(UnsupportedOperationException.class, () -> invitados.remove(invitado));
+        assertThrows(UnsupportedOperationException.class, sinAsignar::clear);
+        Iterator<Invitado> iterador = sinAsignar.iterator();
+        iterador.next();
+        assertThrows(UnsupportedOperationException.class, iterador::remove);
+        assertTrue(sinAsignar.contains(invitado));
+    }
+
+    @Test
+    void lasVistasReflejanLosCambiosPosterioresDelActo() {
+        LocalidadConfiguradaImpl localidad = localidad(GENERICA);
+        Invitado primero = invitado("I1");
+        generica.agregarInvitado(primero, true);
+        Set<Invitado> invitados = acto.getInvitadosPorTipoDeZona(GENERICA);
+        Set<Invitado> asignados = acto.getInvitadosAsignadosPorTipoDeZona(GENERICA);
+        Set<Invitado> sinAsignar = acto.getInvitadosSinAsignarPorTipoDeZona(GENERICA);
+        assertEquals(Set.of(primero), sinAsignar);
+
+        Invitado segundo = invitado("I2");
+        generica.agregarInvitado(segundo, true);
+        primero.setLocalidad(localidad, true);
+
+        assertEquals(2, invitados.size());
+        assertEquals(Set.of(primero), asignados);
+        assertEquals(Set.of(segundo), sinAsignar);
+        assertTrue(acto.getInvitadosAsignados().contains(primero));
+        assertFalse(acto.getInvitadosSinAsignar().contains(primero));
+    }
+
+    @Test
+    void sigueAlInvitadoAunqueCambieSuHash() {
+        LocalidadConfiguradaImpl localidad = localidad(GENERICA);
+        InvitadoImpl primero = invitado("I1");
+        InvitadoImpl segundo = invitado("I2");
+        generica.agregarInvitado(primero, true);
+        generica.agregarInvitado(segundo, true);
+        assertEquals(2, acto.getInvitados().size());
+
+        int hashAnterior = primero.hashCode();
+        primero.setParentesco("Hermano");
+        assertTrue(hashAnterior != primero.hashCode());
+        assertTrue(acto.getInvitados().contains(primero));
+        primero.setLocalidad(localidad, true);
+
+        assertEquals(Set.of(segundo), acto.getInvitadosSinAsignarPorTipoDeZona(GENERICA));
+        assertTrue(acto.getInvitadosAsignadosPorTipoDeZona(GENERICA).contains(primero));
+        assertFalse(acto.getInvitadosAsignadosPorTipoDeZona(GENERICA).contains(segundo));
+    }
+
+    private Invitacion invitacion(TipoDeZona tipo) {
+        AnfitrionImpl anfitrion = new AnfitrionImpl("SOLDADO", "Anfitrion", "Primero", "Segundo", "U1", "a@mde.es");
+        anfitrion.setDni("A1");
+        acto.agregarAnfitrion(anfitrion);
+        InvitacionesPorActoImpl invitacionesPorActo = new InvitacionesPorActoImpl(acto, anfitrion);
+        anfitrion.agregarInvitacionesPorActo(invitacionesPorActo);
+        acto.agregarInvitacionesPorActo(invitacionesPorActo);
+        return new InvitacionImpl(tipo, 0, invitacionesPorActo);
+    }
+
+    private LocalidadConfiguradaImpl localidad(TipoDeZona tipo) {
+        ZonaImpl zona = new ZonaImpl();
+        zona.setNombre("Zona");
+        zona.setTipoDeZona(tipo);
+        ZonaConfiguradaImpl zonaConfigurada = new ZonaConfiguradaImpl();
+        zonaConfigurada.setZona(zona);
+        zonaConfigurada.setActo(acto);
+        LocalidadNumeradaImpl fisica = new LocalidadNumeradaImpl();
+        fisica.setNumero(1);
+        fisica.setZona(zona);
+        LocalidadConfiguradaImpl localidad = new LocalidadConfiguradaImpl();
+        localidad.setEstadoLocalidad(EstadoLocalidad.NORMAL);
+        localidad.setLocalidad(fisica);
+        zonaConfigurada.agregarLocalidad(localidad);
+        return localidad;
+    }
+
+    /**
+     * Crea un invitado civil sin invitación con el DNI indicado.
+     */
+    private static InvitadoImpl invitado(String dni) {
+        return new InvitadoImpl("Invitado", "Primero", "Segundo", dni, Sexo.HOMBRE,
+                LocalDate.of(1990, 1, 1), "i@mde.es", "600000000", "Amigo") {
+            @Override
+            public ZonaConfigurada getParkingPrioritario() {
+                return null;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package es.mdef.gaip_libreria.unidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.actos.ActoImpl;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.TipoDeActo;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.localidades.LocalidadImpl;
+import es.mdef.gaip_libreria.localidades.LocalidadNumeradaImpl;
+import es.mdef.gaip_libreria.zonas.PlantillaZona;
+import es.mdef.gaip_libreria.zonas.ZonaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba la plantilla compartida de una instalación y la creación de las zonas configuradas de un acto a partir de
+ * ella.
+ */
+class PlantillaInstalacionTest {
+    private static final int LOCALIDADES = 30;
+
+    private final InstalacionImpl instalacion = new InstalacionImpl();
+    private final ZonaImpl tribuna = zona("Tribuna", TipoDeZona.TRIBUNA);
+    private final ZonaImpl social = zona("Acto social", TipoDeZona.ACTO_SOCIAL);
+    private final List<LocalidadNumeradaImpl> fisicas = new ArrayList<>();
+
+    PlantillaInstalacionTest() {
+        for (int numero = 1; numero <= LOCALIDADES; numero++) {
+            LocalidadNumeradaImpl localidad = new LocalidadNumeradaImpl();
+            localidad.setNumero(numero);
+            localidad.setImplicaSalto(numero % 7 == 0);
+            localidad.setImplicaSaltoFila(numero % 10 == 0);
+            localidad.setX(numero);
+            localidad.setY(-numero);
+            localidad.setAnchura(1);
+            localidad.setAltura(2);
+            fisicas.add(localidad);
+        }
+        for (int i = 1; i < LOCALIDADES; i++) {
+            fisicas.get(i - 1).setSiguienteLocalidad(fisicas.get(i));
+        }
+        List<LocalidadNumeradaImpl> desordenadas = new ArrayList<>(fisicas);
+        Collections.shuffle(desordenadas, new Random(7));
+        desordenadas.forEach(tribuna::agregarLocalidad);
+        social.agregarLocalidad(new LocalidadImpl());
+    }
+
+    @Test
+    void compilaLasLocalidadesDeCadaZonaEnOrdenDeNumero() {
+        PlantillaInstalacion plantilla = instalacion.getPlantilla();
+        PlantillaZona plantillaTribuna = plantilla.getPlantillaZona(tribuna);
+
+        assertSame(plantilla, instalacion.getPlantilla());
+        assertEquals(LOCALIDADES, plantillaTribuna.getNumeroLocalidades());
+        for (int i = 0; i < LOCALIDADES; i++) {
+            int numero = i + 1;
+            assertSame(fisicas.get(i), plantillaTribuna.getLocalidad(i));
+            assertEquals(i, plantillaTribuna.indiceDe(fisicas.get(i)));
+            assertEquals(numero, plantillaTribuna.getNumero(i));
+            assertEquals(numero, plantillaTribuna.getX(i));
+            assertEquals(-numero, plantillaTribuna.getY(i));
+            assertEquals(1, plantillaTribuna.getAnchura(i));
+            assertEquals(2, plantillaTribuna.getAltura(i));
+            assertEquals(numero % 7 == 0, plantillaTribuna.implicaSalto(i));
+            assertEquals(numero % 10 == 0, plantillaTribuna.implicaSaltoFila(i));
+            assertEquals(i + 1 < LOCALIDADES ? i + 1 : PlantillaZona.SIN_SIGUIENTE, plantillaTribuna.getSiguiente(i));
+        }
+        assertEquals(PlantillaZona.SIN_NUMERO, plantilla.getPlantillaZona(social).getNumero(0));
+    }
+
+    @Test
+    void creaLasZonasConfiguradasDeCadaActoDesdeLaMismaPlantilla() {
+        PlantillaInstalacion plantilla = instalacion.getPlantilla();
+
+        for (Acto acto : List.of(acto("Primero"), acto("Segundo"))) {
+            List<ZonaConfigurada> zonas = instalacion.getPlantilla().crearZonasConfiguradas(acto, EstadoLocalidad.NORMAL);
+
+            assertSame(plantilla, instalacion.getPlantilla());
+            assertEquals(1, zonas.size());
+            assertEquals(zonas, acto.getZonas());
+            ZonaConfigurada zona = zonas.get(0);
+            assertSame(tribuna, zona.getZona());
+            assertSame(acto, zona.getActo());
+            assertEquals(LOCALIDADES, zona.getNumeroLocalidadesNormalesLibres());
+            List<LocalidadConfigurada> localidades = zona.getLocalidades();
+            assertEquals(localidades, zona.getLocalidadesOrdenadasPorNumero());
+            for (int i = 0; i < LOCALIDADES; i++) {
+                LocalidadConfigurada localidad = localidades.get(i);
+                assertSame(fisicas.get(i), localidad.getLocalidad());
+                assertSame(zona, localidad.getZonaConfigurada());
+                assertSame(localidad, zona.getLocalidadConfigurada(fisicas.get(i)));
+                assertSame(i + 1 < LOCALIDADES ? localidades.get(i + 1) : null, localidad.getSiguienteLocalidad());
+            }
+            assertTrue(zona.getMapaLocalidades().estaEncadenada());
+        }
+    }
+
+    @Test
+    void reconstruyeLaPlantillaCuandoCambiaLaDisposicionDeUnaLocalidad() {
+        PlantillaInstalacion plantilla = instalacion.getPlantilla();
+        PlantillaZona plantillaTribuna = plantilla.getPlantillaZona(tribuna);
+
+        fisicas.get(3).setImplicaSalto(true);
+
+        assertFalse(plantillaTribuna.estaAlDia());
+        PlantillaInstalacion reconstruida = instalacion.getPlantilla();
+        assertNotSame(plantilla, reconstruida);
+        assertTrue(reconstruida.getPlantillaZona(tribuna).implicaSalto(3));
+
+        LocalidadNumeradaImpl sustituta = new LocalidadNumeradaImpl();
+        sustituta.setNumero(LOCALIDADES + 1);
+        tribuna.quitarLocalidad(fisicas.get(0));
+        tribuna.agregarLocalidad(sustituta);
+
+        assertFalse(reconstruida.getPlantillaZona(tribuna).estaAlDia());
+        assertEquals(-1, instalacion.getPlantilla().getPlantillaZona(tribuna).indiceDe(fisicas.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> tribuna.getLocalidades().add(sustituta));
+    }
+
+    @Test
+    void noCreaZonasSinActoOSinEstado() {
+        PlantillaInstalacion plantilla = instalacion.getPlantilla();
+
+        assertThrows(IllegalArgumentException.class, () -> plantilla.crearZonasConfiguradas(null, EstadoLocalidad.NORMAL));
+        assertThrows(IllegalArgumentException.class, () -> plantilla.crearZonasConfiguradas(acto("Acto"), null));
+        assertThrows(IllegalArgumentException.class, () -> PlantillaInstalacion.de(null));
+        assertNull(plantilla.getPlantillaZona(new ZonaImpl()));
+    }
+
+    private ZonaImpl zona(String nombre, TipoDeZona tipo) {
+        ZonaImpl zona = new ZonaImpl();
+        zona.setNombre(nombre);
+        zona.setTipoDeZona(tipo);
+        instalacion.agregarZona(zona);
+        return zona;
+    }
+
+    private static Acto acto(String nombre) {
+        return new ActoImpl(nombre, "Acto de prueba", ZonedDateTime.parse("2026-01-01T10:00:00Z"), null,
+                TipoDeActo.SIN_ENTREGA, null);
+    }
+}
\ No newline at end of file
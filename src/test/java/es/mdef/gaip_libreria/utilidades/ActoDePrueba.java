@@ -0,0 +1,136 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.actos.Acto;
+import es.mdef.gaip_libreria.actos.ActoImpl;
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.anfitriones.AnfitrionImpl;
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.constantes.Sexo;
+import es.mdef.gaip_libreria.constantes.TipoDeActo;
+import es.mdef.gaip_libreria.constantes.TipoDeZona;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.invitados.CocheImpl;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.InvitacionImpl;
+import es.mdef.gaip_libreria.invitados.InvitacionesPorActoImpl;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.invitados.InvitadoImpl;
+import es.mdef.gaip_libreria.localidades.LocalidadNumeradaImpl;
+import es.mdef.gaip_libreria.zonas.ZonaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfiguradaImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.PrioridadPorUnidadImpl;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfiguradaImpl;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Acto mínimo para las pruebas del reparto de asientos, con zonas de localidades numeradas y encadenadas y
+ * anfitriones con una invitación por tipo de zona.
+ */
+final class ActoDePrueba {
+    private static final TipoDeZona[] TIPOS_CON_INVITACION = {TipoDeZona.TRIBUNA, TipoDeZona.GENERICA,
+            TipoDeZona.ACOTADO, TipoDeZona.LISTA_DE_ESPERA, TipoDeZona.PARKING};
+    final Acto acto = new ActoImpl("Acto", "Acto de prueba", ZonedDateTime.parse("2026-01-01T10:00:00Z"), null,
+            TipoDeActo.SIN_ENTREGA, null);
+    private final Map<Anfitrion, InvitacionesPorActoImpl> invitacionesPorAnfitrion = new HashMap<>();
+    private int siguienteDni;
+
+    /**
+     * Crea una zona configurada del acto con localidades normales numeradas desde 1 y encadenadas en orden.
+     */
+    ZonaConfiguradaImpl zona(String nombre, TipoDeZona tipo, int localidades) {
+        ZonaImpl zona = new ZonaImpl();
+        zona.setNombre(nombre);
+        zona.setTipoDeZona(tipo);
+        zona.setNumeroLocalidades(localidades);
+        ZonaConfiguradaImpl zonaConfigurada = new ZonaConfiguradaImpl();
+        zonaConfigurada.setZona(zona);
+        zonaConfigurada.setActo(acto);
+        LocalidadNumeradaImpl anterior = null;
+        for (int numero = 1; numero <= localidades; numero++) {
+            LocalidadNumeradaImpl fisica = new LocalidadNumeradaImpl();
+            fisica.setNumero(numero);
+            fisica.setImplicaSalto(false);
+            fisica.setImplicaSaltoFila(false);
+            fisica.setZona(zona);
+            if (anterior != null) {
+                anterior.setSiguienteLocalidad(fisica);
+            }
+            anterior = fisica;
+            LocalidadConfiguradaImpl localidad = new LocalidadConfiguradaImpl();
+            localidad.setEstadoLocalidad(EstadoLocalidad.NORMAL);
+            localidad.setLocalidad(fisica);
+            zonaConfigurada.agregarLocalidad(localidad);
+        }
+        return zonaConfigurada;
+    }
+
+    /**
+     * Asigna a la unidad una prioridad en la zona.
+     */
+    void prioridad(ZonaConfiguradaImpl zona, String unidad, int prioridad) {
+        PrioridadPorUnidadImpl prioridadPorUnidad = new PrioridadPorUnidadImpl();
+        prioridadPorUnidad.setUnidad(unidad);
+        prioridadPorUnidad.setPrioridad(prioridad);
+        zona.agregarPrioridad(prioridadPorUnidad);
+    }
+
+    /**
+     * Crea un anfitrión del acto de la unidad indicada, con una invitación vacía para cada tipo de zona en el que se
+     * reparten localidades.
+     */
+    Anfitrion anfitrion(String unidad) {
+        int dni = ++siguienteDni;
+        AnfitrionImpl anfitrion = new AnfitrionImpl("SOLDADO", "Anfitrion" + dni, "Primero", "Segundo", unidad, "a" + dni + "@mde.es");
+        anfitrion.setDni("A" + dni);
+        acto.agregarAnfitrion(anfitrion);
+        InvitacionesPorActoImpl invitacionesPorActo = new InvitacionesPorActoImpl(acto, anfitrion);
+        anfitrion.agregarInvitacionesPorActo(invitacionesPorActo);
+        acto.agregarInvitacionesPorActo(invitacionesPorActo);
+        invitacionesPorAnfitrion.put(anfitrion, invitacionesPorActo);
+        for (TipoDeZona tipo : TIPOS_CON_INVITACION) {
+            new InvitacionImpl(tipo, 0, invitacionesPorActo);
+        }
+        return anfitrion;
+    }
+
+    /**
+     * Agrega a la invitación del anfitrión para el tipo de zona el número de invitados indicado.
+     */
+    Invitacion invitacion(Anfitrion anfitrion, TipoDeZona tipo, int invitados) {
+        Invitacion invitacion = anfitrion.getInvitacionPorTipoDeZona(acto, tipo);
+        for (int i = 0; i < invitados; i++) {
+            invitacion.agregarInvitado(invitado(), true);
+        }
+        return invitacion;
+    }
+
+    /**
+     * Agrega a la invitación de parking del anfitrión un coche sin aparcar de un invitado civil nuevo.
+     */
+    Coche coche(Anfitrion anfitrion) {
+        CocheImpl coche = new CocheImpl();
+        coche.setInvitado(invitado());
+        coche.setMatricula("M" + siguienteDni);
+        anfitrion.getInvitacionPorTipoDeZona(acto, TipoDeZona.PARKING).agregarCoche(coche, true);
+        return coche;
+    }
+
+    /**
+     * Crea un invitado civil sin invitación.
+     */
+    Invitado invitado() {
+        int dni = ++siguienteDni;
+        return new InvitadoImpl("Invitado" + dni, "Primero", "Segundo", "I" + dni, Sexo.HOMBRE,
+                LocalDate.of(1990, 1, 1), "i" + dni + "@mde.es", "600000000", "Amigo") {
+            @Override
+            public ZonaConfigurada getParkingPrioritario() {
+                return null;
+            }
+        };
+    }
+}
\ No newline at end of file
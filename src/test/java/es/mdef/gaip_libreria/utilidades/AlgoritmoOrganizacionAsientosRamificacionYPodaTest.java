@@ -0,0 +1,153 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara la organización de asientos por ramificación y poda con la del solver MIP en instancias pequeñas.
+ */
+class AlgoritmoOrganizacionAsientosRamificacionYPodaTest {
+    private static final int INSTANCIAS = 40;
+
+    @Test
+    void alcanzaElMismoObjetivoQueElSolverMipEnInstanciasAleatorias() {
+        Random random = new Random(20240611L);
+        int comparadas = 0;
+        for (int instancia = 0; instancia < INSTANCIAS; instancia++) {
+            int numAnfitriones = 1 + random.nextInt(4);
+            int numGrupos = 1 + random.nextInt(3);
+            int[] invitadosPorAnfitrion = new int[numAnfitriones];
+            for (int a = 0; a < numAnfitriones; a++) {
+                invitadosPorAnfitrion[a] = random.nextInt(4);
+            }
+            int[] capacidadAsientos = new int[numGrupos];
+            for (int g = 0; g < numGrupos; g++) {
+                capacidadAsientos[g] = random.nextInt(7);
+            }
+            int[][] prioridades = new int[numAnfitriones][numGrupos];
+            for (int a = 0; a < numAnfitriones; a++) {
+                for (int g = 0; g < numGrupos; g++) {
+                    prioridades[a][g] = 1 + random.nextInt(5);
+                }
+            }
+
+            Long objetivoMip = objetivo(new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades),
+                    invitadosPorAnfitrion, capacidadAsientos, prioridades);
+            Long objetivoRyP = objetivo(new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades),
+                    invitadosPorAnfitrion, capacidadAsientos, prioridades);
+
+            String descripcion = "invitados=" + Arrays.toString(invitadosPorAnfitrion)
+                    + " capacidad=" + Arrays.toString(capacidadAsientos)
+                    + " prioridades=" + Arrays.deepToString(prioridades);
+            assertEquals(objetivoMip, objetivoRyP, descripcion);
+            if (objetivoMip != null) {
+                comparadas++;
+            }
+        }
+        assertTrue(comparadas > 0, "Ninguna instancia aleatoria ha resultado factible.");
+    }
+
+    @Test
+    void ambosFallanSiLosInvitadosDeUnAnfitrionNoCabenJuntos() {
+        int[] invitadosPorAnfitrion = {3};
+        int[] capacidadAsientos = {2, 2};
+        int[][] prioridades = {{1, 2}};
+
+        assertThrows(SinSolucionException.class,
+                () -> new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar());
+        assertThrows(SinSolucionException.class,
+                () -> new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar());
+    }
+
+    @Test
+    void ambosFallanSiNoHayAsientos() {
+        int[] invitadosPorAnfitrion = {1, 2};
+        int[] capacidadAsientos = {0, 0};
+        int[][] prioridades = {{1, 2}, {2, 1}};
+
+        assertThrows(SinSolucionException.class,
+                () -> new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar());
+        assertThrows(SinSolucionException.class,
+                () -> new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar());
+    }
+
+    @Test
+    void ignoraLosGruposSinCapacidadYLosAnfitrionesSinInvitados() {
+        int[] invitadosPorAnfitrion = {0, 2, 0, 1};
+        int[] capacidadAsientos = {0, 3, 0};
+        int[][] prioridades = {{1, 1, 1}, {1, 2, 1}, {1, 1, 1}, {1, 3, 1}};
+
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion mip =
+                new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar();
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion ryp =
+                new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar();
+
+        assertEquals(7L, comprobarYCalcularObjetivo(mip, invitadosPorAnfitrion, capacidadAsientos, prioridades));
+        assertEquals(7L, comprobarYCalcularObjetivo(ryp, invitadosPorAnfitrion, capacidadAsientos, prioridades));
+    }
+
+    @Test
+    void noAsignaNadaSiNoHayInvitados() {
+        int[] invitadosPorAnfitrion = {0, 0};
+        int[] capacidadAsientos = {2, 0};
+        int[][] prioridades = {{1, 2}, {2, 1}};
+
+        assertArrayEquals(new int[0],
+                new AlgoritmoOrganizacionAsientos(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar().asientoPorInvitado());
+        assertArrayEquals(new int[0],
+                new AlgoritmoOrganizacionAsientosRamificacionYPoda(invitadosPorAnfitrion, capacidadAsientos, prioridades).organizar().asientoPorInvitado());
+    }
+
+    /**
+     * Organiza los asientos y devuelve el objetivo de la solución, o null si no hay solución.
+     */
+    private static Long objetivo(OrganizadorAsientos organizador, int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        try {
+            return comprobarYCalcularObjetivo(organizador.organizar(), invitadosPorAnfitrion, capacidadAsientos, prioridades);
+        } catch (SinSolucionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Comprueba que la solución sienta a cada invitado en un asiento distinto y a los invitados de cada anfitrión en
+     * asientos consecutivos de un mismo grupo, y devuelve la suma de las prioridades de los asientos ocupados.
+     */
+    private static long comprobarYCalcularObjetivo(AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado,
+                                                   int[] invitadosPorAnfitrion, int[] capacidadAsientos, int[][] prioridades) {
+        int[] grupoDeAsiento = new int[Arrays.stream(capacidadAsientos).sum()];
+        int asiento = 0;
+        for (int g = 0; g < capacidadAsientos.length; g++) {
+            for (int k = 0; k < capacidadAsientos[g]; k++) {
+                grupoDeAsiento[asiento++] = g;
+            }
+        }
+        int[] asientoPorInvitado = resultado.asientoPorInvitado();
+        assertEquals(Arrays.stream(invitadosPorAnfitrion).sum(), asientoPorInvitado.length);
+        boolean[] ocupado = new boolean[grupoDeAsiento.length];
+        long objetivo = 0;
+        int invitado = 0;
+        for (int a = 0; a < invitadosPorAnfitrion.length; a++) {
+            for (int i = 0; i < invitadosPorAnfitrion[a]; i++, invitado++) {
+                int j = asientoPorInvitado[invitado];
+                assertTrue(j >= 0 && j < grupoDeAsiento.length, "Asiento fuera de rango: " + j);
+                assertTrue(!ocupado[j], "Asiento ocupado dos veces: " + j);
+                ocupado[j] = true;
+                if (i > 0) {
+                    assertEquals(asientoPorInvitado[invitado - 1] + 1, j, "Asientos no consecutivos");
+                    assertEquals(grupoDeAsiento[j - 1], grupoDeAsiento[j], "Asientos en grupos distintos");
+                }
+                objetivo += prioridades[a][grupoDeAsiento[j]];
+            }
+        }
+        return objetivo;
+    }
+}
\ No newline at end of file
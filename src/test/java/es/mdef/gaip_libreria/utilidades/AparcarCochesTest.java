@@ -0,0 +1,53 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.invitados.Coche;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfiguradaImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.PARKING;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Comprueba el aparcamiento de los coches de un acto fuera del reparto de asientos.
+ */
+class AparcarCochesTest {
+
+    @Test
+    void aparcaLosCochesEnOrdenHastaQueNoQuedanPlazas() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        ZonaConfiguradaImpl parking = prueba.zona("Parking A", PARKING, 2);
+        Anfitrion anfitrion = prueba.anfitrion("U1");
+        Coche primero = prueba.coche(anfitrion);
+        Coche segundo = prueba.coche(anfitrion);
+        Coche tercero = prueba.coche(anfitrion);
+        List<LocalidadConfigurada> plazas = parking.getLocalidadesOrdenadasPorNumero();
+
+        AsignadorAsientos.aparcarCoches(prueba.acto, List.of(primero, segundo, tercero));
+
+        assertSame(plazas.get(0), primero.getLocalidad());
+        assertSame(plazas.get(1), segundo.getLocalidad());
+        assertNull(tercero.getLocalidad());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void aparcarUnCocheOcupaLaSiguientePlazaLibre() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        ZonaConfiguradaImpl parking = prueba.zona("Parking A", PARKING, 2);
+        Anfitrion anfitrion = prueba.anfitrion("U1");
+        Coche primero = prueba.coche(anfitrion);
+        Coche segundo = prueba.coche(anfitrion);
+        List<LocalidadConfigurada> plazas = parking.getLocalidadesOrdenadasPorNumero();
+
+        AsignadorAsientos.aparcarCoche(prueba.acto, primero);
+        AsignadorAsientos.aparcarCoche(prueba.acto, segundo);
+
+        assertSame(plazas.get(0), primero.getLocalidad());
+        assertSame(plazas.get(1), segundo.getLocalidad());
+    }
+}
\ No newline at end of file
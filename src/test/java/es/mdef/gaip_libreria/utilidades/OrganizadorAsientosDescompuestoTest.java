@@ -0,0 +1,149 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.constantes.EstadoResolucion;
+import es.mdef.gaip_libreria.constantes.FormulacionAsientos;
+import es.mdef.gaip_libreria.excepciones.SinSolucionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba la descomposición del problema de organización de asientos en componentes independientes: la
+ * combinación de sus resultados, la cancelación de las componentes hermanas cuando una no tiene solución y la vuelta
+ * al problema completo.
+ * <p>
+ * El problema tiene dos componentes: el anfitrión 0, con 2 invitados, solo tiene prioridad finita en el grupo 0, y el
+ * anfitrión 1, con 1 invitado, solo en el grupo 1.
+ * </p>
+ */
+class OrganizadorAsientosDescompuestoTest {
+    private static final int INFINITA = Integer.MAX_VALUE;
+    private static final int[] INVITADOS = {2, 1};
+    private static final int[] CAPACIDADES = {3, 2};
+    private static final int[][] PRIORIDADES = {{1, INFINITA}, {INFINITA, 1}};
+    private static final long ESPERA_SEGUNDOS = 10;
+
+    private final ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void cerrarEjecutor() {
+        ejecutor.shutdownNow();
+    }
+
+    @Test
+    void resuelveCadaComponenteEnSuModeloYCombinaLosResultados() {
+        List<int[]> problemas = new CopyOnWriteArrayList<>();
+        OrganizadorAsientosDescompuesto organizador = new OrganizadorAsientosDescompuesto(INVITADOS, CAPACIDADES, PRIORIDADES,
+                PresupuestoResolucion.porDefecto(), ejecutor, restante -> (invitados, capacidades, prioridades) -> {
+            problemas.add(invitados);
+            return OrganizadorAsientos.crear(FormulacionAsientos.RAMIFICACION_Y_PODA, invitados, capacidades, prioridades, restante);
+        });
+
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = organizador.organizar();
+
+        assertEquals(2, problemas.size());
+        assertTrue(problemas.stream().allMatch(invitados -> invitados.length == 1));
+        // Los asientos 0 a 2 son del grupo 0 y los asientos 3 y 4 del grupo 1.
+        assertArrayEquals(new int[]{0, 1, 3}, resultado.asientoPorInvitado());
+        assertTrue(resultado.esOptima());
+    }
+
+    @Test
+    void siUnaComponenteNoTieneSolucionCancelaLasDemasYResuelveElProblemaCompleto() {
+        CountDownLatch hermanaEmpezada = new CountDownLatch(1);
+        CountDownLatch hermanaCancelada = new CountDownLatch(1);
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion completo =
+                new AlgoritmoOrganizacionAsientos.ResultadoOrganizacion(new int[]{3, 4, 0}, EstadoResolucion.OPTIMA, 0);
+        OrganizadorAsientosDescompuesto organizador = new OrganizadorAsientosDescompuesto(INVITADOS, CAPACIDADES, PRIORIDADES,
+                PresupuestoResolucion.porDefecto(), ejecutor, restante -> (invitados, capacidades, prioridades) -> {
+            if (invitados.length == INVITADOS.length) {
+                return () -> completo;
+            }
+            if (invitados[0] == 2) {
+                return () -> {
+                    esperar(hermanaEmpezada);
+                    throw new SinSolucionException("Componente sin solución");
+                };
+            }
+            return organizadorHastaCancelar(hermanaEmpezada, hermanaCancelada);
+        });
+
+        AlgoritmoOrganizacionAsientos.ResultadoOrganizacion resultado = organizador.organizar();
+
+        assertEquals(0, hermanaCancelada.getCount());
+        assertSame(completo, resultado);
+    }
+
+    @Test
+    void siSeCancelaDesdeFueraNoResuelveElProblemaCompleto() throws Exception {
+        CountDownLatch empezadas = new CountDownLatch(2);
+        CountDownLatch canceladas = new CountDownLatch(2);
+        List<int[]> completos = new CopyOnWriteArrayList<>();
+        OrganizadorAsientosDescompuesto organizador = new OrganizadorAsientosDescompuesto(INVITADOS, CAPACIDADES, PRIORIDADES,
+                new PresupuestoResolucion(Duration.ofMinutes(1), 0), ejecutor, restante -> (invitados, capacidades, prioridades) -> {
+            if (invitados.length == INVITADOS.length) {
+                completos.add(invitados);
+            }
+            return organizadorHastaCancelar(empezadas, canceladas);
+        });
+
+        CompletableFuture<AlgoritmoOrganizacionAsientos.ResultadoOrganizacion> futuro = CompletableFuture.supplyAsync(organizador::organizar);
+        esperar(empezadas);
+        organizador.cancelar();
+
+        assertThrows(SinSolucionException.class, () -> {
+            try {
+                futuro.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        });
+        assertEquals(0, canceladas.getCount());
+        assertTrue(completos.isEmpty());
+    }
+
+    /**
+     * Crea un organizador que avisa al empezar y espera a que lo cancelen para fallar sin solución.
+     */
+    private static OrganizadorAsientos organizadorHastaCancelar(CountDownLatch empezado, CountDownLatch cancelado) {
+        CountDownLatch cancelacion = new CountDownLatch(1);
+        return new OrganizadorAsientos() {
+            @Override
+            public AlgoritmoOrganizacionAsientos.ResultadoOrganizacion organizar() {
+                empezado.countDown();
+                esperar(cancelacion);
+                cancelado.countDown();
+                throw new SinSolucionException("Componente cancelada");
+            }
+
+            @Override
+            public void cancelar() {
+                cancelacion.countDown();
+            }
+        };
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS), "Tiempo de espera agotado");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
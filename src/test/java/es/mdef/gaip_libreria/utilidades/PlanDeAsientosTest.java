@@ -0,0 +1,85 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import es.mdef.gaip_libreria.zonas_configuradas.LocalidadConfigurada;
+import es.mdef.gaip_libreria.zonas_configuradas.ZonaConfiguradaImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.GENERICA;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.LISTA_DE_ESPERA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que un plan de asientos solo aplica las operaciones que siguen vigentes cuando el acto ha cambiado desde
+ * la instantánea con la que se calculó.
+ */
+class PlanDeAsientosTest {
+
+    @Test
+    void aplicaTodasLasOperacionesSiElActoNoHaCambiado() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        prueba.zona("Genérica", GENERICA, 10);
+        Anfitrion anfitrion = prueba.anfitrion("U1");
+        Invitacion espera = prueba.invitacion(anfitrion, LISTA_DE_ESPERA, 2);
+        List<Invitado> enEspera = new ArrayList<>(espera.getInvitados());
+
+        PlanDeAsientos plan = AsignadorAsientos.planificarListaDeEsperaEnGenerica(InstantaneaActo.de(prueba.acto));
+
+        assertEquals(2, plan.getOperaciones().size());
+        assertTrue(plan.aplicar().isEmpty());
+        for (Invitado invitado : enEspera) {
+            assertSame(anfitrion.getInvitacionPorTipoDeZona(prueba.acto, GENERICA), invitado.getInvitacion());
+            assertSame(GENERICA, invitado.getLocalidad().getZonaConfigurada().getZona().getTipoDeZona());
+        }
+    }
+
+    @Test
+    void descartaLaAsignacionDeUnaLocalidadOcupadaDespuesDeLaInstantanea() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        ZonaConfiguradaImpl generica = prueba.zona("Genérica", GENERICA, 3);
+        Anfitrion anfitrion = prueba.anfitrion("U1");
+        prueba.invitacion(anfitrion, LISTA_DE_ESPERA, 2);
+        Anfitrion otro = prueba.anfitrion("U2");
+        Invitado intruso = prueba.invitacion(otro, GENERICA, 1).getInvitados().iterator().next();
+        InstantaneaActo instantanea = InstantaneaActo.de(prueba.acto);
+        LocalidadConfigurada primera = generica.getLocalidadesOrdenadasPorNumero().get(0);
+
+        intruso.setLocalidad(primera, true);
+        PlanDeAsientos plan = AsignadorAsientos.planificarListaDeEsperaEnGenerica(instantanea);
+        List<PlanDeAsientos.Operacion> descartadas = plan.aplicar();
+
+        assertEquals(1, descartadas.size());
+        PlanDeAsientos.AsignacionLocalidad descartada = (PlanDeAsientos.AsignacionLocalidad) descartadas.get(0);
+        assertSame(primera, descartada.localidad());
+        assertSame(intruso, primera.getInvitado());
+        assertNull(descartada.invitado().getLocalidad());
+        assertSame(descartada.invitacion(), descartada.invitado().getInvitacion());
+    }
+
+    @Test
+    void descartaLasOperacionesDeUnInvitadoQueHaCambiadoDeInvitacion() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        prueba.zona("Genérica", GENERICA, 3);
+        Anfitrion anfitrion = prueba.anfitrion("U1");
+        Invitacion espera = prueba.invitacion(anfitrion, LISTA_DE_ESPERA, 1);
+        Invitado invitado = espera.getInvitados().iterator().next();
+        Anfitrion otro = prueba.anfitrion("U2");
+        Invitacion otraEspera = otro.getInvitacionPorTipoDeZona(prueba.acto, LISTA_DE_ESPERA);
+        PlanDeAsientos plan = AsignadorAsientos.planificarListaDeEsperaEnGenerica(InstantaneaActo.de(prueba.acto));
+
+        otraEspera.agregarInvitado(invitado, true);
+        List<PlanDeAsientos.Operacion> descartadas = plan.aplicar();
+
+        assertEquals(plan.getOperaciones(), descartadas);
+        assertSame(otraEspera, invitado.getInvitacion());
+        assertNull(invitado.getLocalidad());
+    }
+}
\ No newline at end of file
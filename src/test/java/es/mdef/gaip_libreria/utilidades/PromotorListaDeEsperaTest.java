@@ -0,0 +1,94 @@
+package es.mdef.gaip_libreria.utilidades;
+
+import es.mdef.gaip_libreria.anfitriones.Anfitrion;
+import es.mdef.gaip_libreria.invitados.Invitacion;
+import es.mdef.gaip_libreria.invitados.Invitado;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.GENERICA;
+import static es.mdef.gaip_libreria.constantes.TipoDeZona.LISTA_DE_ESPERA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba la promoción por rondas de la lista de espera a la zona genérica.
+ */
+class PromotorListaDeEsperaTest {
+
+    @Test
+    void promueveUnInvitadoPorAnfitrionEnCadaRondaMientrasHayaMasPlazasQueColas() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        prueba.zona("Genérica", GENERICA, 6);
+        Anfitrion primero = prueba.anfitrion("U1");
+        Anfitrion segundo = prueba.anfitrion("U1");
+        Anfitrion tercero = prueba.anfitrion("U2");
+        Invitacion esperaPrimero = prueba.invitacion(primero, LISTA_DE_ESPERA, 3);
+        Invitacion esperaSegundo = prueba.invitacion(segundo, LISTA_DE_ESPERA, 1);
+        Invitacion esperaTercero = prueba.invitacion(tercero, LISTA_DE_ESPERA, 2);
+        Map<Invitado, Anfitrion> anfitrionDe = new IdentityHashMap<>();
+        esperaPrimero.getInvitados().forEach(invitado -> anfitrionDe.put(invitado, primero));
+        esperaSegundo.getInvitados().forEach(invitado -> anfitrionDe.put(invitado, segundo));
+        esperaTercero.getInvitados().forEach(invitado -> anfitrionDe.put(invitado, tercero));
+
+        List<Invitado> sentados = AsignadorAsientos.promoverInvitadosDeListaDeEsperaEnGenerica(prueba.acto);
+
+        // 6 plazas y 3 colas: una ronda de 3, otra de 2 con las colas que quedan y se para con 1 plaza y 1 cola.
+        assertEquals(5, sentados.size());
+        Set<Anfitrion> primeraRonda = new HashSet<>();
+        for (Invitado invitado : sentados.subList(0, 3)) {
+            primeraRonda.add(anfitrionDe.get(invitado));
+        }
+        assertEquals(Set.of(primero, segundo, tercero), primeraRonda);
+        Set<Anfitrion> segundaRonda = new HashSet<>();
+        for (Invitado invitado : sentados.subList(3, 5)) {
+            segundaRonda.add(anfitrionDe.get(invitado));
+        }
+        assertEquals(Set.of(primero, tercero), segundaRonda);
+        for (Invitado invitado : sentados) {
+            assertNotNull(invitado.getLocalidad());
+            assertSame(GENERICA, invitado.getLocalidad().getZonaConfigurada().getZona().getTipoDeZona());
+        }
+        assertEquals(1, esperaPrimero.getInvitados().stream().filter(invitado -> invitado.getLocalidad() == null).count());
+        assertEquals(1, prueba.acto.getZonas().get(0).getNumeroLocalidadesParaRepartir());
+    }
+
+    @Test
+    void noPromueveANadieSiNoHayMasPlazasQueAnfitrionesEnEspera() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        prueba.zona("Genérica", GENERICA, 2);
+        prueba.invitacion(prueba.anfitrion("U1"), LISTA_DE_ESPERA, 2);
+        prueba.invitacion(prueba.anfitrion("U2"), LISTA_DE_ESPERA, 1);
+
+        List<Invitado> sentados = AsignadorAsientos.promoverInvitadosDeListaDeEsperaEnGenerica(prueba.acto);
+
+        assertTrue(sentados.isEmpty());
+        assertEquals(2, prueba.acto.getZonas().get(0).getNumeroLocalidadesParaRepartir());
+    }
+
+    @Test
+    void elPromotorConservaLasColasEntreLlamadas() {
+        ActoDePrueba prueba = new ActoDePrueba();
+        prueba.invitacion(prueba.anfitrion("U1"), LISTA_DE_ESPERA, 2);
+        prueba.invitacion(prueba.anfitrion("U2"), LISTA_DE_ESPERA, 2);
+        PromotorListaDeEspera promotor = new PromotorListaDeEspera(prueba.acto);
+        Set<Invitado> promocionados = new HashSet<>();
+
+        assertEquals(2, promotor.promover(3, (anfitrion, invitado) -> promocionados.add(invitado)).size());
+        assertEquals(2, promotor.getPendientes());
+        assertEquals(2, promotor.promover(3, (anfitrion, invitado) -> promocionados.add(invitado)).size());
+        assertEquals(0, promotor.getPendientes());
+        assertEquals(4, promocionados.size());
+        assertEquals(4, promotor.getPromovidos().size());
+        assertThrows(IllegalArgumentException.class, () -> promotor.promover(-1, (anfitrion, invitado) -> {
+        }));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package es.mdef.gaip_libreria.zonas_configuradas;
+
+import es.mdef.gaip_libreria.constantes.EstadoLocalidad;
+import es.mdef.gaip_libreria.localidades.LocalidadNumeradaImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba el índice de tramos libres de un {@link MapaLocalidades} contra una búsqueda por fuerza bruta.
+ */
+class IndiceTramosLibresTest {
+
+    @Test
+    void parteElTramoAlOcuparUnaLocalidadIntermedia() {
+        Zona zona = new Zona(5);
+        IndiceTramosLibres tramos = zona.mapa.getIndiceTramosLibres(true);
+        assertEquals(1, tramos.getNumeroTramos());
+        assertEquals(0, tramos.buscarPrimero(5, 0));
+
+        zona.ocupar(2);
+
+        assertEquals(2, tramos.getNumeroTramos());
+        assertEquals(-1, tramos.buscarPrimero(3, 0));
+        assertEquals(0, tramos.buscarPrimero(2, 0));
+        assertEquals(3, tramos.buscarPrimero(2, 1));
+        assertEquals(4, tramos.buscarPrimero(1, 4));
+    }
+
+    @Test
+    void ocuparLosExtremosAcortaElTramoYOcuparloEnteroLoQuita() {
+        Zona zona = new Zona(3);
+        IndiceTramosLibres tramos = zona.mapa.getIndiceTramosLibres(true);
+
+        zona.ocupar(0);
+        assertEquals(1, tramos.getNumeroTramos());
+        assertEquals(1, tramos.buscarPrimero(2, 0));
+
+        zona.ocupar(2);
+        assertEquals(1, tramos.getNumeroTramos());
+        assertEquals(-1, tramos.buscarPrimero(2, 0));
+        assertEquals(1, tramos.buscarPrimero(1, 0));
+
+        zona.ocupar(1);
+        assertEquals(0, tramos.getNumeroTramos());
+        assertEquals(-1, tramos.buscarPrimero(1, 0));
+    }
+
+    @Test
+    void losTramosTerminanEnLasLocalidadesQueImplicanUnSalto() {
+        Zona zona = new Zona(6);
+        zona.fisicas.get(2).setImplicaSalto(true);
+        zona.fisicas.get(4).setImplicaSaltoFila(true);
+        zona.construirMapa();
+
+        IndiceTramosLibres conFinales = zona.mapa.getIndiceTramosLibres(true);
+        assertEquals(3, conFinales.getNumeroTramos());
+        assertEquals(0, conFinales.buscarPrimero(3, 0));
+        assertEquals(1, conFinales.buscarPrimero(2, 1));
+        assertEquals(3, conFinales.buscarPrimero(2, 2));
+        assertEquals(-1, conFinales.buscarPrimero(4, 0));
+
+        IndiceTramosLibres sinFinales = zona.mapa.getIndiceTramosLibres(false);
+        assertEquals(3, sinFinales.getNumeroTramos());
+        assertEquals(-1, sinFinales.buscarPrimero(2, 3));
+        assertEquals(5, sinFinales.buscarPrimero(1, 4));
+    }
+
+    @Test
+    void noIncluyeLasLocalidadesQueNoSonNormales() {
+        Zona zona = new Zona(4);
+        zona.configuradas.get(1).setEstadoLocalidad(EstadoLocalidad.RESERVADA);
+        zona.construirMapa();
+
+        IndiceTramosLibres tramos = zona.mapa.getIndiceTramosLibres(true);
+        assertEquals(2, tramos.getNumeroTramos());
+        assertEquals(2, tramos.buscarPrimero(2, 0));
+    }
+
+    @Test
+    void unaZonaSinLocalidadesNoTieneTramos() {
+        IndiceTramosLibres tramos = new Zona(0).mapa.getIndiceTramosLibres(true);
+        assertEquals(0, tramos.getNumeroTramos());
+        assertEquals(-1, tramos.buscarPrimero(1, 0));
+    }
+
+    @Test
+    void rechazaLongitudesNoPositivas() {
+        IndiceTramosLibres tramos = new Zona(3).mapa.getIndiceTramosLibres(true);
+        assertThrows(IllegalArgumentException.class, () -> tramos.buscarPrimero(0, 0));
+    }
+
+    @Test
+    void coincideConLaBusquedaPorFuerzaBrutaAlOcuparLocalidades() {
+        Random random = new Random(7L);
+        for (int caso = 0; caso < 30; caso++) {
+            int numero = 1 + random.nextInt(150);
+            Zona zona = new Zona(numero);
+            for (int i = 0; i < numero; i++) {
+                zona.fisicas.get(i).setImplicaSalto(random.nextInt(10) == 0);
+                zona.fisicas.get(i).setImplicaSaltoFila(random.nextInt(15) == 0);
+                if (random.nextInt(8) == 0) {
+                    zona.configuradas.get(i).setEstadoLocalidad(EstadoLocalidad.RESERVADA);
+                }
+            }
+            zona.construirMapa();
+            IndiceTramosLibres conFinales = zona.mapa.getIndiceTramosLibres(true);
+            IndiceTramosLibres sinFinales = zona.mapa.getIndiceTramosLibres(false);
+
+            List<Integer> orden = new ArrayList<>();
+            for (int i = 0; i < numero; i++) {
+                orden.add(i);
+            }
+            Collections.shuffle(orden, random);
+            for (int paso = 0; paso <= numero; paso++) {
+                comprobar(zona, conFinales, true);
+                comprobar(zona, sinFinales, false);
+                if (paso < numero) {
+                    zona.ocupar(orden.get(paso));
+                }
+            }
+        }
+    }
+
+    private static void comprobar(Zona zona, IndiceTramosLibres tramos, boolean usarFinalesDeFila) {
+        int numero = zona.configuradas.size();
+        assertEquals(contarTramos(zona, usarFinalesDeFila), tramos.getNumeroTramos());
+        for (int longitud = 1; longitud <= 6; longitud++) {
+            for (int desde = 0; desde <= numero; desde += 1 + numero / 16) {
+                assertEquals(buscarPorFuerzaBruta(zona, longitud, desde, usarFinalesDeFila), tramos.buscarPrimero(longitud, desde),
+                        "longitud=" + longitud + " desde=" + desde + " usarFinalesDeFila=" + usarFinalesDeFila);
+            }
+        }
+    }
+
+    private static int buscarPorFuerzaBruta(Zona zona, int longitud, int desde, boolean usarFinalesDeFila) {
+        for (int inicio = desde; inicio + longitud <= zona.configuradas.size(); inicio++) {
+            boolean cabe = true;
+            for (int i = inicio; i < inicio + longitud && cabe; i++) {
+                cabe = admite(zona, i, usarFinalesDeFila) && (i == inicio + longitud - 1 || !corta(zona, i));
+            }
+            if (cabe) {
+                return inicio;
+            }
+        }
+        return -1;
+    }
+
+    private static int contarTramos(Zona zona, boolean usarFinalesDeFila) {
+        int tramos = 0;
+        for (int i = 0; i < zona.configuradas.size(); i++) {
+            boolean empieza = i == 0 || !admite(zona, i - 1, usarFinalesDeFila) || corta(zona, i - 1);
+            if (admite(zona, i, usarFinalesDeFila) && empieza) {
+                tramos++;
+            }
+        }
+        return tramos;
+    }
+
+    private static boolean admite(Zona zona, int i, boolean usarFinalesDeFila) {
+        return zona.configuradas.get(i).getEstadoLocalidad() == EstadoLocalidad.NORMAL && !zona.ocupadas[i]
+                && (usarFinalesDeFila || !zona.fisicas.get(i).getImplicaSaltoFila());
+    }
+
+    private static boolean corta(Zona zona, int i) {
+        return zona.fisicas.get(i).getImplicaSalto() || zona.fisicas.get(i).getImplicaSaltoFila();
+    }
+
+    /**
+     * Zona configurada de prueba con sus localidades numeradas de 1 en adelante, agregadas en orden inverso para que
+     * el mapa tenga que ordenarlas por número.
+     */
+    private static final class Zona {
+        private final List<LocalidadNumeradaImpl> fisicas = new ArrayList<>();
+        private final List<LocalidadConfiguradaImpl> configuradas = new ArrayList<>();
+        private final boolean[] ocupadas;
+        private MapaLocalidades mapa;
+
+        Zona(int numero) {
+            for (int i = 0; i < numero; i++) {
+                LocalidadNumeradaImpl fisica = new LocalidadNumeradaImpl();
+                fisica.setNumero(i + 1);
+                fisica.setImplicaSalto(false);
+                fisica.setImplicaSaltoFila(false);
+                LocalidadConfiguradaImpl configurada = new LocalidadConfiguradaImpl();
+                configurada.setLocalidad(fisica);
+                configurada.setEstadoLocalidad(EstadoLocalidad.NORMAL);
+                fisicas.add(fisica);
+                configuradas.add(configurada);
+            }
+            ocupadas = new boolean[numero];
+            construirMapa();
+        }
+
+        void construirMapa() {
+            ZonaConfiguradaImpl zona = new ZonaConfiguradaImpl();
+            for (int i = configuradas.size() - 1; i >= 0; i--) {
+                zona.agregarLocalidad(configuradas.get(i));
+            }
+            mapa = MapaLocalidades.de(zona);
+        }
+
+        void ocupar(int i) {
+            ocupadas[i] = true;
+            mapa.ocupar(configuradas.get(i));
+        }
+    }
+}
\ No newline at end of file